@@ -0,0 +1,37 @@
+package benchmarks;
+
+import entities.Author;
+import entities.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static List<Book> books(int size) {
+        var books = new ArrayList<Book>(size);
+
+        for (int i = 1; i <= size; i++) {
+            var firstAuthor = new Author.AuthorBuilder("Lev", "Tolstoy")
+                    .setId((long) i)
+                    .build();
+
+            var secondAuthor = new Author.AuthorBuilder("Fyodor", "Dostoevsky")
+                    .setId((long) i + size)
+                    .build();
+
+            var book = new Book.BookBuilder("War and Peace " + i, 1869)
+                    .setId((long) i)
+                    .setAuthors(Set.of(firstAuthor, secondAuthor))
+                    .build();
+
+            books.add(book);
+        }
+
+        return books;
+    }
+}
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dao.AuthorDAO;
+import dao.BookDAO;
+import entities.Author;
+import entities.Book;
+import utils.PropertiesLoader;
+import utils.datasource.DatabaseConnector;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Connects to a dedicated MySQL schema that has been migrated with db_scripts/migrations, given by
+ * {@code -Dbenchmark.url} and optionally {@code -Dbenchmark.username} and {@code -Dbenchmark.password}.
+ * Seeding replaces every book and author in it, so it is never allowed to fall back to the application's database.
+ * The books are seeded once per dataset size, so later runs with the same size reuse them.
+ */
+public class BenchmarkDatabase {
+
+    private static final String URL_PROPERTY = "benchmark.url";
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+    private static final int BOOKS_PER_AUTHOR = 100;
+
+    private BenchmarkDatabase() {
+    }
+
+    public static HikariDataSource createDataSource() {
+        var properties = PropertiesLoader.load("/db.properties");
+
+        properties.setProperty("url", requireBenchmarkUrl(properties.getProperty("url")));
+
+        for (var key : new String[]{"username", "password"}) {
+            properties.setProperty(key, System.getProperty("benchmark." + key, properties.getProperty(key)));
+        }
+
+        return DatabaseConnector.createDataSource(properties);
+    }
+
+    public static void seed(HikariDataSource dataSource, int rows) throws SQLException {
+        var applicationUrl = PropertiesLoader.load("/db.properties").getProperty("url");
+
+        if (!requireBenchmarkUrl(applicationUrl).equals(dataSource.getJdbcUrl())) {
+            throw new IllegalStateException("Refusing to seed " + dataSource.getJdbcUrl()
+                    + ", only the database given by -D" + URL_PROPERTY + " is seeded");
+        }
+
+        if (countBooks(dataSource) == rows) {
+            return;
+        }
+
+        clear(dataSource);
+
+        var authorDAO = new AuthorDAO(dataSource);
+        var bookDAO = new BookDAO(dataSource);
+
+        for (int seeded = 0; seeded < rows; seeded += SEED_CHUNK_SIZE) {
+            var chunkSize = Math.min(SEED_CHUNK_SIZE, rows - seeded);
+
+            var authors = new ArrayList<Author>();
+
+            for (int i = 0; i < chunkSize; i += BOOKS_PER_AUTHOR) {
+                authors.add(new Author.AuthorBuilder("Lev", "Tolstoy").build());
+            }
+
+            authorDAO.createAll(authors);
+
+            var books = new ArrayList<Book>();
+
+            for (int i = 0; i < chunkSize; i++) {
+                var book = new Book.BookBuilder("War and Peace " + (seeded + i), 1869)
+                        .setAuthors(Set.of(authors.get(i / BOOKS_PER_AUTHOR)))
+                        .build();
+
+                books.add(book);
+            }
+
+            bookDAO.createAll(books);
+        }
+    }
+
+    public static long[] findBookIds(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT id FROM books ORDER BY id")) {
+
+            var ids = new ArrayList<Long>();
+
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong("id"));
+            }
+
+            return ids.stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        }
+    }
+
+    private static long countBooks(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT COUNT(*) FROM books")) {
+
+            resultSet.next();
+
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void clear(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+
+            // Links, readers' books and reviews are removed by the cascading foreign keys
+            statement.executeUpdate("DELETE FROM books");
+            statement.executeUpdate("DELETE FROM authors");
+        }
+    }
+
+    private static String requireBenchmarkUrl(String applicationUrl) {
+        var url = System.getProperty(URL_PROPERTY);
+
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set -D" + URL_PROPERTY
+                    + " to a dedicated schema, the benchmarks delete every book and author in it");
+        }
+
+        if (url.equals(applicationUrl)) {
+            throw new IllegalStateException("-D" + URL_PROPERTY + " points at the application's database " + url);
+        }
+
+        return url;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dao.BookDAO;
+import entities.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BookDAOBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private HikariDataSource dataSource;
+
+    private BookDAO bookDAO;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = BenchmarkDatabase.createDataSource();
+
+        BenchmarkDatabase.seed(dataSource, rows);
+
+        bookDAO = new BookDAO(dataSource);
+        ids = BenchmarkDatabase.findBookIds(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    // The listing path: rows are passed on as they are read instead of being collected into entities
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void streamAllItems(Blackhole blackhole) throws SQLException, IOException {
+        bookDAO.streamAllItems(blackhole::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Book findById() throws SQLException {
+        var id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+
+        return bookDAO.findById(id);
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dto.book.BookResponseDTO;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.mappers.BookMapper;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonResponsePrinterBenchmark {
+
+    // The shared mapper as it was before Blackbird was registered
+    private static final ObjectWriter REFLECTIVE_WRITER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build()
+            .writer();
+
+    @Param({"1", "1000", "100000", "1000000"})
+    private int rows;
+
+    private List<BookResponseDTO> books;
+
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        books = BookMapper.INSTANCE.toResponseDTOList(BenchmarkData.books(rows));
+        response = createDiscardingResponse();
+    }
+
+    @Benchmark
+    public void print() throws IOException {
+        JsonResponsePrinter.print(response, books);
+    }
+
+    @Benchmark
+    public void printWithoutBlackbird() throws IOException {
+        var printWriter = response.getWriter();
+
+        printWriter.print(REFLECTIVE_WRITER.writeValueAsString(books));
+        printWriter.close();
+    }
+
+    // The baseline before the mapper was shared: serializers are introspected again for every response
+    @Benchmark
+    public void printWithMapperPerCall() throws IOException {
+        var printWriter = response.getWriter();
+
+        printWriter.print(new ObjectMapper().writeValueAsString(books));
+        printWriter.close();
+    }
+
+    private static HttpServletResponse createDiscardingResponse() {
+        var writer = new PrintWriter(Writer.nullWriter());
+
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                JsonResponsePrinterBenchmark.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getWriter" -> writer;
+                    case "isCommitted" -> false;
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ExtraSpaceTrimmer;
+
+import java.util.concurrent.TimeUnit;
+
+import static utils.validator.RequestParamValidator.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestParamBenchmark {
+
+    private String id = "123456";
+    private String name = "Lev";
+    private String title = "  War   and  Peace  ";
+    private String year = "1869";
+    private String phone = "+7(989)-564-09-88";
+
+    @Benchmark
+    public String validateIdParameter() {
+        validateId(id);
+        return id;
+    }
+
+    @Benchmark
+    public String validateNameParameter() {
+        return validateName("first-name", name);
+    }
+
+    @Benchmark
+    public String validateTitleParameter() {
+        return validateTitle("title", title);
+    }
+
+    @Benchmark
+    public String validateYearParameter() {
+        validateYear("publish-year", year);
+        return year;
+    }
+
+    @Benchmark
+    public String validatePhoneParameter() {
+        validatePhone("phone", phone);
+        return phone;
+    }
+
+    @Benchmark
+    public String trimExtraSpaces() {
+        return ExtraSpaceTrimmer.trim(title);
+    }
+
+    // Baselines of the former regex based implementations, kept for comparison
+
+    @Benchmark
+    public boolean validatePhoneParameterWithRegex() {
+        return phone.matches("^\\+7\\(\\d{3}\\)-\\d{3}-\\d{2}-\\d{2}$");
+    }
+
+    @Benchmark
+    public String trimExtraSpacesWithRegex() {
+        return title.trim().replaceAll("\\s{2,}", " ");
+    }
+
+    @Benchmark
+    public boolean validateTitleParameterWithCharArray() {
+        var chars = title.trim().replaceAll("\\s{2,}", " ").toCharArray();
+
+        for (var symbol : chars) {
+            if (!Character.isLetter(symbol) && !Character.isDigit(symbol) && !Character.isSpaceChar(symbol)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -2,7 +2,9 @@ package dao;
 
 import entities.Author;
 import entities.Book;
+import entities.EntityVersion;
 import exceptions.NotFoundException;
+import utils.datasource.ReadWriteDataSource;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -10,7 +12,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -43,12 +47,50 @@ public class AuthorDAO {
         }
     }
 
+    /**
+     * Inserts the authors with a single JDBC batch in one transaction.
+     */
+    public void createAll(List<Author> authors) throws SQLException {
+        var sql = "INSERT INTO authors (first_name, last_name) VALUES (?, ?)";
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (var preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                for (var author : authors) {
+                    preparedStatement.setString(1, author.getFirstName());
+                    preparedStatement.setString(2, author.getLastName());
+                    preparedStatement.addBatch();
+                }
+
+                preparedStatement.executeBatch();
+
+                try (var resultSet = preparedStatement.getGeneratedKeys()) {
+                    for (var author : authors) {
+                        if (resultSet.next()) {
+                            author.setId(resultSet.getLong(1));
+                        }
+                    }
+                }
+
+                connection.commit();
+
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
     public Author findById(Long id) throws SQLException {
         var sql = "SELECT * FROM authors WHERE id = ?";
 
         Author author = null;
 
-        try (var connection = dataSource.getConnection();
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
              var preparedStatement = connection.prepareStatement(sql);) {
 
             preparedStatement.setLong(1, id);
@@ -56,6 +98,7 @@ public class AuthorDAO {
             try (var resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
                     author = getAuthor(resultSet, connection);
+                    author.setVersion(EntityVersions.read(resultSet));
                 }
             }
         }
@@ -67,20 +110,36 @@ public class AuthorDAO {
         return author;
     }
 
+    public EntityVersion findVersion(Long id) throws SQLException {
+        EntityVersion version;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource)) {
+            version = EntityVersions.find("authors", id, connection);
+        }
+
+        if (version == null) {
+            throw new NotFoundException(AUTHOR_NOT_FOUND_MESSAGE);
+        }
+
+        return version;
+    }
+
     public List<Author> findAll() throws SQLException {
-        var sql = "SELECT * FROM authors";
+        var sql = """
+                  SELECT a.id, a.first_name, a.last_name, b.id AS book_id, b.title, b.publish_year
+                  FROM authors a
+                           LEFT JOIN authors_books ab ON a.id = ab.author_id
+                           LEFT JOIN books b ON b.id = ab.book_id
+                  ORDER BY a.id
+                """;
 
-        var authors = new ArrayList<Author>();
+        List<Author> authors;
 
-        try (var connection = dataSource.getConnection();
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
              var statement = connection.createStatement();
              var resultSet = statement.executeQuery(sql)) {
 
-            while (resultSet.next()) {
-                var author = getAuthor(resultSet, connection);
-
-                authors.add(author);
-            }
+            authors = getAuthorsWithBooks(resultSet);
 
             if (authors.isEmpty()) {
                 throw new NotFoundException("Authors not found");
@@ -90,6 +149,94 @@ public class AuthorDAO {
         return authors;
     }
 
+    public List<Author> findAll(long after, int limit) throws SQLException {
+        var sql = """
+                  SELECT a.id, a.first_name, a.last_name, b.id AS book_id, b.title, b.publish_year
+                  FROM (SELECT * FROM authors WHERE id > ? ORDER BY id LIMIT ?) a
+                           LEFT JOIN authors_books ab ON a.id = ab.author_id
+                           LEFT JOIN books b ON b.id = ab.book_id
+                  ORDER BY a.id
+                """;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setLong(1, after);
+            preparedStatement.setInt(2, limit);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                return getAuthorsWithBooks(resultSet);
+            }
+        }
+    }
+
+    private List<Author> getAuthorsWithBooks(ResultSet resultSet) throws SQLException {
+        var authors = new LinkedHashMap<Long, Author>();
+
+        while (resultSet.next()) {
+            var id = resultSet.getLong("id");
+
+            var author = authors.get(id);
+
+            if (author == null) {
+                var firstName = resultSet.getString("first_name");
+                var lastName = resultSet.getString("last_name");
+
+                author = new Author.AuthorBuilder(firstName, lastName)
+                        .setId(id)
+                        .setBooks(new HashSet<>())
+                        .build();
+
+                authors.put(id, author);
+            }
+
+            var bookId = resultSet.getLong("book_id");
+
+            if (!resultSet.wasNull()) {
+                var title = resultSet.getString("title");
+                var publishYear = resultSet.getInt("publish_year");
+
+                var book = new Book.BookBuilder(title, publishYear)
+                        .setId(bookId)
+                        .build();
+
+                author.getBooks().add(book);
+            }
+        }
+
+        return new ArrayList<>(authors.values());
+    }
+
+    public Set<Long> findExistingIds(Set<Long> ids) throws SQLException {
+        // "IN ()" is not valid SQL
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        var sql = "SELECT id FROM authors WHERE id IN (%s)"
+                .formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+
+        var existingIds = new HashSet<Long>();
+
+        try (var connection = dataSource.getConnection();
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            var parameterIndex = 1;
+
+            for (var id : ids) {
+                preparedStatement.setLong(parameterIndex++, id);
+            }
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    existingIds.add(resultSet.getLong("id"));
+                }
+            }
+        }
+
+        return existingIds;
+    }
+
     private Author getAuthor(ResultSet resultSet, Connection connection) throws SQLException {
         var id = resultSet.getLong("id");
         var firstName = resultSet.getString("first_name");
@@ -135,7 +282,7 @@ public class AuthorDAO {
     public void update(Author author) throws SQLException {
         var sql = """
                   UPDATE authors
-                  SET first_name = ?, last_name = ?
+                  SET first_name = ?, last_name = ?, version = version + 1
                   WHERE id = ?
                 """;
 
@@ -152,6 +299,11 @@ public class AuthorDAO {
 
             preparedStatement.executeUpdate();
 
+            // Books embed their authors' names
+            var bookIds = EntityVersions.findLinked("authors_books", "book_id", "author_id", author.getId(), connection);
+
+            EntityVersions.increment("books", bookIds, connection);
+
             author.setBooks(getAuthorBooks(author.getId(), connection));
         }
     }
@@ -166,9 +318,14 @@ public class AuthorDAO {
                 throw new NotFoundException(AUTHOR_NOT_FOUND_MESSAGE);
             }
 
+            // The delete cascades out of these books' author sets
+            var bookIds = EntityVersions.findLinked("authors_books", "book_id", "author_id", id, connection);
+
             preparedStatement.setLong(1, id);
 
             preparedStatement.executeUpdate();
+
+            EntityVersions.increment("books", bookIds, connection);
         }
     }
 
@@ -1,19 +1,32 @@
 package dao;
 
+import dto.book.BookAuthorDTO;
+import dto.book.BookListItemDTO;
 import entities.Author;
 import entities.Book;
+import entities.EntityVersion;
 import exceptions.AlreadyExistException;
 import exceptions.NotFoundException;
+import utils.datasource.ReadWriteDataSource;
+import utils.datasource.TransactionalDataSource;
+import utils.search.SearchIndexes;
 
 import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class BookDAO {
 
@@ -21,8 +34,15 @@ public class BookDAO {
 
     private final DataSource dataSource;
 
+    private final SearchIndexes searchIndexes;
+
     public BookDAO(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    public BookDAO(DataSource dataSource, SearchIndexes searchIndexes) {
         this.dataSource = dataSource;
+        this.searchIndexes = searchIndexes;
     }
 
     public void create(Book book) throws SQLException {
@@ -46,6 +66,8 @@ public class BookDAO {
                 }
             }
         }
+
+        updateSearchIndexes(indexes -> indexes.indexBook(book.getId(), book.getTitle()));
     }
 
     public void addBookToAuthor(Long bookId, Long authorId) throws SQLException {
@@ -58,67 +80,379 @@ public class BookDAO {
             preparedStatement.setLong(2, bookId);
 
             preparedStatement.executeUpdate();
+
+            EntityVersions.increment("books", List.of(bookId), connection);
+            EntityVersions.increment("authors", List.of(authorId), connection);
         }
     }
 
-    public List<Book> findAll() throws SQLException {
-        var sql = "SELECT * FROM books";
+    /**
+     * Inserts the books and their author links with JDBC batches in a single transaction.
+     */
+    public void createAll(List<Book> books) throws SQLException {
+        var bookSql = "INSERT INTO books (title, publish_year) VALUES (?, ?)";
+        var authorBookSql = "INSERT INTO authors_books (author_id, book_id) VALUES (?, ?)";
 
-        var books = new ArrayList<Book>();
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
 
-        try (var connection = dataSource.getConnection();
-             var statement = connection.createStatement();
-             var resultSet = statement.executeQuery(sql)) {
+            try (var bookStatement = connection.prepareStatement(bookSql, Statement.RETURN_GENERATED_KEYS);
+                 var authorBookStatement = connection.prepareStatement(authorBookSql)) {
+
+                for (var book : books) {
+                    bookStatement.setString(1, book.getTitle());
+                    bookStatement.setInt(2, book.getPublishYear());
+                    bookStatement.addBatch();
+                }
+
+                bookStatement.executeBatch();
+
+                try (var resultSet = bookStatement.getGeneratedKeys()) {
+                    for (var book : books) {
+                        if (resultSet.next()) {
+                            book.setId(resultSet.getLong(1));
+                        }
+                    }
+                }
+
+                for (var book : books) {
+                    for (var author : book.getAuthors()) {
+                        authorBookStatement.setLong(1, author.getId());
+                        authorBookStatement.setLong(2, book.getId());
+                        authorBookStatement.addBatch();
+                    }
+                }
+
+                authorBookStatement.executeBatch();
+
+                var authorIds = new HashSet<Long>();
+
+                for (var book : books) {
+                    for (var author : book.getAuthors()) {
+                        authorIds.add(author.getId());
+                    }
+                }
+
+                EntityVersions.increment("authors", authorIds, connection);
+
+                connection.commit();
+
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        updateSearchIndexes(indexes -> {
+            for (var book : books) {
+                indexes.indexBook(book.getId(), book.getTitle());
+            }
+        });
+    }
+
+    /**
+     * Passes books with their authors to the callback one by one while the result set is being read,
+     * without collecting the whole catalogue in memory.
+     */
+    public void streamAll(RowCallback<Book> callback) throws SQLException, IOException {
+        var sql = """
+                  SELECT b.id, b.title, b.publish_year, a.id AS author_id, a.first_name, a.last_name
+                  FROM books b
+                           LEFT JOIN authors_books ab ON b.id = ab.book_id
+                           LEFT JOIN authors a ON a.id = ab.author_id
+                  ORDER BY b.id
+                """;
+
+        Book book = null;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(Integer.MIN_VALUE);
+
+            try (var resultSet = statement.executeQuery(sql)) {
+                while (resultSet.next()) {
+                    var id = resultSet.getLong("id");
+
+                    if (book == null || !book.getId().equals(id)) {
+                        if (book != null) {
+                            callback.accept(book);
+                        }
+
+                        var title = resultSet.getString("title");
+                        var publishYear = resultSet.getInt("publish_year");
+
+                        book = new Book.BookBuilder(title, publishYear)
+                                .setId(id)
+                                .setAuthors(new HashSet<>())
+                                .build();
+                    }
+
+                    var authorId = resultSet.getLong("author_id");
+
+                    if (!resultSet.wasNull()) {
+                        var firstName = resultSet.getString("first_name");
+                        var lastName = resultSet.getString("last_name");
+
+                        var author = new Author.AuthorBuilder(firstName, lastName)
+                                .setId(authorId)
+                                .build();
+
+                        book.getAuthors().add(author);
+                    }
+                }
+            }
+        }
+
+        if (book == null) {
+            throw new NotFoundException("Books not found");
+        }
+
+        callback.accept(book);
+    }
+
+    /**
+     * Streams books as listing items, read straight from the rows without building entities.
+     */
+    public void streamAllItems(RowCallback<BookListItemDTO> callback) throws SQLException, IOException {
+        var sql = """
+                  SELECT b.id, b.title, b.publish_year, a.id AS author_id, a.first_name, a.last_name
+                  FROM books b
+                           LEFT JOIN authors_books ab ON b.id = ab.book_id
+                           LEFT JOIN authors a ON a.id = ab.author_id
+                  ORDER BY b.id
+                """;
+
+        BookListItemDTO item = null;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(Integer.MIN_VALUE);
 
-            while (resultSet.next()) {
-                var book = getBook(resultSet, connection);
+            try (var resultSet = statement.executeQuery(sql)) {
+                while (resultSet.next()) {
+                    var rowItem = readItemRow(resultSet, item);
+
+                    if (item != null && rowItem != item) {
+                        callback.accept(item);
+                    }
 
-                books.add(book);
+                    item = rowItem;
+                }
             }
+        }
+
+        if (item == null) {
+            throw new NotFoundException("Books not found");
+        }
+
+        callback.accept(item);
+    }
+
+    public List<BookListItemDTO> findItems(long after, int limit) throws SQLException {
+        var sql = """
+                  SELECT b.id, b.title, b.publish_year, a.id AS author_id, a.first_name, a.last_name
+                  FROM (SELECT * FROM books WHERE id > ? ORDER BY id LIMIT ?) b
+                           LEFT JOIN authors_books ab ON b.id = ab.book_id
+                           LEFT JOIN authors a ON a.id = ab.author_id
+                  ORDER BY b.id
+                """;
+
+        var items = new ArrayList<BookListItemDTO>(limit);
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setLong(1, after);
+            preparedStatement.setInt(2, limit);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                BookListItemDTO item = null;
+
+                while (resultSet.next()) {
+                    var rowItem = readItemRow(resultSet, item);
 
-            if (books.isEmpty()) {
-                throw new NotFoundException("Books not found");
+                    if (rowItem != item) {
+                        items.add(rowItem);
+                    }
+
+                    item = rowItem;
+                }
             }
         }
 
-        return books;
+        return items;
     }
 
     public Book findById(Long id) throws SQLException {
-        var sql = "SELECT * FROM books WHERE id = ?";
+        var sql = """
+                  SELECT b.id, b.title, b.publish_year, b.version, b.updated_at,
+                         a.id AS author_id, a.first_name, a.last_name
+                  FROM books b
+                           LEFT JOIN authors_books ab ON b.id = ab.book_id
+                           LEFT JOIN authors a ON a.id = ab.author_id
+                  WHERE b.id = ?
+                """;
 
-        Book book = null;
+        List<Book> books;
 
-        try (var connection = dataSource.getConnection();
-             var preparedStatement = connection.prepareStatement(sql);) {
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
 
             preparedStatement.setLong(1, id);
 
             try (var resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    book = getBook(resultSet, connection);
-                }
+                books = getBooksWithAuthors(resultSet, true);
             }
         }
 
-        if (book == null) {
+        if (books.isEmpty()) {
+            throw new NotFoundException(BOOK_NOT_FOUND_MESSAGE);
+        }
+
+        return books.getFirst();
+    }
+
+    public EntityVersion findVersion(Long id) throws SQLException {
+        EntityVersion version;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource)) {
+            version = EntityVersions.find("books", id, connection);
+        }
+
+        if (version == null) {
             throw new NotFoundException(BOOK_NOT_FOUND_MESSAGE);
         }
 
-        return book;
+        return version;
+    }
+
+    public List<Book> findAllByTitles(Set<String> titles) throws SQLException {
+        // "IN ()" is not valid SQL
+        if (titles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        var sql = """
+                  SELECT b.id, b.title, b.publish_year, a.id AS author_id, a.first_name, a.last_name
+                  FROM books b
+                           LEFT JOIN authors_books ab ON b.id = ab.book_id
+                           LEFT JOIN authors a ON a.id = ab.author_id
+                  WHERE b.title IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(titles.size(), "?")));
+
+        try (var connection = dataSource.getConnection();
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            var parameterIndex = 1;
+
+            for (var title : titles) {
+                preparedStatement.setString(parameterIndex++, title);
+            }
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                return getBooksWithAuthors(resultSet);
+            }
+        }
+    }
+
+    /**
+     * Returns the titles of the given books by id, books that no longer exist are left out.
+     */
+    public Map<Long, String> findTitles(Collection<Long> ids) throws SQLException {
+        // "IN ()" is not valid SQL
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        var sql = "SELECT id, title FROM books WHERE id IN (%s)"
+                .formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+
+        var values = new HashMap<Long, String>();
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            var parameterIndex = 1;
+
+            for (var id : ids) {
+                preparedStatement.setLong(parameterIndex++, id);
+            }
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    values.put(resultSet.getLong("id"), resultSet.getString("title"));
+                }
+            }
+        }
+
+        return values;
+    }
+
+    private List<Book> getBooksWithAuthors(ResultSet resultSet) throws SQLException {
+        return getBooksWithAuthors(resultSet, false);
+    }
+
+    private List<Book> getBooksWithAuthors(ResultSet resultSet, boolean withVersion) throws SQLException {
+        var books = new LinkedHashMap<Long, Book>();
+
+        while (resultSet.next()) {
+            var id = resultSet.getLong("id");
+
+            var book = books.get(id);
+
+            if (book == null) {
+                var title = resultSet.getString("title");
+                var publishYear = resultSet.getInt("publish_year");
+
+                book = new Book.BookBuilder(title, publishYear)
+                        .setId(id)
+                        .setAuthors(new HashSet<>())
+                        .build();
+
+                if (withVersion) {
+                    book.setVersion(EntityVersions.read(resultSet));
+                }
+
+                books.put(id, book);
+            }
+
+            var authorId = resultSet.getLong("author_id");
+
+            if (!resultSet.wasNull()) {
+                var firstName = resultSet.getString("first_name");
+                var lastName = resultSet.getString("last_name");
+
+                var author = new Author.AuthorBuilder(firstName, lastName)
+                        .setId(authorId)
+                        .build();
+
+                book.getAuthors().add(author);
+            }
+        }
+
+        return new ArrayList<>(books.values());
     }
 
-    private Book getBook(ResultSet resultSet, Connection connection) throws SQLException {
+    // Rows come ordered by book, so a row either continues the current item or starts the next one
+    private static BookListItemDTO readItemRow(ResultSet resultSet, BookListItemDTO item) throws SQLException {
         var id = resultSet.getLong("id");
-        var title = resultSet.getString("title");
-        var publishYear = resultSet.getInt("publish_year");
 
-        var authors = getBookAuthors(id, connection);
+        if (item == null || item.getId() != id) {
+            item = new BookListItemDTO(id, resultSet.getString("title"), resultSet.getString("publish_year"));
+        }
+
+        var authorId = resultSet.getLong("author_id");
 
-        return new Book.BookBuilder(title, publishYear)
-                .setId(id)
-                .setAuthors(authors)
-                .build();
+        if (!resultSet.wasNull()) {
+            item.getAuthors().add(new BookAuthorDTO(authorId, resultSet.getString("first_name"),
+                    resultSet.getString("last_name")));
+        }
+
+        return item;
     }
 
     private Set<Author> getBookAuthors(Long bookId, Connection connection) throws SQLException {
@@ -162,9 +496,24 @@ public class BookDAO {
                 throw new NotFoundException(BOOK_NOT_FOUND_MESSAGE);
             }
 
+            // The delete cascades out of these authors' and readers' book sets
+            var authorIds = EntityVersions.findLinked("authors_books", "author_id", "book_id", id, connection);
+            var readerIds = EntityVersions.findLinked("readers_books", "reader_id", "book_id", id, connection);
+
             preparedStatement.setLong(1, id);
 
             preparedStatement.executeUpdate();
+
+            EntityVersions.increment("authors", authorIds, connection);
+            EntityVersions.increment("readers", readerIds, connection);
+        }
+
+        updateSearchIndexes(indexes -> indexes.removeBook(id));
+    }
+
+    private void updateSearchIndexes(Consumer<SearchIndexes> update) {
+        if (searchIndexes != null) {
+            TransactionalDataSource.afterCommit(dataSource, () -> update.accept(searchIndexes));
         }
     }
 
@@ -182,7 +531,7 @@ public class BookDAO {
     }
 
     private boolean bookExists(Book book, Connection connection) throws SQLException {
-        var sql = "SELECT * FROM books WHERE LOWER(title) LIKE LOWER(?) AND publish_year = ?";
+        var sql = "SELECT id FROM books WHERE title = ? AND publish_year = ?";
 
         try (var preparedStatement = connection.prepareStatement(sql)) {
 
@@ -0,0 +1,56 @@
+package dao;
+
+import entities.Author;
+import entities.EntityVersion;
+import utils.cache.EntityCaches;
+import utils.context.RequestContext;
+import utils.datasource.TransactionalDataSource;
+
+import java.sql.SQLException;
+
+public class CachedAuthorDAO extends AuthorDAO {
+
+    private final TransactionalDataSource dataSource;
+
+    private final EntityCaches caches;
+
+    public CachedAuthorDAO(TransactionalDataSource dataSource, EntityCaches caches) {
+        super(dataSource);
+        this.dataSource = dataSource;
+        this.caches = caches;
+    }
+
+    @Override
+    public Author findById(Long id) throws SQLException {
+        // Loaded from the primary, a stale replica read would otherwise stay cached for the whole TTL
+        return caches.getAuthors().get(id, key -> RequestContext.withPrimaryReads(() -> super.findById(key)));
+    }
+
+    @Override
+    public EntityVersion findVersion(Long id) throws SQLException {
+        var cached = caches.getAuthors().getIfPresent(id);
+
+        return cached != null ? cached.getVersion() : super.findVersion(id);
+    }
+
+    @Override
+    public void update(Author author) throws SQLException {
+        super.update(author);
+
+        dataSource.afterCompletion(() -> {
+            // Cached books embed their authors' names
+            caches.getAuthors().invalidate(author.getId());
+            caches.getBooks().invalidateAll();
+        });
+    }
+
+    @Override
+    public void delete(Long id) throws SQLException {
+        super.delete(id);
+
+        dataSource.afterCompletion(() -> {
+            caches.getAuthors().invalidate(id);
+            caches.getBooks().invalidateAll();
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package dao;
+
+import entities.Book;
+import entities.EntityVersion;
+import utils.cache.EntityCaches;
+import utils.context.RequestContext;
+import utils.datasource.TransactionalDataSource;
+import utils.search.SearchIndexes;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public class CachedBookDAO extends BookDAO {
+
+    private final TransactionalDataSource dataSource;
+
+    private final EntityCaches caches;
+
+    public CachedBookDAO(TransactionalDataSource dataSource, EntityCaches caches) {
+        this(dataSource, caches, null);
+    }
+
+    public CachedBookDAO(TransactionalDataSource dataSource, EntityCaches caches, SearchIndexes searchIndexes) {
+        super(dataSource, searchIndexes);
+        this.dataSource = dataSource;
+        this.caches = caches;
+    }
+
+    @Override
+    public Book findById(Long id) throws SQLException {
+        // Loaded from the primary, a stale replica read would otherwise stay cached for the whole TTL
+        return caches.getBooks().get(id, key -> RequestContext.withPrimaryReads(() -> super.findById(key)));
+    }
+
+    @Override
+    public EntityVersion findVersion(Long id) throws SQLException {
+        var cached = caches.getBooks().getIfPresent(id);
+
+        return cached != null ? cached.getVersion() : super.findVersion(id);
+    }
+
+    @Override
+    public void addBookToAuthor(Long bookId, Long authorId) throws SQLException {
+        super.addBookToAuthor(bookId, authorId);
+
+        dataSource.afterCompletion(() -> {
+            caches.getBooks().invalidate(bookId);
+            caches.getAuthors().invalidate(authorId);
+        });
+    }
+
+    @Override
+    public void createAll(List<Book> books) throws SQLException {
+        super.createAll(books);
+
+        dataSource.afterCompletion(() -> {
+            for (var book : books) {
+                for (var author : book.getAuthors()) {
+                    caches.getAuthors().invalidate(author.getId());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void delete(Long id) throws SQLException {
+        super.delete(id);
+
+        dataSource.afterCompletion(() -> {
+            // The deleted book is cascaded out of every author's and reader's book set
+            caches.getBooks().invalidate(id);
+            caches.getAuthors().invalidateAll();
+            caches.getReaders().invalidateAll();
+        });
+    }
+}
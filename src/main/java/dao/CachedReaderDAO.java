@@ -0,0 +1,67 @@
+package dao;
+
+import entities.EntityVersion;
+import entities.Reader;
+import utils.cache.EntityCaches;
+import utils.context.RequestContext;
+import utils.datasource.TransactionalDataSource;
+import utils.search.SearchIndexes;
+
+import java.sql.SQLException;
+
+public class CachedReaderDAO extends ReaderDAO {
+
+    private final TransactionalDataSource dataSource;
+
+    private final EntityCaches caches;
+
+    public CachedReaderDAO(TransactionalDataSource dataSource, EntityCaches caches) {
+        this(dataSource, caches, null);
+    }
+
+    public CachedReaderDAO(TransactionalDataSource dataSource, EntityCaches caches, SearchIndexes searchIndexes) {
+        super(dataSource, searchIndexes);
+        this.dataSource = dataSource;
+        this.caches = caches;
+    }
+
+    @Override
+    public Reader findById(Long id) throws SQLException {
+        // Loaded from the primary, a stale replica read would otherwise stay cached for the whole TTL
+        return caches.getReaders().get(id, key -> RequestContext.withPrimaryReads(() -> super.findById(key)));
+    }
+
+    @Override
+    public EntityVersion findVersion(Long id) throws SQLException {
+        var cached = caches.getReaders().getIfPresent(id);
+
+        return cached != null ? cached.getVersion() : super.findVersion(id);
+    }
+
+    @Override
+    public void updatePhone(Reader reader) throws SQLException {
+        super.updatePhone(reader);
+
+        dataSource.afterCompletion(() -> {
+            caches.getReaders().invalidate(reader.getId());
+        });
+    }
+
+    @Override
+    public void delete(Long id) throws SQLException {
+        super.delete(id);
+
+        dataSource.afterCompletion(() -> {
+            caches.getReaders().invalidate(id);
+        });
+    }
+
+    @Override
+    public void addBookToReader(Long readerId, Long bookId) throws SQLException {
+        super.addBookToReader(readerId, bookId);
+
+        dataSource.afterCompletion(() -> {
+            caches.getReaders().invalidate(readerId);
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package dao;
+
+import entities.EntityVersion;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and increments the version columns of books, authors and readers. A version is incremented
+ * after the change it stands for, so a client can at worst get new content under the previous version
+ * and never the other way round.
+ */
+final class EntityVersions {
+
+    private EntityVersions() {
+    }
+
+    static EntityVersion read(ResultSet resultSet) throws SQLException {
+        return new EntityVersion(resultSet.getLong("version"), resultSet.getTimestamp("updated_at").toInstant());
+    }
+
+    static EntityVersion find(String table, Long id, Connection connection) throws SQLException {
+        var sql = "SELECT version, updated_at FROM " + table + " WHERE id = ?";
+
+        try (var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setLong(1, id);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? read(resultSet) : null;
+            }
+        }
+    }
+
+    static void increment(String table, Collection<Long> ids, Connection connection) throws SQLException {
+        var sql = "UPDATE " + table + " SET version = version + 1 WHERE id = ?";
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try (var preparedStatement = connection.prepareStatement(sql)) {
+
+            for (var id : ids) {
+                preparedStatement.setLong(1, id);
+                preparedStatement.addBatch();
+            }
+
+            preparedStatement.executeBatch();
+        }
+    }
+
+    /**
+     * Ids on one side of a link table, e.g. the authors of a book, collected before a cascading delete.
+     */
+    static List<Long> findLinked(String linkTable, String idColumn, String ownerColumn, Long ownerId,
+                                 Connection connection) throws SQLException {
+
+        var sql = "SELECT " + idColumn + " FROM " + linkTable + " WHERE " + ownerColumn + " = ?";
+
+        var ids = new ArrayList<Long>();
+
+        try (var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setLong(1, ownerId);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+
+        return ids;
+    }
+}
@@ -1,9 +1,13 @@
 package dao;
 
 import entities.Book;
+import entities.EntityVersion;
 import entities.Reader;
 import exceptions.AlreadyExistException;
 import exceptions.NotFoundException;
+import utils.datasource.ReadWriteDataSource;
+import utils.datasource.TransactionalDataSource;
+import utils.search.SearchIndexes;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -11,7 +15,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -21,8 +27,15 @@ public class ReaderDAO {
 
     private final DataSource dataSource;
 
+    private final SearchIndexes searchIndexes;
+
     public ReaderDAO(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    public ReaderDAO(DataSource dataSource, SearchIndexes searchIndexes) {
         this.dataSource = dataSource;
+        this.searchIndexes = searchIndexes;
     }
 
     public void create(Reader reader) throws SQLException {
@@ -49,21 +62,92 @@ public class ReaderDAO {
         }
     }
 
-    public List<Reader> findAll() throws SQLException {
-        var sql = "SELECT * FROM readers";
+    /**
+     * Inserts the readers with a single JDBC batch in one transaction.
+     */
+    public void createAll(List<Reader> readers) throws SQLException {
+        var sql = "INSERT INTO readers (first_name, last_name, phone) VALUES (?, ?, ?)";
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (var preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                for (var reader : readers) {
+                    preparedStatement.setString(1, reader.getFirstName());
+                    preparedStatement.setString(2, reader.getLastName());
+                    preparedStatement.setString(3, reader.getPhone());
+                    preparedStatement.addBatch();
+                }
+
+                preparedStatement.executeBatch();
+
+                try (var resultSet = preparedStatement.getGeneratedKeys()) {
+                    for (var reader : readers) {
+                        if (resultSet.next()) {
+                            reader.setId(resultSet.getLong(1));
+                        }
+                    }
+                }
+
+                connection.commit();
+
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    public Set<String> findExistingPhones(Set<String> phones) throws SQLException {
+        // "IN ()" is not valid SQL
+        if (phones.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        var sql = "SELECT phone FROM readers WHERE phone IN (%s)"
+                .formatted(String.join(", ", Collections.nCopies(phones.size(), "?")));
 
-        var readers = new ArrayList<Reader>();
+        var existingPhones = new HashSet<String>();
 
         try (var connection = dataSource.getConnection();
-             var statement = connection.createStatement();
-             var resultSet = statement.executeQuery(sql)) {
+             var preparedStatement = connection.prepareStatement(sql)) {
 
-            while (resultSet.next()) {
-                var reader = getReader(resultSet);
+            var parameterIndex = 1;
 
-                readers.add(reader);
+            for (var phone : phones) {
+                preparedStatement.setString(parameterIndex++, phone);
             }
 
+            try (var resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    existingPhones.add(resultSet.getString("phone"));
+                }
+            }
+        }
+
+        return existingPhones;
+    }
+
+    public List<Reader> findAllWithBooks() throws SQLException {
+        var sql = """
+                  SELECT r.id, r.first_name, r.last_name, r.phone, b.id AS book_id, b.title, b.publish_year
+                  FROM readers r
+                           LEFT JOIN readers_books rb ON r.id = rb.reader_id
+                           LEFT JOIN books b ON b.id = rb.book_id
+                  ORDER BY r.id
+                """;
+
+        List<Reader> readers;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(sql)) {
+
+            readers = getReadersWithBooks(resultSet);
+
             if (readers.isEmpty()) {
                 throw new NotFoundException("Readers not found");
             }
@@ -72,19 +156,79 @@ public class ReaderDAO {
         return readers;
     }
 
+    public List<Reader> findAllWithBooks(long after, int limit) throws SQLException {
+        var sql = """
+                  SELECT r.id, r.first_name, r.last_name, r.phone, b.id AS book_id, b.title, b.publish_year
+                  FROM (SELECT * FROM readers WHERE id > ? ORDER BY id LIMIT ?) r
+                           LEFT JOIN readers_books rb ON r.id = rb.reader_id
+                           LEFT JOIN books b ON b.id = rb.book_id
+                  ORDER BY r.id
+                """;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setLong(1, after);
+            preparedStatement.setInt(2, limit);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                return getReadersWithBooks(resultSet);
+            }
+        }
+    }
+
+    private List<Reader> getReadersWithBooks(ResultSet resultSet) throws SQLException {
+        var readers = new LinkedHashMap<Long, Reader>();
+
+        while (resultSet.next()) {
+            var id = resultSet.getLong("id");
+
+            var reader = readers.get(id);
+
+            if (reader == null) {
+                var firstName = resultSet.getString("first_name");
+                var lastName = resultSet.getString("last_name");
+                var phone = resultSet.getString("phone");
+
+                reader = new Reader.ReaderBuilder(firstName, lastName, phone)
+                        .setId(id)
+                        .setBooks(new HashSet<>())
+                        .build();
+
+                readers.put(id, reader);
+            }
+
+            var bookId = resultSet.getLong("book_id");
+
+            if (!resultSet.wasNull()) {
+                var title = resultSet.getString("title");
+                var publishYear = resultSet.getInt("publish_year");
+
+                var book = new Book.BookBuilder(title, publishYear)
+                        .setId(bookId)
+                        .build();
+
+                reader.getBooks().add(book);
+            }
+        }
+
+        return new ArrayList<>(readers.values());
+    }
+
     public Reader findById(Long id) throws SQLException {
         var sql = "SELECT * FROM readers WHERE id = ?";
 
         Reader reader = null;
 
-        try (var connection = dataSource.getConnection();
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
              var preparedStatement = connection.prepareStatement(sql)) {
 
             preparedStatement.setLong(1, id);
 
             try (var resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    reader = getReader(resultSet);
+                    reader = getReader(resultSet, connection);
+                    reader.setVersion(EntityVersions.read(resultSet));
                 }
             }
         }
@@ -96,13 +240,27 @@ public class ReaderDAO {
         return reader;
     }
 
-    private Reader getReader(ResultSet resultSet) throws SQLException {
+    public EntityVersion findVersion(Long id) throws SQLException {
+        EntityVersion version;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource)) {
+            version = EntityVersions.find("readers", id, connection);
+        }
+
+        if (version == null) {
+            throw new NotFoundException(READER_NOT_FOUND_MESSAGE);
+        }
+
+        return version;
+    }
+
+    private Reader getReader(ResultSet resultSet, Connection connection) throws SQLException {
         var id = resultSet.getLong("id");
         var firstName = resultSet.getString("first_name");
         var lastName = resultSet.getString("last_name");
         var phone = resultSet.getString("phone");
 
-        var books = getReaderBooks(id);
+        var books = getReaderBooks(id, connection);
 
         return new Reader.ReaderBuilder(firstName, lastName, phone)
                 .setId(id)
@@ -110,7 +268,7 @@ public class ReaderDAO {
                 .build();
     }
 
-    private Set<Book> getReaderBooks(Long id) throws SQLException {
+    private Set<Book> getReaderBooks(Long id, Connection connection) throws SQLException {
         var sql = """
                   SELECT id, title, publish_year
                   FROM books JOIN readers_books rb ON books.id = rb.book_id
@@ -119,8 +277,7 @@ public class ReaderDAO {
 
         var books = new HashSet<Book>();
 
-        try (var connection = dataSource.getConnection();
-             var preparedStatement = connection.prepareStatement(sql)) {
+        try (var preparedStatement = connection.prepareStatement(sql)) {
 
             preparedStatement.setLong(1, id);
 
@@ -145,7 +302,7 @@ public class ReaderDAO {
     public void updatePhone(Reader reader) throws SQLException {
         var sql = """
                 UPDATE readers
-                SET phone = ?
+                SET phone = ?, version = version + 1
                 WHERE id = ?
                 """;
 
@@ -165,7 +322,7 @@ public class ReaderDAO {
 
             preparedStatement.executeUpdate();
 
-            reader.setBooks(getReaderBooks(reader.getId()));
+            reader.setBooks(getReaderBooks(reader.getId(), connection));
         }
     }
 
@@ -209,31 +366,36 @@ public class ReaderDAO {
 
             preparedStatement.executeUpdate();
         }
-    }
 
-    public void addBookToReader(Long readerId, Long bookId) throws SQLException {
-
-        if (bookExists(readerId, bookId)) {
-            throw new AlreadyExistException("Reader already has this book");
+        if (searchIndexes != null) {
+            // The reader's reviews are cascaded out with it
+            TransactionalDataSource.afterCommit(dataSource, () -> searchIndexes.removeReader(id));
         }
+    }
 
+    public void addBookToReader(Long readerId, Long bookId) throws SQLException {
         var sql = "INSERT INTO readers_books(reader_id, book_id) VALUES(?, ?)";
 
         try (var connection = dataSource.getConnection();
              var preparedStatement = connection.prepareStatement(sql)) {
 
+            if (bookExists(readerId, bookId, connection)) {
+                throw new AlreadyExistException("Reader already has this book");
+            }
+
             preparedStatement.setLong(1, readerId);
             preparedStatement.setLong(2, bookId);
 
             preparedStatement.executeUpdate();
+
+            EntityVersions.increment("readers", List.of(readerId), connection);
         }
     }
 
-    private boolean bookExists(Long readerId, Long bookId) throws SQLException {
+    private boolean bookExists(Long readerId, Long bookId, Connection connection) throws SQLException {
         var sql = "SELECT * FROM readers_books WHERE reader_id = ? AND book_id = ?";
 
-        try (var connection = dataSource.getConnection();
-             var preparedStatement = connection.prepareStatement(sql)) {
+        try (var preparedStatement = connection.prepareStatement(sql)) {
 
             preparedStatement.setLong(1, readerId);
             preparedStatement.setLong(2, bookId);
@@ -1,27 +1,42 @@
 package dao;
 
+import entities.Book;
+import entities.Reader;
 import entities.Review;
 import exceptions.AlreadyExistException;
 import exceptions.NotFoundException;
+import utils.datasource.ReadWriteDataSource;
+import utils.datasource.TransactionalDataSource;
+import utils.search.SearchIndexes;
 
 import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Date;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ReviewDAO {
 
     private final DataSource dataSource;
 
-    private final ReaderDAO readerDAO;
+    private final SearchIndexes searchIndexes;
 
-    public ReviewDAO(DataSource dataSource, ReaderDAO readerDAO) {
+    public ReviewDAO(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    public ReviewDAO(DataSource dataSource, SearchIndexes searchIndexes) {
         this.dataSource = dataSource;
-        this.readerDAO = readerDAO;
+        this.searchIndexes = searchIndexes;
     }
 
     public void create(Review review) throws SQLException {
@@ -45,7 +60,15 @@ public class ReviewDAO {
 
             preparedStatement.setDate(4, Date.valueOf(currentDate));
 
-            preparedStatement.executeUpdate();
+            try {
+                preparedStatement.executeUpdate();
+            } catch (SQLException ex) {
+                if (SqlErrors.isDuplicateKey(ex)) {
+                    throw new AlreadyExistException("There is already a review for this book");
+                }
+
+                throw ex;
+            }
 
             try (var resultSet = preparedStatement.getGeneratedKeys()) {
                 if (resultSet.next()) {
@@ -54,14 +77,170 @@ public class ReviewDAO {
                 }
             }
         }
+
+        if (searchIndexes != null) {
+            TransactionalDataSource.afterCommit(dataSource, () -> searchIndexes.indexReview(
+                    review.getId(), book.getId(), reader.getId(), review.getContent()));
+        }
+    }
+
+    /**
+     * Inserts the reviews with a single JDBC batch in one transaction. Their readers and books
+     * only need the ids set.
+     */
+    public void createAll(List<Review> reviews) throws SQLException {
+        var sql = "INSERT INTO reviews (reader_id, book_id, content, date) VALUES (?, ?, ?, ?)";
+
+        var currentDate = LocalDate.now();
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (var preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                for (var review : reviews) {
+                    preparedStatement.setLong(1, review.getReader().getId());
+                    preparedStatement.setLong(2, review.getBook().getId());
+                    preparedStatement.setString(3, review.getContent());
+                    preparedStatement.setDate(4, Date.valueOf(currentDate));
+                    preparedStatement.addBatch();
+                }
+
+                preparedStatement.executeBatch();
+
+                try (var resultSet = preparedStatement.getGeneratedKeys()) {
+                    for (var review : reviews) {
+                        if (resultSet.next()) {
+                            review.setId(resultSet.getLong(1));
+                            review.setDate(currentDate);
+                        }
+                    }
+                }
+
+                connection.commit();
+
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        if (searchIndexes != null) {
+            TransactionalDataSource.afterCommit(dataSource, () -> {
+                for (var review : reviews) {
+                    searchIndexes.indexReview(review.getId(), review.getBook().getId(),
+                            review.getReader().getId(), review.getContent());
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks that the reader and the book exist with one primary key lookup each.
+     */
+    public void checkReferences(Long readerId, Long bookId) throws SQLException {
+        var sql = """
+                  SELECT EXISTS(SELECT 1 FROM readers WHERE id = ?) AS reader_exists,
+                         EXISTS(SELECT 1 FROM books WHERE id = ?) AS book_exists
+                """;
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setLong(1, readerId);
+            preparedStatement.setLong(2, bookId);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+
+                if (!resultSet.getBoolean("reader_exists")) {
+                    throw new NotFoundException("Reader not found");
+                }
+
+                if (!resultSet.getBoolean("book_exists")) {
+                    throw new NotFoundException("Book not found");
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes every review with its book and reader ids to the callback while the result set is being read.
+     * Only the ids are set on the review's book and reader.
+     */
+    public void streamAll(RowCallback<Review> callback) throws SQLException, IOException {
+        var sql = "SELECT id, reader_id, book_id, content, date FROM reviews ORDER BY id";
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(Integer.MIN_VALUE);
+
+            try (var resultSet = statement.executeQuery(sql)) {
+                while (resultSet.next()) {
+                    var reader = new Reader.ReaderBuilder(resultSet.getLong("reader_id"), null).build();
+
+                    var book = new Book.BookBuilder(null, 0)
+                            .setId(resultSet.getLong("book_id"))
+                            .build();
+
+                    var review = new Review.ReviewBuilder(reader, book, resultSet.getString("content"))
+                            .setId(resultSet.getLong("id"))
+                            .setDate(resultSet.getDate("date").toLocalDate())
+                            .build();
+
+                    callback.accept(review);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the content of the given reviews by id, reviews that no longer exist are left out.
+     */
+    public Map<Long, String> findContents(Collection<Long> ids) throws SQLException {
+        // "IN ()" is not valid SQL
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        var sql = "SELECT id, content FROM reviews WHERE id IN (%s)"
+                .formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+
+        var values = new HashMap<Long, String>();
+
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
+             var preparedStatement = connection.prepareStatement(sql)) {
+
+            var parameterIndex = 1;
+
+            for (var id : ids) {
+                preparedStatement.setLong(parameterIndex++, id);
+            }
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    values.put(resultSet.getLong("id"), resultSet.getString("content"));
+                }
+            }
+        }
+
+        return values;
     }
 
     public List<Review> findAll(Long bookId) throws SQLException {
-        var sql = "SELECT id, reader_id, content, date FROM reviews WHERE book_id = ?";
+        var sql = """
+                  SELECT rv.id, rv.content, rv.date, r.id AS reader_id, r.first_name, r.last_name, r.phone
+                  FROM reviews rv JOIN readers r ON r.id = rv.reader_id
+                  WHERE rv.book_id = ?
+                  ORDER BY rv.id
+                """;
 
         var reviews = new ArrayList<Review>();
 
-        try (var connection = dataSource.getConnection();
+        try (var connection = ReadWriteDataSource.getReadConnection(dataSource);
              var preparedStatement = connection.prepareStatement(sql)) {
 
             preparedStatement.setLong(1, bookId);
@@ -69,10 +248,18 @@ public class ReviewDAO {
             try (var resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
                     var reviewId = resultSet.getLong("id");
-                    var reader = readerDAO.findById(resultSet.getLong("reader_id"));
                     var content = resultSet.getString("content");
                     var date = resultSet.getDate("date").toLocalDate();
 
+                    var readerId = resultSet.getLong("reader_id");
+                    var firstName = resultSet.getString("first_name");
+                    var lastName = resultSet.getString("last_name");
+                    var phone = resultSet.getString("phone");
+
+                    var reader = new Reader.ReaderBuilder(firstName, lastName, phone)
+                            .setId(readerId)
+                            .build();
+
                     var review = new Review.ReviewBuilder(reader, content)
                             .setId(reviewId)
                             .setDate(date)
@@ -91,7 +278,7 @@ public class ReviewDAO {
     }
 
     private boolean reviewExists(Long readerId, Long book_id, Connection connection) throws SQLException {
-        var sql = "SELECT * FROM reviews WHERE reader_id = ? AND book_id = ?";
+        var sql = "SELECT id FROM reviews WHERE reader_id = ? AND book_id = ?";
 
         try (var preparedStatement = connection.prepareStatement(sql)) {
 
@@ -0,0 +1,9 @@
+package dao;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface RowCallback<T> {
+
+    void accept(T row) throws IOException;
+}
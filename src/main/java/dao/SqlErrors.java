@@ -0,0 +1,22 @@
+package dao;
+
+import java.sql.SQLException;
+
+/**
+ * Tells MySQL integrity errors apart, which all arrive as SQLState 23000.
+ */
+public class SqlErrors {
+
+    private static final String INTEGRITY_CONSTRAINT_STATE = "23000";
+
+    private static final int ER_DUP_ENTRY = 1062;
+    private static final int ER_NO_REFERENCED_ROW_2 = 1452;
+
+    public static boolean isDuplicateKey(SQLException ex) {
+        return INTEGRITY_CONSTRAINT_STATE.equals(ex.getSQLState()) && ex.getErrorCode() == ER_DUP_ENTRY;
+    }
+
+    public static boolean isMissingReference(SQLException ex) {
+        return INTEGRITY_CONSTRAINT_STATE.equals(ex.getSQLState()) && ex.getErrorCode() == ER_NO_REFERENCED_ROW_2;
+    }
+}
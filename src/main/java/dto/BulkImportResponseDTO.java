@@ -0,0 +1,23 @@
+package dto;
+
+import java.util.List;
+
+public class BulkImportResponseDTO {
+
+    private final List<Long> ids;
+
+    private final List<BulkItemErrorDTO> errors;
+
+    public BulkImportResponseDTO(List<Long> ids, List<BulkItemErrorDTO> errors) {
+        this.ids = ids;
+        this.errors = errors;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public List<BulkItemErrorDTO> getErrors() {
+        return errors;
+    }
+}
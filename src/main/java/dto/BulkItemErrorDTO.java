@@ -0,0 +1,21 @@
+package dto;
+
+public class BulkItemErrorDTO {
+
+    private final int index;
+
+    private final String message;
+
+    public BulkItemErrorDTO(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
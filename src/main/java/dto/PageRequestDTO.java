@@ -0,0 +1,20 @@
+package dto;
+
+public class PageRequestDTO {
+
+    private final long after;
+    private final int limit;
+
+    public PageRequestDTO(long after, int limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    public long getAfter() {
+        return after;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
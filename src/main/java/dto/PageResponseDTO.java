@@ -0,0 +1,23 @@
+package dto;
+
+import java.util.List;
+
+public class PageResponseDTO<T> {
+
+    private final List<T> items;
+
+    private final Long next;
+
+    public PageResponseDTO(List<T> items, Long next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,28 @@
+package dto;
+
+public class SearchHitDTO {
+
+    private final Long id;
+
+    private final String text;
+
+    private final double score;
+
+    public SearchHitDTO(Long id, String text, double score) {
+        this.id = id;
+        this.text = text;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -1,6 +1,8 @@
 package dto.author;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import entities.Book;
+import entities.EntityVersion;
 
 import java.util.Set;
 
@@ -12,6 +14,9 @@ public class AuthorResponseDTO {
 
     private final Set<Book> books;
 
+    @JsonIgnore
+    private EntityVersion version;
+
     public AuthorResponseDTO(Long id, String firstName, String lastName, Set<Book> books) {
         this.id = id;
         this.firstName = firstName;
@@ -34,4 +39,12 @@ public class AuthorResponseDTO {
     public Set<Book> getBooks() {
         return books;
     }
+
+    public EntityVersion getVersion() {
+        return version;
+    }
+
+    public void setVersion(EntityVersion version) {
+        this.version = version;
+    }
 }
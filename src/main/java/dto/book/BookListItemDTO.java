@@ -0,0 +1,39 @@
+package dto.book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A book as listings show it, projected straight from the result set. Serializes like
+ * {@link BookResponseDTO}.
+ */
+public class BookListItemDTO {
+
+    private final Long id;
+    private final String title;
+    private final String publishYear;
+
+    private final List<BookAuthorDTO> authors = new ArrayList<>(1);
+
+    public BookListItemDTO(Long id, String title, String publishYear) {
+        this.id = id;
+        this.title = title;
+        this.publishYear = publishYear;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getPublishYear() {
+        return publishYear;
+    }
+
+    public List<BookAuthorDTO> getAuthors() {
+        return authors;
+    }
+}
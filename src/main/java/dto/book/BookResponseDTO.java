@@ -1,6 +1,8 @@
 package dto.book;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import entities.Author;
+import entities.EntityVersion;
 
 import java.util.Set;
 
@@ -12,6 +14,9 @@ public class BookResponseDTO {
 
     private Set<Author> authors;
 
+    @JsonIgnore
+    private EntityVersion version;
+
     public BookResponseDTO() {}
 
     public BookResponseDTO(Long id, String title, String publishYear, Set<Author> authors) {
@@ -52,4 +57,12 @@ public class BookResponseDTO {
     public void setAuthors(Set<Author> authors) {
         this.authors = authors;
     }
+
+    public EntityVersion getVersion() {
+        return version;
+    }
+
+    public void setVersion(EntityVersion version) {
+        this.version = version;
+    }
 }
@@ -1,6 +1,8 @@
 package dto.reader;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import entities.Book;
+import entities.EntityVersion;
 
 import java.util.Set;
 
@@ -13,6 +15,9 @@ public class ReaderResponseDTO {
 
     private final Set<Book> books;
 
+    @JsonIgnore
+    private EntityVersion version;
+
     public ReaderResponseDTO(Long id, String firstName, String lastName, Set<Book> books) {
         this.id = id;
         this.firstName = firstName;
@@ -35,4 +40,12 @@ public class ReaderResponseDTO {
     public Set<Book> getBooks() {
         return books;
     }
+
+    public EntityVersion getVersion() {
+        return version;
+    }
+
+    public void setVersion(EntityVersion version) {
+        this.version = version;
+    }
 }
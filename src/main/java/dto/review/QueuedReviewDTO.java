@@ -0,0 +1,35 @@
+package dto.review;
+
+public class QueuedReviewDTO {
+
+    private final String trackingId;
+
+    private final String status;
+
+    private final Long reviewId;
+
+    private final String message;
+
+    public QueuedReviewDTO(String trackingId, String status, Long reviewId, String message) {
+        this.trackingId = trackingId;
+        this.status = status;
+        this.reviewId = reviewId;
+        this.message = message;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
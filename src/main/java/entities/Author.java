@@ -15,6 +15,9 @@ public class Author {
     @JsonIgnore
     private Set<Book> books;
 
+    @JsonIgnore
+    private EntityVersion version;
+
     private Author(Author.AuthorBuilder authorBuilder) {
         id = authorBuilder.id;
         firstName = authorBuilder.firstName;
@@ -54,6 +57,14 @@ public class Author {
         this.books = books;
     }
 
+    public EntityVersion getVersion() {
+        return version;
+    }
+
+    public void setVersion(EntityVersion version) {
+        this.version = version;
+    }
+
     public static class AuthorBuilder {
         private Long id;
 
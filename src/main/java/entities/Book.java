@@ -18,6 +18,9 @@ public class Book {
     @JsonIgnore
     private Set<Reader> readers;
 
+    @JsonIgnore
+    private EntityVersion version;
+
     private Book(BookBuilder bookBuilder) {
         id = bookBuilder.id;
         title = bookBuilder.title;
@@ -54,6 +57,14 @@ public class Book {
         return readers;
     }
 
+    public EntityVersion getVersion() {
+        return version;
+    }
+
+    public void setVersion(EntityVersion version) {
+        this.version = version;
+    }
+
     public static class BookBuilder {
         private Long id;
 
@@ -0,0 +1,40 @@
+package entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Row version of a book, author or reader. The DAOs increment it whenever the entity or the relations
+ * included in its representation change, and updated_at follows it.
+ */
+public class EntityVersion {
+
+    private final long version;
+    private final Instant updatedAt;
+
+    public EntityVersion(long version, Instant updatedAt) {
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EntityVersion that = (EntityVersion) o;
+        return version == that.version && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, updatedAt);
+    }
+}
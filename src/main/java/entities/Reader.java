@@ -17,6 +17,9 @@ public class Reader {
     @JsonIgnore
     private Set<Book> books;
 
+    @JsonIgnore
+    private EntityVersion version;
+
     private Reader(Reader.ReaderBuilder readerBuilder) {
         id = readerBuilder.id;
         firstName = readerBuilder.firstName;
@@ -57,6 +60,14 @@ public class Reader {
         this.books = books;
     }
 
+    public EntityVersion getVersion() {
+        return version;
+    }
+
+    public void setVersion(EntityVersion version) {
+        this.version = version;
+    }
+
     public static class ReaderBuilder {
         private Long id;
 
@@ -0,0 +1,19 @@
+package exceptions;
+
+import dto.BulkItemErrorDTO;
+
+import java.util.List;
+
+public class BulkImportException extends RuntimeException {
+
+    private final List<BulkItemErrorDTO> errors;
+
+    public BulkImportException(List<BulkItemErrorDTO> errors) {
+        super("Bulk import contains invalid items");
+        this.errors = errors;
+    }
+
+    public List<BulkItemErrorDTO> getErrors() {
+        return errors;
+    }
+}
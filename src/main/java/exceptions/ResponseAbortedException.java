@@ -0,0 +1,12 @@
+package exceptions;
+
+/**
+ * Thrown when a response fails after it was committed. It is too late for an error response, so the
+ * connection must be dropped rather than the partial body passed off as complete.
+ */
+public class ResponseAbortedException extends RuntimeException {
+
+    public ResponseAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -7,7 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 
-@WebFilter("/books/*")
+@WebFilter(value = "/books/*", asyncSupported = true)
 public class BookForwardFilter implements Filter {
 
     @Override
@@ -21,6 +21,7 @@ public class BookForwardFilter implements Filter {
         if (pathInfo != null && pathInfo.contains("/reviews")) {
             request.setAttribute("pathInfo", pathInfo);
             request.getRequestDispatcher("/reviewsServlet").forward(request, response);
+            return;
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,82 @@
+package filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.compression.CompressingResponse;
+import utils.compression.ContentEncoding;
+import utils.compression.DeflaterPool;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses responses with gzip or deflate, whichever the client prefers in Accept-Encoding.
+ * Bodies shorter than the minimum size are sent as they are.
+ */
+// Forwards are covered too, the forwarding filters may run first and never continue the original chain
+@WebFilter(value = "/*", asyncSupported = true, dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD})
+public class CompressionFilter implements Filter {
+
+    private static final String APPLIED_ATTRIBUTE = CompressionFilter.class.getName() + ".applied";
+
+    private static final int DEFAULT_MIN_SIZE = 1024;
+
+    private static final int MAX_IDLE_DEFLATERS = 64;
+
+    private final DeflaterPool deflaterPool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, MAX_IDLE_DEFLATERS);
+
+    private boolean enabled = true;
+
+    private int minSize = DEFAULT_MIN_SIZE;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        var context = filterConfig.getServletContext();
+
+        var configuredEnabled = (Boolean) context.getAttribute("compressionEnabled");
+        var configuredMinSize = (Integer) context.getAttribute("compressionMinSize");
+
+        if (configuredEnabled != null) {
+            enabled = configuredEnabled;
+        }
+
+        if (configuredMinSize != null) {
+            minSize = configuredMinSize;
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+
+        var request = (HttpServletRequest) servletRequest;
+        var response = (HttpServletResponse) servletResponse;
+
+        if (!enabled || request.getAttribute(APPLIED_ATTRIBUTE) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        request.setAttribute(APPLIED_ATTRIBUTE, Boolean.TRUE);
+
+        response.addHeader("Vary", "Accept-Encoding");
+
+        var encoding = ContentEncoding.negotiate(request.getHeader("Accept-Encoding"));
+
+        if (encoding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var compressingResponse = new CompressingResponse(response, encoding, deflaterPool, minSize);
+
+        filterChain.doFilter(request, compressingResponse);
+
+        // An async request is written later on another thread, which ends the body by closing it
+        if (!request.isAsyncStarted()) {
+            compressingResponse.finish();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Records the latency of every request by route, method and status. Routes are the servlet mappings,
+ * e.g. "/books/*", so ids in paths don't multiply the series. Async requests are recorded once they complete.
+ */
+// Forwards are covered too, the forwarding filters may run first and never continue the original chain
+@WebFilter(value = "/*", asyncSupported = true, dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD})
+public class MetricsFilter implements Filter {
+
+    private static final String APPLIED_ATTRIBUTE = MetricsFilter.class.getName() + ".applied";
+
+    // Clients choose the method, anything else would open a new series per made-up verb
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS");
+
+    private MetricsRegistry metricsRegistry;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        metricsRegistry = (MetricsRegistry) filterConfig.getServletContext().getAttribute("metricsRegistry");
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+
+        if (metricsRegistry == null) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        var request = (HttpServletRequest) servletRequest;
+        var response = (HttpServletResponse) servletResponse;
+
+        if (request.getAttribute(APPLIED_ATTRIBUTE) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        request.setAttribute(APPLIED_ATTRIBUTE, Boolean.TRUE);
+
+        var route = getRoute(request);
+        var start = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(route, request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(route, request, response, start);
+            }
+        }
+    }
+
+    // A forwarded request is recorded under the mapping the client called, whichever dispatch gets here first
+    private static String getRoute(HttpServletRequest request) {
+        var mapping = request.getAttribute(RequestDispatcher.FORWARD_MAPPING) instanceof HttpServletMapping forwardMapping
+                ? forwardMapping
+                : request.getHttpServletMapping();
+
+        return mapping == null || mapping.getPattern().isEmpty() ? "/" : mapping.getPattern();
+    }
+
+    private static String getMethod(HttpServletRequest request) {
+        var method = request.getMethod();
+
+        return METHODS.contains(method) ? method : "OTHER";
+    }
+
+    private void record(String route, HttpServletRequest request, HttpServletResponse response, long start) {
+        metricsRegistry.recordRequest(route, getMethod(request), response.getStatus(), System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,105 @@
+package filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.context.RequestContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sends the reads of a client to the primary for a while after it wrote something, so it sees its own writes
+ * even when the replicas lag behind. The time of the last write travels in a cookie.
+ */
+// Forwards are covered too, the forwarding filters may run first and never continue the original chain
+@WebFilter(value = "/*", asyncSupported = true, dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD})
+public class ReadYourWritesFilter implements Filter {
+
+    static final String LAST_WRITE_COOKIE = "last-write";
+
+    private static final String APPLIED_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".applied";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofSeconds(5);
+
+    private Duration window = DEFAULT_WINDOW;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        var configuredWindow = (Duration) filterConfig.getServletContext().getAttribute("readYourWritesWindow");
+
+        if (configuredWindow != null) {
+            window = configuredWindow;
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+
+        var request = (HttpServletRequest) servletRequest;
+        var response = (HttpServletResponse) servletResponse;
+
+        if (request.getAttribute(APPLIED_ATTRIBUTE) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        request.setAttribute(APPLIED_ATTRIBUTE, Boolean.TRUE);
+
+        var now = System.currentTimeMillis();
+
+        var requestContext = new RequestContext();
+
+        if (READ_METHODS.contains(request.getMethod())) {
+            requestContext.setPrimaryReads(wroteRecently(request, now));
+        } else {
+            // Set before processing, the response may be committed by the time the write is done
+            requestContext.setPrimaryReads(true);
+            response.addCookie(createLastWriteCookie(request, now));
+        }
+
+        RequestContext.set(requestContext);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestContext.clear();
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        var cookies = request.getCookies();
+
+        if (cookies == null) {
+            return false;
+        }
+
+        for (var cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return now - Long.parseLong(cookie.getValue()) < window.toMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private Cookie createLastWriteCookie(HttpServletRequest request, long now) {
+        var cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(now));
+
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        cookie.setHttpOnly(true);
+
+        return cookie;
+    }
+}
@@ -10,7 +10,7 @@ import java.io.IOException;
 import static utils.RequestParamExtractor.getIdFrom;
 import static utils.RequestParamExtractor.getIdValuesFrom;
 
-@WebFilter("/readers/*")
+@WebFilter(value = "/readers/*", asyncSupported = true)
 public class ReaderForwardFilter implements Filter {
 
     @Override
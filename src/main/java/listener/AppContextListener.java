@@ -2,8 +2,15 @@ package listener;
 
 import dao.AuthorDAO;
 import dao.BookDAO;
+import dao.CachedAuthorDAO;
+import dao.CachedBookDAO;
+import dao.CachedReaderDAO;
 import dao.ReaderDAO;
 import dao.ReviewDAO;
+import dao.SqlErrors;
+import entities.Review;
+import exceptions.NotFoundException;
+import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.annotation.WebListener;
@@ -11,30 +18,248 @@ import services.AuthorService;
 import services.BookService;
 import services.ReaderService;
 import services.ReviewService;
+import services.SearchService;
+import utils.PropertiesLoader;
+import utils.async.AsyncRequestExecutor;
+import utils.cache.EntityCaches;
 import utils.datasource.DatabaseConnector;
+import utils.datasource.MeteredDataSource;
+import utils.datasource.TransactionManager;
+import utils.datasource.TransactionalDataSource;
+import utils.metrics.MetricsRegistry;
+import utils.migration.MigrationRunner;
+import utils.response.JsonMappers;
+import utils.search.SearchIndexes;
+import utils.tracing.QueryBudgets;
+import utils.tracing.QueryTracer;
+import utils.writebehind.WriteBehindQueue;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
 
 @WebListener
 public class AppContextListener implements ServletContextListener {
 
+    private static final Logger LOGGER = Logger.getLogger(AppContextListener.class.getName());
+
+    private static final String CLASSES_PATH = "/WEB-INF/classes/";
+
     @Override
     public void contextInitialized(ServletContextEvent sce) {
         var context = sce.getServletContext();
 
-        var dataSource = DatabaseConnector.getDataSource();
+        var properties = PropertiesLoader.load("/app.properties");
+
+        if (Boolean.parseBoolean(properties.getProperty("migration.enabled"))) {
+            migrateSchema(properties);
+        }
+
+        DataSource targetDataSource = DatabaseConnector.getDataSource();
+
+        if (Boolean.parseBoolean(properties.getProperty("metrics.enabled"))) {
+            var metricsRegistry = new MetricsRegistry();
+
+            QueryTracer queryTracer = null;
+
+            if (Boolean.parseBoolean(properties.getProperty("tracing.enabled"))) {
+                var slowStatement = Duration.ofMillis(Long.parseLong(properties.getProperty("tracing.slow-statement-ms")));
+                var slowConnectionHold = Duration.ofMillis(Long.parseLong(properties.getProperty("tracing.slow-connection-hold-ms")));
+                var nPlusOneThreshold = Integer.parseInt(properties.getProperty("tracing.n-plus-one-threshold"));
+
+                var queryBudgets = QueryBudgets.parse(properties.getProperty("query-budget.limits", ""),
+                        Boolean.parseBoolean(properties.getProperty("query-budget.strict")));
+
+                queryTracer = new QueryTracer(slowStatement, slowConnectionHold, nPlusOneThreshold, queryBudgets);
+
+                context.setAttribute("queryTracer", queryTracer);
+            }
+
+            targetDataSource = new MeteredDataSource(targetDataSource, metricsRegistry, queryTracer);
+
+            context.setAttribute("metricsRegistry", metricsRegistry);
+        }
+
+        var dataSource = new TransactionalDataSource(targetDataSource);
+        var transactionManager = new TransactionManager(dataSource);
+
+        var searchIndexes = Boolean.parseBoolean(properties.getProperty("search.enabled")) ? new SearchIndexes() : null;
+
+        AuthorDAO authorDAO;
+        BookDAO bookDAO;
+        ReaderDAO readerDAO;
 
-        var authorDAO = new AuthorDAO(dataSource);
-        var bookDAO = new BookDAO(dataSource);
-        var readerDAO = new ReaderDAO(dataSource);
-        var reviewDAO = new ReviewDAO(dataSource, readerDAO);
+        if (Boolean.parseBoolean(properties.getProperty("cache.enabled"))) {
+            var maxSize = Integer.parseInt(properties.getProperty("cache.max-size"));
+            var ttl = Duration.ofSeconds(Long.parseLong(properties.getProperty("cache.ttl-seconds")));
+
+            var entityCaches = new EntityCaches(maxSize, ttl);
+
+            authorDAO = new CachedAuthorDAO(dataSource, entityCaches);
+            bookDAO = new CachedBookDAO(dataSource, entityCaches, searchIndexes);
+            readerDAO = new CachedReaderDAO(dataSource, entityCaches, searchIndexes);
+
+            context.setAttribute("entityCaches", entityCaches);
+        } else {
+            authorDAO = new AuthorDAO(dataSource);
+            bookDAO = new BookDAO(dataSource, searchIndexes);
+            readerDAO = new ReaderDAO(dataSource, searchIndexes);
+        }
+
+        var reviewDAO = new ReviewDAO(dataSource, searchIndexes);
 
         var authorService = new AuthorService(authorDAO);
-        var bookService = new BookService(bookDAO, authorDAO);
+        var bookService = new BookService(bookDAO, authorDAO, transactionManager);
         var readerService = new ReaderService(readerDAO, bookDAO);
-        var reviewService = new ReviewService(reviewDAO, readerDAO, bookDAO);
+        ReviewService reviewService;
+
+        if (Boolean.parseBoolean(properties.getProperty("review.write-behind.enabled"))) {
+            var capacity = Integer.parseInt(properties.getProperty("review.write-behind.capacity"));
+            var batchSize = Integer.parseInt(properties.getProperty("review.write-behind.batch-size"));
+            var maxDelay = Duration.ofMillis(Long.parseLong(properties.getProperty("review.write-behind.max-delay-ms")));
+
+            var reviewWriteQueue = new WriteBehindQueue<Review>(capacity, batchSize, maxDelay,
+                    reviews -> writeReviews(reviewDAO, reviews));
+
+            reviewService = new ReviewService(reviewDAO, readerDAO, bookDAO, reviewWriteQueue);
+
+            context.setAttribute("reviewWriteQueue", reviewWriteQueue);
+        } else {
+            reviewService = new ReviewService(reviewDAO, readerDAO, bookDAO);
+        }
 
         context.setAttribute("authorService", authorService);
         context.setAttribute("bookService", bookService);
         context.setAttribute("readerService", readerService);
         context.setAttribute("reviewService", reviewService);
+
+        if (searchIndexes != null) {
+            var searchService = new SearchService(searchIndexes, bookDAO, reviewDAO);
+
+            buildSearchIndexes(searchService);
+
+            context.setAttribute("searchService", searchService);
+        }
+
+        context.setAttribute("poolMetrics", DatabaseConnector.getPoolMetrics());
+
+        context.setAttribute("bulkChunkSize", Integer.parseInt(properties.getProperty("bulk.chunk-size")));
+
+        var maxInFlight = Integer.parseInt(properties.getProperty("async.max-in-flight"));
+        var requestTimeout = Duration.ofSeconds(Long.parseLong(properties.getProperty("async.timeout-seconds")));
+
+        context.setAttribute("asyncRequestExecutor", new AsyncRequestExecutor(maxInFlight, requestTimeout));
+
+        var readYourWritesWindow = Duration.ofSeconds(Long.parseLong(properties.getProperty("read-your-writes.window-seconds")));
+
+        context.setAttribute("readYourWritesWindow", readYourWritesWindow);
+
+        context.setAttribute("compressionEnabled", Boolean.parseBoolean(properties.getProperty("compression.enabled")));
+        context.setAttribute("compressionMinSize", Integer.parseInt(properties.getProperty("compression.min-size-bytes")));
+
+        warmUpSerializers(context);
+    }
+
+    private void migrateSchema(Properties properties) {
+        var lockTimeoutSeconds = Integer.parseInt(properties.getProperty("migration.lock-timeout-seconds"));
+
+        var migrationRunner = new MigrationRunner(DatabaseConnector.getDataSource(),
+                MigrationRunner.loadMigrations("/db_scripts/migrations/"), lockTimeoutSeconds);
+
+        try {
+            migrationRunner.migrate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+    }
+
+    // A single review goes through create, which reports a duplicate as AlreadyExistException. A reader or
+    // book deleted since the review was queued is reported as NotFoundException
+    private static void writeReviews(ReviewDAO reviewDAO, List<Review> reviews) throws SQLException {
+        if (reviews.size() > 1) {
+            reviewDAO.createAll(reviews);
+            return;
+        }
+
+        try {
+            reviewDAO.create(reviews.getFirst());
+        } catch (SQLException ex) {
+            if (SqlErrors.isMissingReference(ex)) {
+                throw new NotFoundException("The reader or the book no longer exists");
+            }
+
+            throw ex;
+        }
+    }
+
+    private void buildSearchIndexes(SearchService searchService) {
+        try {
+            searchService.buildIndexes();
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Search index build failed", e);
+        }
+    }
+
+    private void warmUpSerializers(ServletContext context) {
+        var dtoClasses = new ArrayList<Class<?>>();
+
+        findClasses(context, CLASSES_PATH + "dto/", dtoClasses);
+
+        var warmedUp = JsonMappers.warmUp(dtoClasses);
+
+        LOGGER.info("Warmed up JSON serializers for " + warmedUp + " DTO classes");
+    }
+
+    private void findClasses(ServletContext context, String path, List<Class<?>> classes) {
+        var resourcePaths = context.getResourcePaths(path);
+
+        if (resourcePaths == null) {
+            return;
+        }
+
+        for (var resourcePath : resourcePaths) {
+            if (resourcePath.endsWith("/")) {
+                findClasses(context, resourcePath, classes);
+            } else if (resourcePath.endsWith(".class") && !resourcePath.contains("$")) {
+                var className = resourcePath.substring(CLASSES_PATH.length(), resourcePath.length() - ".class".length())
+                        .replace('/', '.');
+
+                try {
+                    var type = Class.forName(className);
+
+                    if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+                        classes.add(type);
+                    }
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("DTO class not loadable: " + className, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        var asyncRequestExecutor = (AsyncRequestExecutor) sce.getServletContext().getAttribute("asyncRequestExecutor");
+
+        if (asyncRequestExecutor != null) {
+            asyncRequestExecutor.shutdown();
+        }
+
+        @SuppressWarnings("unchecked")
+        var reviewWriteQueue = (WriteBehindQueue<Review>) sce.getServletContext().getAttribute("reviewWriteQueue");
+
+        if (reviewWriteQueue != null) {
+            try {
+                reviewWriteQueue.shutdown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 }
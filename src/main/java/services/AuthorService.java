@@ -1,14 +1,19 @@
 package services;
 
 import dao.AuthorDAO;
+import dto.BulkImportResponseDTO;
+import dto.PageRequestDTO;
+import dto.PageResponseDTO;
 import dto.author.AuthorResponseDTO;
 import dto.author.CreateAuthorRequestDTO;
 import dto.author.CreateAuthorResponseDTO;
 import dto.author.UpdateAuthorNameDTO;
 import entities.Author;
+import entities.EntityVersion;
 import utils.mappers.AuthorMapper;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class AuthorService {
@@ -32,18 +37,49 @@ public class AuthorService {
         return authorMapper.toCreateResponseDTO(author);
     }
 
+    public BulkImportResponseDTO createAll(List<CreateAuthorRequestDTO> createAuthorRequestDTOList) throws SQLException {
+        var authors = new ArrayList<Author>();
+
+        for (var createAuthorRequestDTO : createAuthorRequestDTOList) {
+            var authorFirstName = createAuthorRequestDTO.getFirstName();
+            var authorLastName = createAuthorRequestDTO.getLastName();
+
+            authors.add(new Author.AuthorBuilder(authorFirstName, authorLastName).build());
+        }
+
+        authorDAO.createAll(authors);
+
+        var ids = authors.stream()
+                .map(Author::getId)
+                .toList();
+
+        return new BulkImportResponseDTO(ids, List.of());
+    }
+
     public List<AuthorResponseDTO> findAll() throws SQLException {
         List<Author> authors = authorDAO.findAll();
 
         return authorMapper.toResponseDTOList(authors);
     }
 
+    public PageResponseDTO<AuthorResponseDTO> findPage(PageRequestDTO pageRequestDTO) throws SQLException {
+        var limit = pageRequestDTO.getLimit();
+
+        List<Author> authors = authorDAO.findAll(pageRequestDTO.getAfter(), limit);
+
+        return authorMapper.toPageResponseDTO(authors, limit);
+    }
+
     public AuthorResponseDTO findById(Long id) throws SQLException {
         var author = authorDAO.findById(id);
 
         return authorMapper.toResponseDTO(author);
     }
 
+    public EntityVersion findVersion(Long id) throws SQLException {
+        return authorDAO.findVersion(id);
+    }
+
     public UpdateAuthorNameDTO updateName(UpdateAuthorNameDTO updateAuthorNameDTO) throws SQLException {
         var firstName = updateAuthorNameDTO.getFirstName();
         var lastName = updateAuthorNameDTO.getLastName();
@@ -2,15 +2,29 @@ package services;
 
 import dao.AuthorDAO;
 import dao.BookDAO;
+import dao.RowCallback;
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import dto.PageRequestDTO;
+import dto.PageResponseDTO;
+import dto.book.BookListItemDTO;
 import dto.book.BookResponseDTO;
 import dto.book.CreateBookDTO;
 import entities.Author;
 import entities.Book;
+import entities.EntityVersion;
+import exceptions.BulkImportException;
+import utils.datasource.TransactionManager;
 import utils.mappers.BookMapper;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 public class BookService {
@@ -18,11 +32,14 @@ public class BookService {
     private final BookDAO bookDAO;
     private final AuthorDAO authorDAO;
 
+    private final TransactionManager transactionManager;
+
     private final BookMapper bookMapper = BookMapper.INSTANCE;
 
-    public BookService(BookDAO bookDAO, AuthorDAO authorDAO) {
+    public BookService(BookDAO bookDAO, AuthorDAO authorDAO, TransactionManager transactionManager) {
         this.bookDAO = bookDAO;
         this.authorDAO = authorDAO;
+        this.transactionManager = transactionManager;
     }
 
     public BookResponseDTO create(CreateBookDTO createBookDTO) throws SQLException {
@@ -31,21 +48,94 @@ public class BookService {
 
         var book = new Book.BookBuilder(title, publishYear).build();
 
-        var authors = findAuthors(createBookDTO);
+        return transactionManager.inTransaction(() -> {
+            var authors = findAuthors(createBookDTO);
 
-        book.setAuthors(authors);
+            book.setAuthors(authors);
 
-        bookDAO.create(book);
+            bookDAO.create(book);
 
-        addBookToAuthors(book, authors);
+            addBookToAuthors(book, authors);
 
-        return bookMapper.toResponseDTO(book);
+            return bookMapper.toResponseDTO(book);
+        });
     }
 
-    public List<BookResponseDTO> findAll() throws SQLException {
-        List<Book> books = bookDAO.findAll();
+    /**
+     * Creates all books or none of them. Every invalid item is reported with its position in the batch.
+     */
+    public BulkImportResponseDTO createAll(List<CreateBookDTO> createBookDTOList) throws SQLException {
+        var errors = new ArrayList<BulkItemErrorDTO>();
+
+        var authorIds = new HashSet<Long>();
+        var titles = new HashSet<String>();
+
+        for (var createBookDTO : createBookDTOList) {
+            authorIds.addAll(createBookDTO.getAuthorsId());
+            titles.add(createBookDTO.getTitle());
+        }
+
+        var existingAuthorIds = authorDAO.findExistingIds(authorIds);
+
+        // Keyed by lower-cased title, so each item is only compared with the books that share its title
+        var knownBooks = new HashMap<String, List<Book>>();
+
+        for (var knownBook : bookDAO.findAllByTitles(titles)) {
+            addKnownBook(knownBooks, knownBook);
+        }
+
+        var books = new ArrayList<Book>();
+
+        for (int i = 0; i < createBookDTOList.size(); i++) {
+            var createBookDTO = createBookDTOList.get(i);
+
+            var authors = new HashSet<Author>();
+
+            for (var authorId : createBookDTO.getAuthorsId()) {
+                if (!existingAuthorIds.contains(authorId)) {
+                    errors.add(new BulkItemErrorDTO(i, "Author " + authorId + " not found"));
+                }
+
+                authors.add(new Author.AuthorBuilder(null, null).setId(authorId).build());
+            }
+
+            var book = new Book.BookBuilder(createBookDTO.getTitle(), createBookDTO.getPublishYear())
+                    .setAuthors(authors)
+                    .build();
+
+            if (isDuplicate(book, knownBooks)) {
+                errors.add(new BulkItemErrorDTO(i, "Book already exists"));
+            }
+
+            addKnownBook(knownBooks, book);
+            books.add(book);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new BulkImportException(errors);
+        }
+
+        bookDAO.createAll(books);
 
-        return bookMapper.toResponseDTOList(books);
+        var ids = books.stream()
+                .map(Book::getId)
+                .toList();
+
+        return new BulkImportResponseDTO(ids, errors);
+    }
+
+    public void forEach(RowCallback<BookListItemDTO> callback) throws SQLException, IOException {
+        bookDAO.streamAllItems(callback);
+    }
+
+    public PageResponseDTO<BookListItemDTO> findPage(PageRequestDTO pageRequestDTO) throws SQLException {
+        var limit = pageRequestDTO.getLimit();
+
+        var items = bookDAO.findItems(pageRequestDTO.getAfter(), limit);
+
+        var next = items.size() < limit ? null : items.getLast().getId();
+
+        return new PageResponseDTO<>(items, next);
     }
 
     public BookResponseDTO findById(Long id) throws SQLException {
@@ -54,6 +144,10 @@ public class BookService {
         return bookMapper.toResponseDTO(book);
     }
 
+    public EntityVersion findVersion(Long id) throws SQLException {
+        return bookDAO.findVersion(id);
+    }
+
     public void delete(Long id) throws SQLException {
         bookDAO.delete(id);
     }
@@ -69,6 +163,28 @@ public class BookService {
         return authors;
     }
 
+    private boolean isDuplicate(Book book, Map<String, List<Book>> knownBooks) {
+        var sameTitleBooks = knownBooks.getOrDefault(titleKey(book), List.of());
+
+        for (var knownBook : sameTitleBooks) {
+            if (knownBook.getPublishYear() == book.getPublishYear()
+                && knownBook.getAuthors().containsAll(book.getAuthors())) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void addKnownBook(Map<String, List<Book>> knownBooks, Book book) {
+        knownBooks.computeIfAbsent(titleKey(book), title -> new ArrayList<>()).add(book);
+    }
+
+    private String titleKey(Book book) {
+        return book.getTitle().toLowerCase(Locale.ROOT);
+    }
+
     private void addBookToAuthors(Book book, Set<Author> authors) throws SQLException {
         for (var author : authors) {
             bookDAO.addBookToAuthor(book.getId(), author.getId());
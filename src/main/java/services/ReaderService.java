@@ -2,15 +2,23 @@ package services;
 
 import dao.BookDAO;
 import dao.ReaderDAO;
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import dto.PageRequestDTO;
+import dto.PageResponseDTO;
 import dto.reader.CreateReaderRequestDTO;
 import dto.reader.CreateReaderResponseDTO;
 import dto.reader.ReaderResponseDTO;
 import dto.reader.UpdateReaderPhoneDTO;
+import entities.EntityVersion;
 import entities.Reader;
 import utils.mappers.ReaderMapper;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 
 public class ReaderService {
 
@@ -36,18 +44,79 @@ public class ReaderService {
         return mapper.toCreateResponseDTO(reader);
     }
 
+    /**
+     * Creates the readers whose phone is neither taken nor repeated earlier in the list.
+     * The returned ids are aligned with the list, null marking a rejected reader.
+     */
+    public BulkImportResponseDTO createAll(List<CreateReaderRequestDTO> createReaderRequestDTOList) throws SQLException {
+        var phones = new HashSet<String>();
+
+        for (var createReaderRequestDTO : createReaderRequestDTOList) {
+            phones.add(createReaderRequestDTO.getPhone());
+        }
+
+        var takenPhones = readerDAO.findExistingPhones(phones);
+
+        var readers = new ArrayList<Reader>();
+        var errors = new ArrayList<BulkItemErrorDTO>();
+
+        for (int i = 0; i < createReaderRequestDTOList.size(); i++) {
+            var createReaderRequestDTO = createReaderRequestDTOList.get(i);
+
+            var firstName = createReaderRequestDTO.getFirstName();
+            var lastName = createReaderRequestDTO.getLastName();
+            var phone = createReaderRequestDTO.getPhone();
+
+            if (!takenPhones.add(phone)) {
+                readers.add(null);
+                errors.add(new BulkItemErrorDTO(i, "Reader already exists"));
+                continue;
+            }
+
+            readers.add(new Reader.ReaderBuilder(firstName, lastName, phone).build());
+        }
+
+        var newReaders = readers.stream()
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (!newReaders.isEmpty()) {
+            readerDAO.createAll(newReaders);
+        }
+
+        var ids = new ArrayList<Long>();
+
+        for (var reader : readers) {
+            ids.add(reader == null ? null : reader.getId());
+        }
+
+        return new BulkImportResponseDTO(ids, errors);
+    }
+
     public List<ReaderResponseDTO> findAll() throws SQLException {
-        List<Reader> readers = readerDAO.findAll();
+        List<Reader> readers = readerDAO.findAllWithBooks();
 
         return mapper.toResponseDTOList(readers);
     }
 
+    public PageResponseDTO<ReaderResponseDTO> findPage(PageRequestDTO pageRequestDTO) throws SQLException {
+        var limit = pageRequestDTO.getLimit();
+
+        List<Reader> readers = readerDAO.findAllWithBooks(pageRequestDTO.getAfter(), limit);
+
+        return mapper.toPageResponseDTO(readers, limit);
+    }
+
     public ReaderResponseDTO findById(Long id) throws SQLException {
         var reader = readerDAO.findById(id);
 
         return mapper.toResponseDTO(reader);
     }
 
+    public EntityVersion findVersion(Long id) throws SQLException {
+        return readerDAO.findVersion(id);
+    }
+
     public UpdateReaderPhoneDTO updatePhone(UpdateReaderPhoneDTO updateReaderPhoneDTO) throws SQLException {
         var id = updateReaderPhoneDTO.getId();
         var phone = updateReaderPhoneDTO.getPhone();
@@ -69,7 +138,11 @@ public class ReaderService {
 
         readerDAO.addBookToReader(readerId, bookId);
 
-        reader.getBooks().add(book);
+        // The found reader may be shared through the entity cache, so its book set is not modified in place
+        var books = new HashSet<>(reader.getBooks());
+        books.add(book);
+
+        reader.setBooks(books);
 
         return mapper.toResponseDTO(reader);
     }
@@ -5,9 +5,16 @@ import dao.ReaderDAO;
 import dao.ReviewDAO;
 import dto.book.BookReviewDTO;
 import dto.review.CreateReviewDTO;
+import dto.review.QueuedReviewDTO;
 import dto.review.ReviewResponseDTO;
+import entities.Book;
+import entities.Reader;
 import entities.Review;
+import exceptions.AlreadyExistException;
+import exceptions.NotFoundException;
 import utils.mappers.ReviewMapper;
+import utils.writebehind.PendingWrite;
+import utils.writebehind.WriteBehindQueue;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -18,12 +25,25 @@ public class ReviewService {
     private final ReaderDAO readerDAO;
     private final BookDAO bookDAO;
 
+    private final WriteBehindQueue<Review> writeQueue;
+
     private final ReviewMapper reviewMapper = ReviewMapper.INSTANCE;
 
     public ReviewService(ReviewDAO reviewDAO, ReaderDAO readerDAO, BookDAO bookDAO) {
+        this(reviewDAO, readerDAO, bookDAO, null);
+    }
+
+    public ReviewService(ReviewDAO reviewDAO, ReaderDAO readerDAO, BookDAO bookDAO,
+                         WriteBehindQueue<Review> writeQueue) {
+
         this.reviewDAO = reviewDAO;
         this.readerDAO = readerDAO;
         this.bookDAO = bookDAO;
+        this.writeQueue = writeQueue;
+    }
+
+    public boolean isWriteBehind() {
+        return writeQueue != null;
     }
 
     public ReviewResponseDTO create(CreateReviewDTO createReviewDTO) throws SQLException {
@@ -38,6 +58,52 @@ public class ReviewService {
         return reviewMapper.toResponseDTO(review);
     }
 
+    /**
+     * Checks that the reader and the book exist and queues the review for a batched insert.
+     * A duplicate review is only detected on the insert and reported through the tracking id.
+     */
+    public QueuedReviewDTO enqueue(CreateReviewDTO createReviewDTO) throws SQLException {
+        var readerId = createReviewDTO.getReaderId();
+        var bookId = createReviewDTO.getBookId();
+
+        reviewDAO.checkReferences(readerId, bookId);
+
+        var reader = new Reader.ReaderBuilder(readerId, null).build();
+        var book = new Book.BookBuilder(null, 0).setId(bookId).build();
+
+        var review = new Review.ReviewBuilder(reader, book, createReviewDTO.getContent()).build();
+
+        return toQueuedDTO(writeQueue.submit(review));
+    }
+
+    public QueuedReviewDTO findQueued(String trackingId) {
+        var pendingWrite = writeQueue.find(trackingId);
+
+        if (pendingWrite == null) {
+            throw new NotFoundException("Queued review not found");
+        }
+
+        return toQueuedDTO(pendingWrite);
+    }
+
+    private QueuedReviewDTO toQueuedDTO(PendingWrite<Review> pendingWrite) {
+        var status = pendingWrite.getStatus();
+
+        var reviewId = status == PendingWrite.Status.WRITTEN ? pendingWrite.getItem().getId() : null;
+
+        String message = null;
+
+        if (status == PendingWrite.Status.FAILED) {
+            var error = pendingWrite.getError();
+
+            message = error instanceof AlreadyExistException || error instanceof NotFoundException
+                    ? error.getMessage()
+                    : "The review could not be saved";
+        }
+
+        return new QueuedReviewDTO(pendingWrite.getTrackingId(), status.name(), reviewId, message);
+    }
+
     public List<BookReviewDTO> findAll(Long bookId) throws SQLException {
         List<Review> reviews = reviewDAO.findAll(bookId);
 
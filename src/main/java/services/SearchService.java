@@ -0,0 +1,75 @@
+package services;
+
+import dao.BookDAO;
+import dao.ReviewDAO;
+import dto.SearchHitDTO;
+import exceptions.NotFoundException;
+import utils.search.SearchHit;
+import utils.search.SearchIndexes;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class SearchService {
+
+    private final SearchIndexes searchIndexes;
+
+    private final BookDAO bookDAO;
+    private final ReviewDAO reviewDAO;
+
+    public SearchService(SearchIndexes searchIndexes, BookDAO bookDAO, ReviewDAO reviewDAO) {
+        this.searchIndexes = searchIndexes;
+        this.bookDAO = bookDAO;
+        this.reviewDAO = reviewDAO;
+    }
+
+    /**
+     * Loads every book title and review into the indexes, the DAOs keep them up to date afterwards.
+     */
+    public void buildIndexes() throws SQLException, IOException {
+        try {
+            bookDAO.streamAll(book -> searchIndexes.indexBook(book.getId(), book.getTitle()));
+        } catch (NotFoundException ex) {
+            return;
+        }
+
+        reviewDAO.streamAll(review -> searchIndexes.indexReview(review.getId(), review.getBook().getId(),
+                review.getReader().getId(), review.getContent()));
+    }
+
+    public List<SearchHitDTO> searchBooks(String query, int limit) throws SQLException {
+        var hits = searchIndexes.getBooks().search(query, limit);
+
+        return toDTOList(hits, bookDAO.findTitles(getIds(hits)));
+    }
+
+    public List<SearchHitDTO> searchReviews(String query, int limit) throws SQLException {
+        var hits = searchIndexes.getReviews().search(query, limit);
+
+        return toDTOList(hits, reviewDAO.findContents(getIds(hits)));
+    }
+
+    private List<Long> getIds(List<SearchHit> hits) {
+        return hits.stream()
+                .map(SearchHit::getId)
+                .toList();
+    }
+
+    // A hit deleted since it was ranked has no text and is left out
+    private List<SearchHitDTO> toDTOList(List<SearchHit> hits, Map<Long, String> texts) {
+        var searchHitDTOList = new ArrayList<SearchHitDTO>(hits.size());
+
+        for (var hit : hits) {
+            var text = texts.get(hit.getId());
+
+            if (text != null) {
+                searchHitDTOList.add(new SearchHitDTO(hit.getId(), text, hit.getScore()));
+            }
+        }
+
+        return searchHitDTOList;
+    }
+}
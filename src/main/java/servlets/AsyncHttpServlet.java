@@ -0,0 +1,65 @@
+package servlets;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.async.AsyncRequestExecutor;
+import utils.context.RequestContext;
+import utils.tracing.QueryTracer;
+
+import java.io.IOException;
+
+/**
+ * Dispatches to the doXxx methods on the {@link AsyncRequestExecutor} of the servlet context.
+ * Requests are processed on the container thread when there is no executor or the request can't go async.
+ */
+public abstract class AsyncHttpServlet extends HttpServlet {
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (request.getAttribute(AsyncRequestExecutor.ABORTED_ATTRIBUTE) instanceof Exception ex) {
+            throw new ServletException("Response failed after it was committed", ex);
+        }
+
+        // Read here, the context travels with the request to the worker thread
+        RequestContext.current().setPrettyPrint(Boolean.parseBoolean(request.getParameter("pretty")));
+
+        var asyncRequestExecutor = (AsyncRequestExecutor) getServletContext().getAttribute("asyncRequestExecutor");
+
+        if (asyncRequestExecutor == null || !request.isAsyncSupported() || request.isAsyncStarted()) {
+            tracedService(request, response);
+            return;
+        }
+
+        asyncRequestExecutor.execute(request, response, this::tracedService);
+    }
+
+    private void tracedService(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        var queryTracer = (QueryTracer) getServletContext().getAttribute("queryTracer");
+
+        if (queryTracer == null) {
+            super.service(request, response);
+            return;
+        }
+
+        var mapping = request.getHttpServletMapping();
+        var route = mapping == null ? "" : mapping.getPattern();
+
+        var requestContext = RequestContext.current();
+        var queryTrace = queryTracer.start(request.getMethod(), route, request.getRequestURI());
+
+        requestContext.setQueryTrace(queryTrace);
+
+        try {
+            super.service(request, response);
+        } finally {
+            requestContext.setQueryTrace(null);
+            queryTracer.finish(queryTrace);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package servlets;
+
+import dto.author.CreateAuthorRequestDTO;
+import exceptions.BadRequestException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import services.AuthorService;
+import utils.bulk.BulkImporter;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static utils.validator.RequestParamValidator.validateName;
+
+/**
+ * Accepts authors as a JSON array or as newline-delimited JSON objects:
+ * {"firstName": "...", "lastName": "..."}
+ */
+@WebServlet(value = "/authors/bulk", asyncSupported = true)
+public class AuthorsBulkServlet extends AsyncHttpServlet {
+
+    private AuthorService authorService;
+
+    private int chunkSize = BulkImporter.DEFAULT_CHUNK_SIZE;
+
+    @Override
+    public void init() {
+        var context = getServletContext();
+
+        authorService = (AuthorService) context.getAttribute("authorService");
+        chunkSize = (int) context.getAttribute("bulkChunkSize");
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            var importer = new BulkImporter<>(chunkSize, this::getCreateAuthorDTO, authorService::createAll);
+
+            var bulkImportResponseDTO = importer.importFrom(request.getReader());
+
+            response.setStatus(BulkImporter.getResponseStatus(bulkImportResponseDTO));
+
+            JsonResponsePrinter.print(response, bulkImportResponseDTO);
+
+        } catch (SQLException | BadRequestException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+
+    private CreateAuthorRequestDTO getCreateAuthorDTO(Map<String, String> item) {
+        var firstName = item.get("firstName");
+        var lastName = item.get("lastName");
+
+        firstName = validateName("firstName", firstName);
+        lastName = validateName("lastName", lastName);
+
+        return new CreateAuthorRequestDTO(firstName, lastName);
+    }
+}
@@ -6,10 +6,10 @@ import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
-import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import services.AuthorService;
+import utils.ConditionalRequest;
 import utils.response.ErrorResponseSender;
 import utils.response.JsonResponsePrinter;
 import utils.validator.RequestParamValidator;
@@ -18,10 +18,12 @@ import java.io.IOException;
 import java.sql.SQLException;
 
 import static utils.RequestParamExtractor.getIdFrom;
+import static utils.RequestParamExtractor.getPageRequestFrom;
+import static utils.RequestParamExtractor.isPageRequested;
 import static utils.validator.RequestParamValidator.validateName;
 
-@WebServlet(urlPatterns = {"/authors", "/authors/*"})
-public class AuthorsServlet extends HttpServlet {
+@WebServlet(urlPatterns = {"/authors", "/authors/*"}, asyncSupported = true)
+public class AuthorsServlet extends AsyncHttpServlet {
 
     private AuthorService authorService;
 
@@ -50,6 +52,18 @@ public class AuthorsServlet extends HttpServlet {
                 return;
             }
 
+            var afterParameter = request.getParameter("after");
+            var limitParameter = request.getParameter("limit");
+
+            if (isPageRequested(afterParameter, limitParameter)) {
+                var pageRequestDTO = getPageRequestFrom(afterParameter, limitParameter);
+
+                var pageResponseDTO = authorService.findPage(pageRequestDTO);
+
+                JsonResponsePrinter.print(response, pageResponseDTO);
+                return;
+            }
+
             var authorsResponseDTO = authorService.findAll();
 
             JsonResponsePrinter.print(response, authorsResponseDTO);
@@ -66,8 +80,20 @@ public class AuthorsServlet extends HttpServlet {
 
         var authorId = Long.valueOf(idParameter);
 
+        if (ConditionalRequest.isConditional(request)) {
+            var version = authorService.findVersion(authorId);
+
+            if (ConditionalRequest.isNotModified(request, version)) {
+                ConditionalRequest.setValidators(response, version);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
         var authorResponseDTO = authorService.findById(authorId);
 
+        ConditionalRequest.setValidators(response, authorResponseDTO.getVersion());
+
         JsonResponsePrinter.print(response, authorResponseDTO);
     }
 
@@ -77,8 +103,8 @@ public class AuthorsServlet extends HttpServlet {
             var firstName = request.getParameter("first-name");
             var lastName = request.getParameter("last-name");
 
-            validateName("first-name", firstName);
-            validateName("last-name", lastName);
+            firstName = validateName("first-name", firstName);
+            lastName = validateName("last-name", lastName);
 
             var createAuthorDTO = new CreateAuthorRequestDTO(firstName, lastName);
 
@@ -101,8 +127,8 @@ public class AuthorsServlet extends HttpServlet {
             var lastName = request.getParameter("last-name");
 
             RequestParamValidator.validateId(idParameter);
-            validateName("first-name", firstName);
-            validateName("last-name", lastName);
+            firstName = validateName("first-name", firstName);
+            lastName = validateName("last-name", lastName);
 
             var authorId = Long.valueOf(idParameter);
 
@@ -0,0 +1,148 @@
+package servlets;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import dto.book.CreateBookDTO;
+import exceptions.BadRequestException;
+import exceptions.BulkImportException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import services.BookService;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonMappers;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static utils.validator.RequestParamValidator.*;
+
+/**
+ * Accepts books as a JSON array or as newline-delimited JSON objects:
+ * {"title": "...", "publishYear": 2024, "authors": [1, 2]}
+ */
+@WebServlet(value = "/books/bulk", asyncSupported = true)
+public class BooksBulkServlet extends AsyncHttpServlet {
+
+    private static final int MAX_BULK_SIZE = 10_000;
+
+    private static final ObjectReader READER = JsonMappers.readerFor(JsonNode.class);
+
+    private BookService bookService;
+
+    @Override
+    public void init() {
+        bookService = (BookService) getServletContext().getAttribute("bookService");
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            var items = readItems(request);
+
+            var createBookDTOList = new ArrayList<CreateBookDTO>();
+            var errors = new ArrayList<BulkItemErrorDTO>();
+
+            for (int i = 0; i < items.size(); i++) {
+                try {
+                    createBookDTOList.add(getCreateBookDTO(items.get(i)));
+                } catch (BadRequestException ex) {
+                    errors.add(new BulkItemErrorDTO(i, ex.getMessage()));
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                throw new BulkImportException(errors);
+            }
+
+            var bulkImportResponseDTO = bookService.createAll(createBookDTOList);
+
+            response.setStatus(HttpServletResponse.SC_CREATED);
+
+            JsonResponsePrinter.print(response, bulkImportResponseDTO);
+
+        } catch (BulkImportException ex) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+
+            JsonResponsePrinter.print(response, new BulkImportResponseDTO(List.of(), ex.getErrors()));
+
+        } catch (SQLException | BadRequestException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+
+    private List<JsonNode> readItems(HttpServletRequest request) throws IOException {
+        List<JsonNode> items;
+
+        try (var iterator = READER.<JsonNode>readValues(request.getReader())) {
+            items = iterator.readAll();
+        } catch (JsonProcessingException | RuntimeException ex) {
+            throw new BadRequestException("Malformed JSON payload");
+        }
+
+        if (items.isEmpty()) {
+            throw new BadRequestException("No books to import");
+        }
+
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("No more than " + MAX_BULK_SIZE + " books can be imported at once");
+        }
+
+        return items;
+    }
+
+    private CreateBookDTO getCreateBookDTO(JsonNode item) {
+        var title = getText(item, "title");
+        var publishYear = getText(item, "publishYear");
+        var authorIdParameters = getTextValues(item, "authors");
+
+        title = validateTitle("title", title);
+
+        validateYear("publishYear", publishYear);
+        validateIdValues(authorIdParameters);
+
+        var authorIdSet = getAuthorIdSet(authorIdParameters);
+
+        return new CreateBookDTO(title, Integer.parseInt(publishYear), authorIdSet);
+    }
+
+    private String getText(JsonNode item, String fieldName) {
+        var field = item.get(fieldName);
+
+        return field == null || field.isNull() || field.isContainerNode() ? null : field.asText();
+    }
+
+    private String[] getTextValues(JsonNode item, String fieldName) {
+        var field = item.get(fieldName);
+
+        if (field == null || !field.isArray()) {
+            return null;
+        }
+
+        var values = new String[field.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = field.get(i).asText();
+        }
+
+        return values;
+    }
+
+    private Set<Long> getAuthorIdSet(String[] authorIdParameters) {
+        var authorIdSet = new HashSet<Long>();
+
+        for (var authorIdParameter : authorIdParameters) {
+            authorIdSet.add(Long.valueOf(authorIdParameter));
+        }
+
+        return authorIdSet;
+    }
+}
@@ -5,13 +5,13 @@ import exceptions.AlreadyExistException;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import jakarta.servlet.annotation.WebServlet;
-import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import services.BookService;
-import utils.ExtraSpaceTrimmer;
+import utils.ConditionalRequest;
 import utils.response.ErrorResponseSender;
 import utils.response.JsonResponsePrinter;
+import utils.response.JsonStreamPrinter;
 
 import java.io.IOException;
 import java.sql.SQLException;
@@ -19,10 +19,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static utils.RequestParamExtractor.getIdFrom;
+import static utils.RequestParamExtractor.getPageRequestFrom;
+import static utils.RequestParamExtractor.isPageRequested;
 import static utils.validator.RequestParamValidator.*;
 
-@WebServlet(urlPatterns = {"/books", "/books/*"})
-public class BooksServlet extends HttpServlet {
+@WebServlet(urlPatterns = {"/books", "/books/*"}, asyncSupported = true)
+public class BooksServlet extends AsyncHttpServlet {
 
     private BookService bookService;
 
@@ -39,9 +41,19 @@ public class BooksServlet extends HttpServlet {
                 return;
             }
 
-            var booksResponseDTO = bookService.findAll();
+            var afterParameter = request.getParameter("after");
+            var limitParameter = request.getParameter("limit");
 
-            JsonResponsePrinter.print(response, booksResponseDTO);
+            if (isPageRequested(afterParameter, limitParameter)) {
+                var pageRequestDTO = getPageRequestFrom(afterParameter, limitParameter);
+
+                var pageResponseDTO = bookService.findPage(pageRequestDTO);
+
+                JsonResponsePrinter.print(response, pageResponseDTO);
+                return;
+            }
+
+            JsonStreamPrinter.printArray(response, bookService::forEach);
 
         } catch (SQLException | NotFoundException | BadRequestException ex) {
             ErrorResponseSender.send(response, ex);
@@ -55,8 +67,20 @@ public class BooksServlet extends HttpServlet {
 
         var authorId = Long.valueOf(idParameter);
 
+        if (ConditionalRequest.isConditional(request)) {
+            var version = bookService.findVersion(authorId);
+
+            if (ConditionalRequest.isNotModified(request, version)) {
+                ConditionalRequest.setValidators(response, version);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
         var bookResponseDTO = bookService.findById(authorId);
 
+        ConditionalRequest.setValidators(response, bookResponseDTO.getVersion());
+
         JsonResponsePrinter.print(response, bookResponseDTO);
     }
 
@@ -67,8 +91,7 @@ public class BooksServlet extends HttpServlet {
             var publishYear = request.getParameter("publish-year");
             var authorIdParameters = request.getParameterValues("authors");
 
-            validateTitle("title", title);
-            title = ExtraSpaceTrimmer.trim(title);
+            title = validateTitle("title", title);
 
             validateYear("publish-year", publishYear);
             validateIdValues(authorIdParameters);
@@ -0,0 +1,37 @@
+package servlets;
+
+import exceptions.NotFoundException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.cache.EntityCaches;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+
+@WebServlet("/internal/caches")
+public class CacheStatsServlet extends HttpServlet {
+
+    private EntityCaches entityCaches;
+
+    @Override
+    public void init() {
+        entityCaches = (EntityCaches) getServletContext().getAttribute("entityCaches");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            if (entityCaches == null) {
+                throw new NotFoundException("Entity caches are disabled");
+            }
+
+            JsonResponsePrinter.print(response, entityCaches.getStats());
+
+        } catch (NotFoundException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+}
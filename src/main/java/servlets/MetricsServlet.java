@@ -0,0 +1,85 @@
+package servlets;
+
+import exceptions.NotFoundException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.datasource.PoolMetrics;
+import utils.datasource.PoolSnapshot;
+import utils.metrics.MetricsRegistry;
+import utils.metrics.PrometheusWriter;
+import utils.response.ErrorResponseSender;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@WebServlet("/metrics")
+public class MetricsServlet extends HttpServlet {
+
+    private MetricsRegistry metricsRegistry;
+
+    private List<PoolMetrics> poolMetrics;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init() {
+        metricsRegistry = (MetricsRegistry) getServletContext().getAttribute("metricsRegistry");
+        poolMetrics = (List<PoolMetrics>) getServletContext().getAttribute("poolMetrics");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            if (metricsRegistry == null) {
+                throw new NotFoundException("Metrics are disabled");
+            }
+
+            response.setContentType(PrometheusWriter.CONTENT_TYPE);
+
+            var prometheusWriter = new PrometheusWriter(response.getWriter());
+
+            prometheusWriter.writeHistograms("http_server_requests_seconds", "HTTP request latency",
+                    metricsRegistry.getRequests());
+            prometheusWriter.writeHistograms("db_statement_seconds", "SQL statement execution time",
+                    metricsRegistry.getStatements());
+            prometheusWriter.writeCounters("db_statement_rows_total", "Rows read or changed by SQL statements",
+                    metricsRegistry.getStatementRows());
+            prometheusWriter.writeHistogram("db_connection_hold_seconds", "Time connections are held by the application",
+                    metricsRegistry.getConnectionHold());
+
+            var poolSnapshots = poolMetrics == null ? List.<PoolSnapshot>of() : PoolMetrics.getSnapshots(poolMetrics);
+
+            if (!poolSnapshots.isEmpty()) {
+                prometheusWriter.writeGauges("db_pool_connections_active", "Connections in use", "pool",
+                        byPool(poolSnapshots, PoolSnapshot::getActiveConnections));
+                prometheusWriter.writeGauges("db_pool_connections_idle", "Idle connections", "pool",
+                        byPool(poolSnapshots, PoolSnapshot::getIdleConnections));
+                prometheusWriter.writeGauges("db_pool_pending_threads", "Threads waiting for a connection", "pool",
+                        byPool(poolSnapshots, PoolSnapshot::getPendingThreads));
+                prometheusWriter.writeCounters("db_pool_connection_timeouts_total", "Connection acquire timeouts",
+                        "pool", byPool(poolSnapshots, PoolSnapshot::getConnectionTimeouts));
+                prometheusWriter.writeHistograms("db_pool_connection_acquire_seconds", "Connection acquire time",
+                        "pool", byPool(poolSnapshots, PoolSnapshot::getConnectionAcquire));
+            }
+
+            prometheusWriter.flush();
+
+        } catch (NotFoundException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+
+    private static <T> Map<String, T> byPool(List<PoolSnapshot> poolSnapshots, Function<PoolSnapshot, T> value) {
+        var values = new LinkedHashMap<String, T>();
+
+        for (var poolSnapshot : poolSnapshots) {
+            values.put(poolSnapshot.getPoolName(), value.apply(poolSnapshot));
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,42 @@
+package servlets;
+
+import exceptions.NotFoundException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.datasource.PoolMetrics;
+import utils.datasource.PoolSnapshot;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.util.List;
+
+@WebServlet("/internal/pool")
+public class PoolStatsServlet extends HttpServlet {
+
+    private List<PoolMetrics> poolMetrics;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init() {
+        poolMetrics = (List<PoolMetrics>) getServletContext().getAttribute("poolMetrics");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            var poolSnapshots = poolMetrics == null ? List.<PoolSnapshot>of() : PoolMetrics.getSnapshots(poolMetrics);
+
+            if (poolSnapshots.isEmpty()) {
+                throw new NotFoundException("Connection pool has not started yet");
+            }
+
+            JsonResponsePrinter.print(response, poolSnapshots);
+
+        } catch (NotFoundException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+}
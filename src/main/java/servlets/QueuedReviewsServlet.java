@@ -0,0 +1,41 @@
+package servlets;
+
+import exceptions.BadRequestException;
+import exceptions.NotFoundException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import services.ReviewService;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+
+import static utils.RequestParamExtractor.getIdFrom;
+
+@WebServlet(value = "/reviews/queued/*", asyncSupported = true)
+public class QueuedReviewsServlet extends AsyncHttpServlet {
+
+    private ReviewService reviewService;
+
+    @Override
+    public void init() {
+        reviewService = (ReviewService) getServletContext().getAttribute("reviewService");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            if (!reviewService.isWriteBehind()) {
+                throw new NotFoundException("Reviews are not queued");
+            }
+
+            var trackingId = getIdFrom(request.getPathInfo());
+
+            JsonResponsePrinter.print(response, reviewService.findQueued(trackingId));
+
+        } catch (NotFoundException | BadRequestException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import exceptions.AlreadyExistException;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import jakarta.servlet.annotation.WebServlet;
-import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import services.ReaderService;
@@ -17,8 +16,8 @@ import java.sql.SQLException;
 
 import static utils.validator.RequestParamValidator.validateId;
 
-@WebServlet("/addBookToReader")
-public class ReaderAddBookServlet extends HttpServlet {
+@WebServlet(value = "/addBookToReader", asyncSupported = true)
+public class ReaderAddBookServlet extends AsyncHttpServlet {
 
     private ReaderService readerService;
 
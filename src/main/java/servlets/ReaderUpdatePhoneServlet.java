@@ -6,7 +6,6 @@ import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
-import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import services.ReaderService;
@@ -19,8 +18,8 @@ import java.sql.SQLException;
 import static utils.validator.RequestParamValidator.validateId;
 import static utils.validator.RequestParamValidator.validatePhone;
 
-@WebServlet("/updateReaderPhone")
-public class ReaderUpdatePhoneServlet extends HttpServlet {
+@WebServlet(value = "/updateReaderPhone", asyncSupported = true)
+public class ReaderUpdatePhoneServlet extends AsyncHttpServlet {
 
     private ReaderService readerService;
 
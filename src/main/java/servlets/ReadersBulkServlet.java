@@ -0,0 +1,66 @@
+package servlets;
+
+import dto.reader.CreateReaderRequestDTO;
+import exceptions.BadRequestException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import services.ReaderService;
+import utils.bulk.BulkImporter;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static utils.validator.RequestParamValidator.validateName;
+import static utils.validator.RequestParamValidator.validatePhone;
+
+/**
+ * Accepts readers as a JSON array or as newline-delimited JSON objects:
+ * {"firstName": "...", "lastName": "...", "phone": "..."}
+ */
+@WebServlet(value = "/readers/bulk", asyncSupported = true)
+public class ReadersBulkServlet extends AsyncHttpServlet {
+
+    private ReaderService readerService;
+
+    private int chunkSize = BulkImporter.DEFAULT_CHUNK_SIZE;
+
+    @Override
+    public void init() {
+        var context = getServletContext();
+
+        readerService = (ReaderService) context.getAttribute("readerService");
+        chunkSize = (int) context.getAttribute("bulkChunkSize");
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            var importer = new BulkImporter<>(chunkSize, this::getCreateReaderDTO, readerService::createAll);
+
+            var bulkImportResponseDTO = importer.importFrom(request.getReader());
+
+            response.setStatus(BulkImporter.getResponseStatus(bulkImportResponseDTO));
+
+            JsonResponsePrinter.print(response, bulkImportResponseDTO);
+
+        } catch (SQLException | BadRequestException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+
+    private CreateReaderRequestDTO getCreateReaderDTO(Map<String, String> item) {
+        var firstName = item.get("firstName");
+        var lastName = item.get("lastName");
+        var phone = item.get("phone");
+
+        firstName = validateName("firstName", firstName);
+        lastName = validateName("lastName", lastName);
+        validatePhone("phone", phone);
+
+        return new CreateReaderRequestDTO(firstName, lastName, phone);
+    }
+}
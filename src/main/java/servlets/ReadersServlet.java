@@ -5,10 +5,10 @@ import exceptions.AlreadyExistException;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import jakarta.servlet.annotation.WebServlet;
-import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import services.ReaderService;
+import utils.ConditionalRequest;
 import utils.response.ErrorResponseSender;
 import utils.response.JsonResponsePrinter;
 
@@ -16,10 +16,12 @@ import java.io.IOException;
 import java.sql.SQLException;
 
 import static utils.RequestParamExtractor.getIdFrom;
+import static utils.RequestParamExtractor.getPageRequestFrom;
+import static utils.RequestParamExtractor.isPageRequested;
 import static utils.validator.RequestParamValidator.*;
 
-@WebServlet(urlPatterns = {"/readers", "/readers/*"})
-public class ReadersServlet extends HttpServlet {
+@WebServlet(urlPatterns = {"/readers", "/readers/*"}, asyncSupported = true)
+public class ReadersServlet extends AsyncHttpServlet {
 
     private ReaderService readerService;
 
@@ -36,6 +38,18 @@ public class ReadersServlet extends HttpServlet {
                 return;
             }
 
+            var afterParameter = request.getParameter("after");
+            var limitParameter = request.getParameter("limit");
+
+            if (isPageRequested(afterParameter, limitParameter)) {
+                var pageRequestDTO = getPageRequestFrom(afterParameter, limitParameter);
+
+                var pageResponseDTO = readerService.findPage(pageRequestDTO);
+
+                JsonResponsePrinter.print(response, pageResponseDTO);
+                return;
+            }
+
             var readerResponseDTO = readerService.findAll();
 
             JsonResponsePrinter.print(response, readerResponseDTO);
@@ -52,8 +66,20 @@ public class ReadersServlet extends HttpServlet {
 
         var readerId = Long.valueOf(idParameter);
 
+        if (ConditionalRequest.isConditional(request)) {
+            var version = readerService.findVersion(readerId);
+
+            if (ConditionalRequest.isNotModified(request, version)) {
+                ConditionalRequest.setValidators(response, version);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
         var readerResponseDTO = readerService.findById(readerId);
 
+        ConditionalRequest.setValidators(response, readerResponseDTO.getVersion());
+
         JsonResponsePrinter.print(response, readerResponseDTO);
     }
 
@@ -64,8 +90,8 @@ public class ReadersServlet extends HttpServlet {
             var lastName = request.getParameter("last-name");
             var phone = request.getParameter("phone");
 
-            validateName("first-name", firstName);
-            validateName("last-name", lastName);
+            firstName = validateName("first-name", firstName);
+            lastName = validateName("last-name", lastName);
             validatePhone("phone", phone);
 
             var createReaderDTO = new CreateReaderRequestDTO(firstName, lastName, phone);
@@ -4,13 +4,12 @@ import dto.review.CreateReviewDTO;
 import exceptions.AlreadyExistException;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
+import exceptions.ServiceUnavailableException;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
-import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import services.ReviewService;
-import utils.ExtraSpaceTrimmer;
 import utils.response.ErrorResponseSender;
 import utils.response.JsonResponsePrinter;
 
@@ -21,8 +20,8 @@ import static utils.RequestParamExtractor.getIdValuesFrom;
 import static utils.validator.RequestParamValidator.validateContent;
 import static utils.validator.RequestParamValidator.validateId;
 
-@WebServlet("/reviewsServlet")
-public class ReviewsServlet extends HttpServlet {
+@WebServlet(value = "/reviewsServlet", asyncSupported = true)
+public class ReviewsServlet extends AsyncHttpServlet {
 
     private ReviewService reviewService;
 
@@ -59,21 +58,32 @@ public class ReviewsServlet extends HttpServlet {
             validateId(readerIdParameter);
             validateId(bookIdParameter[0]);
 
-            validateContent("content", content);
-            content = ExtraSpaceTrimmer.trim(content);
+            content = validateContent("content", content);
 
             var readerId = Long.valueOf(readerIdParameter);
             var bookId = Long.valueOf(bookIdParameter[0]);
 
             var createReviewDTO = new CreateReviewDTO(readerId, bookId, content);
 
+            if (reviewService.isWriteBehind()) {
+                var queuedReviewDTO = reviewService.enqueue(createReviewDTO);
+
+                response.setStatus(HttpServletResponse.SC_ACCEPTED);
+                response.setHeader("Location",
+                        request.getContextPath() + "/reviews/queued/" + queuedReviewDTO.getTrackingId());
+
+                JsonResponsePrinter.print(response, queuedReviewDTO);
+                return;
+            }
+
             var reviewResponseDTO = reviewService.create(createReviewDTO);
 
             response.setStatus(HttpServletResponse.SC_CREATED);
 
             JsonResponsePrinter.print(response, reviewResponseDTO);
 
-        } catch (SQLException | NotFoundException | BadRequestException | AlreadyExistException ex) {
+        } catch (SQLException | NotFoundException | BadRequestException | AlreadyExistException
+                 | ServiceUnavailableException ex) {
             ErrorResponseSender.send(response, ex);
         }
     }
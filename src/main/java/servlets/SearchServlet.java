@@ -0,0 +1,58 @@
+package servlets;
+
+import exceptions.BadRequestException;
+import exceptions.NotFoundException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import services.SearchService;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import static utils.validator.RequestParamValidator.validateLimit;
+import static utils.validator.RequestParamValidator.validateQuery;
+
+@WebServlet(urlPatterns = {"/books/search", "/reviews/search"}, asyncSupported = true)
+public class SearchServlet extends AsyncHttpServlet {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private SearchService searchService;
+
+    @Override
+    public void init() {
+        searchService = (SearchService) getServletContext().getAttribute("searchService");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            if (searchService == null) {
+                throw new NotFoundException("Search is disabled");
+            }
+
+            var query = validateQuery("q", request.getParameter("q"));
+
+            var limitParameter = request.getParameter("limit");
+            var limit = DEFAULT_LIMIT;
+
+            if (limitParameter != null) {
+                validateLimit("limit", limitParameter);
+
+                limit = Integer.parseInt(limitParameter);
+            }
+
+            var hits = "/reviews/search".equals(request.getServletPath())
+                    ? searchService.searchReviews(query, limit)
+                    : searchService.searchBooks(query, limit);
+
+            JsonResponsePrinter.print(response, hits);
+
+        } catch (SQLException | NotFoundException | BadRequestException ex) {
+            ErrorResponseSender.send(response, ex);
+        }
+    }
+}
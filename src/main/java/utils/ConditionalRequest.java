@@ -0,0 +1,83 @@
+package utils;
+
+import entities.EntityVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET support for versioned resources. Clients are told to revalidate on every use,
+ * which costs a version lookup instead of loading and serializing the whole entity.
+ */
+public class ConditionalRequest {
+
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private ConditionalRequest() {
+    }
+
+    public static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(IF_NONE_MATCH) != null || request.getHeader(IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * If-None-Match takes precedence, If-Modified-Since is only evaluated without it (RFC 9110, 13.2.2).
+     */
+    public static boolean isNotModified(HttpServletRequest request, EntityVersion version) {
+        var ifNoneMatch = request.getHeader(IF_NONE_MATCH);
+
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, toETag(version));
+        }
+
+        if (request.getHeader(IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+
+        try {
+            var ifModifiedSince = request.getDateHeader(IF_MODIFIED_SINCE);
+
+            // Last-Modified has a resolution of one second
+            return version.getUpdatedAt().getEpochSecond() * 1000 <= ifModifiedSince;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    public static void setValidators(HttpServletResponse response, EntityVersion version) {
+        if (version == null) {
+            return;
+        }
+
+        response.setHeader("ETag", toETag(version));
+        response.setDateHeader("Last-Modified", version.getUpdatedAt().toEpochMilli());
+        response.setHeader("Cache-Control", "no-cache");
+    }
+
+    // Weak, so the tag still matches once the response is compressed
+    static String toETag(EntityVersion version) {
+        return "W/\"" + version.getVersion() + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        var opaqueTag = eTag.substring(2);
+
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.strip();
+
+            if (tag.equals("*")) {
+                return true;
+            }
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
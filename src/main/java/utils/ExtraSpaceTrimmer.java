@@ -2,9 +2,69 @@ package utils;
 
 public class ExtraSpaceTrimmer {
 
+    /**
+     * Trims the string and collapses every run of two or more whitespace characters into a single space.
+     * The string is returned as is when there is nothing to remove.
+     */
     public static String trim(String string) {
-        return string
-                .trim()
-                .replaceAll("\\s{2,}", " ");
+        var start = 0;
+        var end = string.length();
+
+        while (start < end && string.charAt(start) <= ' ') {
+            start++;
+        }
+
+        while (end > start && string.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        var firstRun = findWhitespaceRun(string, start, end);
+
+        if (firstRun == -1) {
+            return start == 0 && end == string.length() ? string : string.substring(start, end);
+        }
+
+        var builder = new StringBuilder(end - start);
+
+        builder.append(string, start, firstRun);
+
+        for (int i = firstRun; i < end; i++) {
+            var symbol = string.charAt(i);
+
+            if (!isWhitespace(symbol)) {
+                builder.append(symbol);
+                continue;
+            }
+
+            var runEnd = i + 1;
+
+            while (runEnd < end && isWhitespace(string.charAt(runEnd))) {
+                runEnd++;
+            }
+
+            if (runEnd - i > 1) {
+                builder.append(' ');
+                i = runEnd - 1;
+            } else {
+                builder.append(symbol);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static int findWhitespaceRun(String string, int start, int end) {
+        for (int i = start; i < end - 1; i++) {
+            if (isWhitespace(string.charAt(i)) && isWhitespace(string.charAt(i + 1))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    // Same set as the \s regex class
+    private static boolean isWhitespace(char symbol) {
+        return symbol == ' ' || symbol == '\t' || symbol == '\n' || symbol == '\u000B' || symbol == '\f' || symbol == '\r';
     }
 }
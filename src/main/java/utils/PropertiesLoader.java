@@ -0,0 +1,93 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+public class PropertiesLoader {
+
+    private PropertiesLoader() {
+    }
+
+    public static Properties load(String resourceName) {
+        var properties = new Properties();
+
+        try (var reader = new InputStreamReader(Objects.requireNonNull(
+                PropertiesLoader.class.getResourceAsStream(resourceName)))) {
+
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return properties;
+    }
+
+    /**
+     * Loads the resource and lets environment variables override its properties. The variable of a property
+     * is the prefix followed by the key in upper snake case, e.g. DB_HIKARI_MAXIMUM_POOL_SIZE for
+     * hikari.maximumPoolSize with the DB_ prefix.
+     */
+    public static Properties load(String resourceName, String environmentPrefix) {
+        return load(resourceName, environmentPrefix, List.of());
+    }
+
+    /**
+     * Same as {@link #load(String, String)}, the optional keys may also be set by environment variables
+     * when the resource leaves them out.
+     */
+    public static Properties load(String resourceName, String environmentPrefix, Collection<String> optionalKeys) {
+        return load(resourceName, environmentPrefix, optionalKeys, System.getenv());
+    }
+
+    static Properties load(String resourceName, String environmentPrefix, Collection<String> optionalKeys,
+                           Map<String, String> environment) {
+
+        var properties = load(resourceName);
+
+        var keysByEnvironmentName = new HashMap<String, String>();
+
+        for (var key : optionalKeys) {
+            keysByEnvironmentName.put(environmentPrefix + toEnvironmentName(key), key);
+        }
+
+        for (var key : properties.stringPropertyNames()) {
+            keysByEnvironmentName.put(environmentPrefix + toEnvironmentName(key), key);
+        }
+
+        for (var variable : environment.entrySet()) {
+            if (!variable.getKey().startsWith(environmentPrefix)) {
+                continue;
+            }
+
+            var key = keysByEnvironmentName.get(variable.getKey());
+
+            if (key != null) {
+                properties.setProperty(key, variable.getValue());
+            }
+        }
+
+        return properties;
+    }
+
+    private static String toEnvironmentName(String key) {
+        var name = new StringBuilder(key.length() + 8);
+
+        for (int i = 0; i < key.length(); i++) {
+            var symbol = key.charAt(i);
+
+            if (Character.isUpperCase(symbol) && i > 0 && Character.isLowerCase(key.charAt(i - 1))) {
+                name.append('_');
+            }
+
+            name.append(Character.isLetterOrDigit(symbol) ? Character.toUpperCase(symbol) : '_');
+        }
+
+        return name.toString();
+    }
+}
@@ -1,9 +1,15 @@
 package utils;
 
+import dto.PageRequestDTO;
 import exceptions.BadRequestException;
 
+import static utils.validator.RequestParamValidator.validateCursor;
+import static utils.validator.RequestParamValidator.validateLimit;
+
 public class RequestParamExtractor {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+
     public static String getIdFrom(String pathInfo) {
 
         if (pathInfo == null) {
@@ -35,4 +41,25 @@ public class RequestParamExtractor {
         return new String[]{pathInfoParts[0], pathInfoParts[2]};
 
     }
+
+    public static boolean isPageRequested(String afterParameter, String limitParameter) {
+        return afterParameter != null || limitParameter != null;
+    }
+
+    public static PageRequestDTO getPageRequestFrom(String afterParameter, String limitParameter) {
+        var after = 0L;
+        var limit = DEFAULT_PAGE_LIMIT;
+
+        if (afterParameter != null) {
+            validateCursor("after", afterParameter);
+            after = Long.parseLong(afterParameter);
+        }
+
+        if (limitParameter != null) {
+            validateLimit("limit", limitParameter);
+            limit = Integer.parseInt(limitParameter);
+        }
+
+        return new PageRequestDTO(after, limit);
+    }
 }
@@ -0,0 +1,229 @@
+package utils.async;
+
+import exceptions.ServiceUnavailableException;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.context.RequestContext;
+import utils.response.ErrorResponse;
+import utils.response.ErrorResponseSender;
+import utils.response.JsonResponsePrinter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Processes requests on virtual threads, so requests waiting on the database don't hold the container's
+ * request threads. The number of requests in flight is bounded and every request has a timeout, both
+ * answered with 503.
+ */
+public class AsyncRequestExecutor {
+
+    /**
+     * Set on a request whose response failed after it was committed, before it is dispatched back to the
+     * container to be aborted.
+     */
+    public static final String ABORTED_ATTRIBUTE = AsyncRequestExecutor.class.getName() + ".aborted";
+
+    private final ExecutorService executor;
+
+    private final Semaphore permits;
+
+    private final long timeoutMillis;
+
+    public AsyncRequestExecutor(int maxInFlight, Duration timeout) {
+        this(maxInFlight, timeout, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    AsyncRequestExecutor(int maxInFlight, Duration timeout, ExecutorService executor) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxInFlight);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public void execute(HttpServletRequest request, HttpServletResponse response, RequestHandler handler)
+            throws IOException {
+
+        if (!permits.tryAcquire()) {
+            sendServiceUnavailable(response, "Too many requests in progress");
+            return;
+        }
+
+        var asyncContext = request.startAsync(request, response);
+
+        asyncContext.setTimeout(timeoutMillis);
+
+        var asyncRequest = new AsyncRequest(asyncContext, handler, RequestContext.current());
+
+        asyncContext.addListener(asyncRequest);
+
+        try {
+            asyncRequest.future = executor.submit(asyncRequest);
+        } catch (RejectedExecutionException ex) {
+            asyncRequest.cancel();
+            asyncRequest.fail(new ServiceUnavailableException("Service is shutting down"));
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void sendServiceUnavailable(HttpServletResponse response, String message) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        JsonResponsePrinter.print(response, new ErrorResponse(response.getStatus(), message));
+    }
+
+    @FunctionalInterface
+    public interface RequestHandler {
+
+        void handle(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException;
+    }
+
+    private class AsyncRequest implements Runnable, AsyncListener {
+
+        private final AsyncContext asyncContext;
+
+        private final RequestHandler handler;
+
+        private final RequestContext requestContext;
+
+        private final DetachableResponse response;
+
+        // The worker and the timeout callback race to complete the response, only the first one may touch it
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        // Claimed by the worker when it starts or by a cancellation that beats it, whichever releases the permit
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private volatile Future<?> future;
+
+        private AsyncRequest(AsyncContext asyncContext, RequestHandler handler, RequestContext requestContext) {
+            this.asyncContext = asyncContext;
+            this.handler = handler;
+            this.requestContext = requestContext;
+            this.response = new DetachableResponse((HttpServletResponse) asyncContext.getResponse());
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+
+            RequestContext.set(requestContext);
+
+            Exception failure = null;
+
+            try {
+                handler.handle((HttpServletRequest) asyncContext.getRequest(), response);
+            } catch (ServletException | IOException | RuntimeException ex) {
+                failure = ex;
+            } finally {
+                RequestContext.clear();
+                permits.release();
+            }
+
+            if (failure == null) {
+                finish();
+            } else {
+                fail(failure);
+            }
+        }
+
+        // Stops the worker, releasing its permit here if it has not started and never will
+        private void cancel() {
+            var runningTask = future;
+
+            if (runningTask != null) {
+                runningTask.cancel(true);
+            }
+
+            if (claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        private void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+
+            response.detach();
+
+            asyncContext.complete();
+        }
+
+        private void fail(Exception ex) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+
+            response.detach();
+
+            var containerResponse = (HttpServletResponse) asyncContext.getResponse();
+
+            if (containerResponse.isCommitted()) {
+                abort(ex);
+                return;
+            }
+
+            try {
+                // What the worker buffered is not sent yet, the error must not be appended to it
+                containerResponse.resetBuffer();
+
+                ErrorResponseSender.send(containerResponse, ex);
+            } catch (IOException | RuntimeException ignored) {
+                // The client is gone, or the worker already took the body through the other channel
+            } finally {
+                asyncContext.complete();
+            }
+        }
+
+        // Completing normally would end a truncated body cleanly. The dispatched servlet rethrows the failure
+        // instead, and the container drops the connection of a committed response that fails
+        private void abort(Exception ex) {
+            try {
+                asyncContext.getRequest().setAttribute(ABORTED_ATTRIBUTE, ex);
+                asyncContext.dispatch();
+            } catch (IllegalStateException e) {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Claim the response before interrupting, otherwise the worker may complete it first without the 503
+            fail(new ServiceUnavailableException("Request timed out"));
+            cancel();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            cancel();
+            finish();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package utils.async;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The response a worker writes to. Once {@link #detach() detached}, the status, headers and body the worker
+ * still produces are dropped, so a worker that outlives its request never touches a completed response.
+ */
+class DetachableResponse extends HttpServletResponseWrapper {
+
+    // Held for every change to the response, so detaching waits for a write in progress to end
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private boolean detached;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    DetachableResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    void detach() {
+        lock.lock();
+
+        try {
+            detached = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new DetachableOutputStream();
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new DetachableWriter());
+        }
+
+        return writer;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        lock.lock();
+
+        try {
+            return detached || super.isCommitted();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        guarded(() -> super.setStatus(sc));
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        guardedIO(() -> super.sendError(sc, msg));
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        guardedIO(() -> super.sendError(sc));
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        guarded(() -> super.setHeader(name, value));
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        guarded(() -> super.addHeader(name, value));
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        guarded(() -> super.setIntHeader(name, value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        guarded(() -> super.addIntHeader(name, value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        guarded(() -> super.setDateHeader(name, date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        guarded(() -> super.addDateHeader(name, date));
+    }
+
+    @Override
+    public void setContentType(String type) {
+        guarded(() -> super.setContentType(type));
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        guarded(() -> super.setCharacterEncoding(charset));
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        guarded(() -> super.setContentLength(len));
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        guarded(() -> super.setContentLengthLong(len));
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        guardedIO(super::flushBuffer);
+    }
+
+    @Override
+    public void reset() {
+        guarded(super::reset);
+    }
+
+    @Override
+    public void resetBuffer() {
+        guarded(super::resetBuffer);
+    }
+
+    private void guarded(Runnable action) {
+        lock.lock();
+
+        try {
+            if (!detached) {
+                action.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void guardedIO(IOAction action) throws IOException {
+        lock.lock();
+
+        try {
+            if (!detached) {
+                action.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+
+        void run() throws IOException;
+    }
+
+    private class DetachableOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            guardedIO(() -> getResponse().getOutputStream().write(b));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            guardedIO(() -> getResponse().getOutputStream().write(b, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            guardedIO(() -> getResponse().getOutputStream().flush());
+        }
+
+        @Override
+        public void close() throws IOException {
+            guardedIO(() -> getResponse().getOutputStream().close());
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported on worker threads");
+        }
+    }
+
+    private class DetachableWriter extends Writer {
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            guardedIO(() -> getResponse().getWriter().write(cbuf, off, len));
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            guardedIO(() -> getResponse().getWriter().write(str, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            guardedIO(() -> getResponse().getWriter().flush());
+        }
+
+        @Override
+        public void close() throws IOException {
+            guardedIO(() -> getResponse().getWriter().close());
+        }
+    }
+}
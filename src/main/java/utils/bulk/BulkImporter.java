@@ -0,0 +1,139 @@
+package utils.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import exceptions.BadRequestException;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streams items from a JSON payload and imports them in chunks, so memory use is bounded by the
+ * chunk size rather than by the payload size. Every chunk is imported independently: invalid items
+ * are reported and skipped while the valid ones are still created.
+ */
+public class BulkImporter<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int chunkSize;
+
+    private final ItemConverter<T> itemConverter;
+    private final ChunkImporter<T> chunkImporter;
+
+    private final List<Long> ids = new ArrayList<>();
+    private final List<BulkItemErrorDTO> errors = new ArrayList<>();
+
+    private List<T> chunk = new ArrayList<>();
+    private List<Integer> chunkIndexes = new ArrayList<>();
+
+    public BulkImporter(int chunkSize, ItemConverter<T> itemConverter, ChunkImporter<T> chunkImporter) {
+        this.chunkSize = chunkSize;
+        this.itemConverter = itemConverter;
+        this.chunkImporter = chunkImporter;
+    }
+
+    public BulkImportResponseDTO importFrom(Reader reader) throws IOException, SQLException {
+        try (var parser = new JsonItemParser(reader)) {
+            var index = 0;
+
+            while (true) {
+                Map<String, String> item;
+
+                try {
+                    item = parser.next();
+                } catch (JsonProcessingException ex) {
+                    errors.add(new BulkItemErrorDTO(index, "Malformed JSON payload"));
+                    break;
+                }
+
+                if (item == null) {
+                    break;
+                }
+
+                ids.add(null);
+
+                try {
+                    chunk.add(itemConverter.convert(item));
+                    chunkIndexes.add(index);
+                } catch (BadRequestException ex) {
+                    errors.add(new BulkItemErrorDTO(index, ex.getMessage()));
+                }
+
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    importChunk();
+                }
+            }
+        }
+
+        importChunk();
+
+        if (ids.isEmpty() && errors.isEmpty()) {
+            throw new BadRequestException("No items to import");
+        }
+
+        errors.sort(Comparator.comparingInt(BulkItemErrorDTO::getIndex));
+
+        return new BulkImportResponseDTO(ids, errors);
+    }
+
+    private void importChunk() throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        var result = chunkImporter.importChunk(chunk);
+
+        for (int i = 0; i < chunkIndexes.size(); i++) {
+            ids.set(chunkIndexes.get(i), result.getIds().get(i));
+        }
+
+        for (var error : result.getErrors()) {
+            errors.add(new BulkItemErrorDTO(chunkIndexes.get(error.getIndex()), error.getMessage()));
+        }
+
+        // The chunk may still be referenced by the chunk importer, so it is replaced rather than cleared
+        chunk = new ArrayList<>();
+        chunkIndexes = new ArrayList<>();
+    }
+
+    /**
+     * 201 when every item was created, 200 on partial success and 400 when nothing was created.
+     */
+    public static int getResponseStatus(BulkImportResponseDTO bulkImportResponseDTO) {
+        if (bulkImportResponseDTO.getErrors().isEmpty()) {
+            return HttpServletResponse.SC_CREATED;
+        }
+
+        var anyCreated = bulkImportResponseDTO.getIds().stream()
+                .anyMatch(Objects::nonNull);
+
+        return anyCreated ? HttpServletResponse.SC_OK : HttpServletResponse.SC_BAD_REQUEST;
+    }
+
+    @FunctionalInterface
+    public interface ItemConverter<T> {
+
+        T convert(Map<String, String> item);
+    }
+
+    @FunctionalInterface
+    public interface ChunkImporter<T> {
+
+        /**
+         * Returns the created ids aligned with the chunk (null for rejected items) together with
+         * the errors, indexed within the chunk.
+         */
+        BulkImportResponseDTO importChunk(List<T> chunk) throws SQLException;
+    }
+}
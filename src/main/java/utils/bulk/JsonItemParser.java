@@ -0,0 +1,75 @@
+package utils.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads flat JSON objects one at a time from a JSON array or from newline-delimited JSON,
+ * without materializing the whole payload. Nested values are skipped.
+ */
+public class JsonItemParser implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+
+    private boolean started;
+    private boolean array;
+
+    public JsonItemParser(Reader reader) throws IOException {
+        parser = JSON_FACTORY.createParser(reader);
+    }
+
+    /**
+     * Returns the scalar fields of the next object as text, or null when the payload is exhausted.
+     */
+    public Map<String, String> next() throws IOException {
+        var token = parser.nextToken();
+
+        if (!started) {
+            started = true;
+
+            if (token == JsonToken.START_ARRAY) {
+                array = true;
+                token = parser.nextToken();
+            }
+        }
+
+        if (token == null || array && token == JsonToken.END_ARRAY) {
+            return null;
+        }
+
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object");
+        }
+
+        var fields = new HashMap<String, String>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var fieldName = parser.currentName();
+
+            token = parser.nextToken();
+
+            if (token.isScalarValue()) {
+                fields.put(fieldName, token == JsonToken.VALUE_NULL ? null : parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,9 @@
+package utils.cache;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface CacheLoader<K, V> {
+
+    V load(K key) throws SQLException;
+}
@@ -0,0 +1,44 @@
+package utils.cache;
+
+import entities.Author;
+import entities.Book;
+import entities.Reader;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class EntityCaches {
+
+    private final LruCache<Long, Book> books;
+    private final LruCache<Long, Author> authors;
+    private final LruCache<Long, Reader> readers;
+
+    public EntityCaches(int maxSize, Duration ttl) {
+        books = new LruCache<>(maxSize, ttl);
+        authors = new LruCache<>(maxSize, ttl);
+        readers = new LruCache<>(maxSize, ttl);
+    }
+
+    public LruCache<Long, Book> getBooks() {
+        return books;
+    }
+
+    public LruCache<Long, Author> getAuthors() {
+        return authors;
+    }
+
+    public LruCache<Long, Reader> getReaders() {
+        return readers;
+    }
+
+    public Map<String, CacheStats> getStats() {
+        var stats = new LinkedHashMap<String, CacheStats>();
+
+        stats.put("books", books.getStats());
+        stats.put("authors", authors.getStats());
+        stats.put("readers", readers.getStats());
+
+        return stats;
+    }
+}
@@ -0,0 +1,121 @@
+package utils.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded read-through cache with least-recently-used eviction and a time-to-live per entry.
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LongSupplier ticker;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Incremented on every invalidation, so a value loaded concurrently with an invalidation
+     * is not stored over it.
+     */
+    private long generation;
+
+    public LruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    LruCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, CacheLoader<K, V> loader) throws SQLException {
+        long loadGeneration;
+
+        synchronized (this) {
+            var entry = entries.get(key);
+
+            if (entry != null) {
+                if (ticker.getAsLong() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+
+                entries.remove(key);
+            }
+
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        var value = loader.load(key);
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, ticker.getAsLong()));
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns a live entry without loading on a miss. Not counted in the stats.
+     */
+    public synchronized V getIfPresent(K key) {
+        var entry = entries.get(key);
+
+        if (entry == null || ticker.getAsLong() - entry.loadedAt >= ttlNanos) {
+            return null;
+        }
+
+        return entry.value;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package utils.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Holds back the first minSize bytes of the body. A body that ends within them goes out as it is,
+ * anything longer is compressed as it is written, so the full body is never buffered.
+ */
+class CompressingOutputStream extends ServletOutputStream {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final HttpServletResponse response;
+    private final ContentEncoding encoding;
+    private final DeflaterPool deflaterPool;
+
+    private final byte[] pending;
+    private int pendingCount;
+
+    private final byte[] deflated = new byte[8192];
+
+    private final CRC32 crc = new CRC32();
+
+    private ServletOutputStream target;
+    private Deflater deflater;
+
+    private boolean closed;
+
+    CompressingOutputStream(HttpServletResponse response, ContentEncoding encoding, DeflaterPool deflaterPool,
+                            int minSize) {
+
+        this.response = response;
+        this.encoding = encoding;
+        this.deflaterPool = deflaterPool;
+        this.pending = new byte[minSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+
+        if (deflater == null) {
+            if (pendingCount + len <= pending.length) {
+                System.arraycopy(b, off, pending, pendingCount, len);
+                pendingCount += len;
+                return;
+            }
+
+            startCompression();
+            compress(pending, 0, pendingCount);
+            pendingCount = 0;
+        }
+
+        compress(b, off, len);
+    }
+
+    /**
+     * Flushes what has been compressed so far. Below the threshold there is nothing to send yet.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (deflater == null || closed) {
+            return;
+        }
+
+        int length;
+
+        do {
+            length = deflater.deflate(deflated, 0, deflated.length, Deflater.SYNC_FLUSH);
+            target.write(deflated, 0, length);
+        } while (length == deflated.length);
+
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (deflater == null) {
+            target = response.getOutputStream();
+            target.write(pending, 0, pendingCount);
+            target.close();
+            return;
+        }
+
+        try {
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                var length = deflater.deflate(deflated);
+                target.write(deflated, 0, length);
+            }
+
+            if (encoding == ContentEncoding.GZIP) {
+                writeIntLE((int) crc.getValue());
+                writeIntLE((int) deflater.getBytesRead());
+            }
+        } finally {
+            deflaterPool.release(deflater, encoding == ContentEncoding.GZIP);
+            deflater = null;
+        }
+
+        target.close();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Drops everything written so far after the response has been reset.
+     */
+    void discard() {
+        if (deflater != null) {
+            deflaterPool.release(deflater, encoding == ContentEncoding.GZIP);
+            deflater = null;
+        }
+
+        pendingCount = 0;
+        crc.reset();
+        closed = false;
+    }
+
+    @Override
+    public boolean isReady() {
+        try {
+            return response.getOutputStream().isReady();
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        try {
+            response.getOutputStream().setWriteListener(writeListener);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void startCompression() throws IOException {
+        response.setHeader("Content-Encoding", encoding.getToken());
+        response.setContentLengthLong(-1);
+
+        target = response.getOutputStream();
+        deflater = deflaterPool.borrow(encoding == ContentEncoding.GZIP);
+
+        if (encoding == ContentEncoding.GZIP) {
+            target.write(GZIP_HEADER);
+        }
+    }
+
+    private void compress(byte[] b, int off, int len) throws IOException {
+        if (encoding == ContentEncoding.GZIP) {
+            crc.update(b, off, len);
+        }
+
+        deflater.setInput(b, off, len);
+
+        while (!deflater.needsInput()) {
+            var length = deflater.deflate(deflated);
+            target.write(deflated, 0, length);
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        target.write(value & 0xff);
+        target.write((value >> 8) & 0xff);
+        target.write((value >> 16) & 0xff);
+        target.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,109 @@
+package utils.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Compresses the body written through it. The body is complete once the servlet closes its stream or writer,
+ * or when {@link #finish()} is called.
+ */
+public class CompressingResponse extends HttpServletResponseWrapper {
+
+    private final ContentEncoding encoding;
+    private final DeflaterPool deflaterPool;
+    private final int minSize;
+
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+
+    public CompressingResponse(HttpServletResponse response, ContentEncoding encoding, DeflaterPool deflaterPool,
+                               int minSize) {
+
+        super(response);
+        this.encoding = encoding;
+        this.deflaterPool = deflaterPool;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+
+        return getCompressingOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            var charset = Charset.forName(getCharacterEncoding());
+
+            writer = new PrintWriter(new OutputStreamWriter(getCompressingOutputStream(), charset));
+        }
+
+        return writer;
+    }
+
+    // The length of the compressed body is not known up front
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        discardBody();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        setHeader("Content-Encoding", null);
+        discardBody();
+    }
+
+    public void finish() throws IOException {
+        if (writer != null) {
+            writer.close();
+        } else if (outputStream != null) {
+            outputStream.close();
+        }
+    }
+
+    private CompressingOutputStream getCompressingOutputStream() {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream((HttpServletResponse) getResponse(), encoding, deflaterPool,
+                    minSize);
+        }
+
+        return outputStream;
+    }
+
+    private void discardBody() {
+        if (outputStream != null) {
+            outputStream.discard();
+        }
+
+        writer = null;
+    }
+}
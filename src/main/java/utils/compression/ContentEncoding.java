@@ -0,0 +1,79 @@
+package utils.compression;
+
+/**
+ * Content codings the compression filter can produce.
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Picks the coding with the highest quality in an Accept-Encoding header, gzip on a tie.
+     *
+     * @return null when the client accepts neither
+     */
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+
+        var gzipQuality = -1.0;
+        var deflateQuality = -1.0;
+        var wildcardQuality = -1.0;
+
+        for (var part : acceptEncoding.split(",")) {
+            var separator = part.indexOf(';');
+            var coding = (separator < 0 ? part : part.substring(0, separator)).strip();
+            var quality = separator < 0 ? 1.0 : parseQuality(part.substring(separator + 1));
+
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equalsIgnoreCase("deflate")) {
+                deflateQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+
+        if (gzipQuality < 0) {
+            gzipQuality = wildcardQuality;
+        }
+
+        if (deflateQuality < 0) {
+            deflateQuality = wildcardQuality;
+        }
+
+        if (gzipQuality <= 0 && deflateQuality <= 0) {
+            return null;
+        }
+
+        return gzipQuality >= deflateQuality ? GZIP : DEFLATE;
+    }
+
+    private static double parseQuality(String parameters) {
+        for (var parameter : parameters.split(";")) {
+            var stripped = parameter.strip();
+
+            if (stripped.startsWith("q=") || stripped.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(stripped.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+
+        return 1.0;
+    }
+}
@@ -0,0 +1,40 @@
+package utils.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Reuses deflaters across responses. A Deflater holds a native zlib stream of a few hundred kilobytes,
+ * which is expensive to allocate per response and only freed once the GC gets to it.
+ */
+public class DeflaterPool {
+
+    private final int level;
+
+    private final BlockingQueue<Deflater> rawDeflaters;
+    private final BlockingQueue<Deflater> zlibDeflaters;
+
+    public DeflaterPool(int level, int maxIdle) {
+        this.level = level;
+        this.rawDeflaters = new ArrayBlockingQueue<>(maxIdle);
+        this.zlibDeflaters = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * @param raw without the zlib header and trailer, as wrapped by gzip
+     */
+    public Deflater borrow(boolean raw) {
+        var deflater = (raw ? rawDeflaters : zlibDeflaters).poll();
+
+        return deflater != null ? deflater : new Deflater(level, raw);
+    }
+
+    public void release(Deflater deflater, boolean raw) {
+        deflater.reset();
+
+        if (!(raw ? rawDeflaters : zlibDeflaters).offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
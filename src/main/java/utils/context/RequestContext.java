@@ -0,0 +1,87 @@
+package utils.context;
+
+import utils.tracing.QueryTrace;
+
+import java.sql.SQLException;
+
+/**
+ * Per-request state that lower layers need but that isn't part of their arguments. It is bound to the thread
+ * processing the request and has to be handed over when the processing moves to another thread.
+ */
+public class RequestContext {
+
+    private static final ThreadLocal<RequestContext> CURRENT = ThreadLocal.withInitial(RequestContext::new);
+
+    private boolean primaryReads;
+
+    private boolean prettyPrint;
+
+    private QueryTrace queryTrace;
+
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    public static void set(RequestContext requestContext) {
+        CURRENT.set(requestContext);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs the callback with reads going to the primary, e.g. to fill a cache that outlives replication lag.
+     */
+    public static <T> T withPrimaryReads(PrimaryReadCallback<T> callback) throws SQLException {
+        var requestContext = current();
+        var previous = requestContext.primaryReads;
+
+        requestContext.primaryReads = true;
+
+        try {
+            return callback.call();
+        } finally {
+            requestContext.primaryReads = previous;
+        }
+    }
+
+    /**
+     * Whether reads must see this client's own recent writes, which replicas may not have applied yet.
+     */
+    public boolean isPrimaryReads() {
+        return primaryReads;
+    }
+
+    public void setPrimaryReads(boolean primaryReads) {
+        this.primaryReads = primaryReads;
+    }
+
+    /**
+     * Whether JSON responses are indented, requested with ?pretty=true.
+     */
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
+    /**
+     * The statements executed for this request so far, null when tracing is disabled.
+     */
+    public QueryTrace getQueryTrace() {
+        return queryTrace;
+    }
+
+    public void setQueryTrace(QueryTrace queryTrace) {
+        this.queryTrace = queryTrace;
+    }
+
+    @FunctionalInterface
+    public interface PrimaryReadCallback<T> {
+
+        T call() throws SQLException;
+    }
+}
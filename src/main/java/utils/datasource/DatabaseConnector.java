@@ -1,47 +1,116 @@
 package utils.datasource;
 
+import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.PropertyElf;
+import utils.PropertiesLoader;
 
 import javax.sql.DataSource;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.sql.SQLException;
-import java.util.Objects;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class DatabaseConnector {
 
-    private static final HikariDataSource DATA_SOURCE;
+    private static final String HIKARI_PREFIX = "hikari.";
+
+    private static final DataSource DATA_SOURCE;
+
+    // One per pool, primary first
+    private static final List<PoolMetrics> POOL_METRICS = new ArrayList<>();
 
     static {
-        var properties = getDatabaseProperties();
+        var properties = PropertiesLoader.load("/db.properties", "DB_", getHikariPropertyKeys());
+
+        var primary = metered(createDataSource(properties));
+
+        var replicas = createReplicaDataSources(properties);
 
-        DATA_SOURCE = new HikariDataSource();
+        if (replicas.isEmpty()) {
+            DATA_SOURCE = primary;
+        } else {
+            var ejection = Duration.ofSeconds(Long.parseLong(properties.getProperty("replica.ejection-seconds")));
 
-        DATA_SOURCE.setDriverClassName(properties.getProperty("driver"));
-        DATA_SOURCE.setJdbcUrl(properties.getProperty("url"));
-        DATA_SOURCE.setUsername(properties.getProperty("username"));
-        DATA_SOURCE.setPassword(properties.getProperty("password"));
+            DATA_SOURCE = new RoutingDataSource(primary, replicas, ejection);
+        }
     }
 
     private DatabaseConnector() {
     }
 
-    private static Properties getDatabaseProperties() {
-        var properties = new Properties();
+    /**
+     * Creates a pool from properties laid out like db.properties. The pool starts on the first connection request.
+     */
+    public static HikariDataSource createDataSource(Properties properties) {
+        var dataSource = new HikariDataSource();
 
-        try (var reader = new InputStreamReader(Objects.requireNonNull(
-                DatabaseConnector.class.getResourceAsStream("/db.properties")))) {
+        dataSource.setDriverClassName(properties.getProperty("driver"));
+        dataSource.setJdbcUrl(properties.getProperty("url"));
+        dataSource.setUsername(properties.getProperty("username"));
+        dataSource.setPassword(properties.getProperty("password"));
 
-            properties.load(reader);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        // Pool settings by their Hikari names, driver properties as hikari.dataSource.<name>
+        PropertyElf.setTargetFromProperties(dataSource, getHikariProperties(properties));
 
-        return properties;
+        return dataSource;
     }
 
     public static DataSource getDataSource() {
         return DATA_SOURCE;
     }
+
+    public static List<PoolMetrics> getPoolMetrics() {
+        return List.copyOf(POOL_METRICS);
+    }
+
+    private static HikariDataSource metered(HikariDataSource dataSource) {
+        var poolMetrics = new PoolMetrics();
+
+        dataSource.setMetricsTrackerFactory(poolMetrics);
+
+        POOL_METRICS.add(poolMetrics);
+
+        return dataSource;
+    }
+
+    // Every Hikari setting can come from the environment, not only the ones db.properties sets
+    private static List<String> getHikariPropertyKeys() {
+        return PropertyElf.getPropertyNames(HikariConfig.class).stream()
+                .map(name -> HIKARI_PREFIX + name)
+                .toList();
+    }
+
+    private static List<DataSource> createReplicaDataSources(Properties properties) {
+        var replicas = new ArrayList<DataSource>();
+
+        for (var url : properties.getProperty("replica.urls", "").split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+
+            var replicaProperties = new Properties();
+
+            replicaProperties.putAll(properties);
+            replicaProperties.setProperty("url", url.strip());
+            replicaProperties.setProperty(HIKARI_PREFIX + "poolName",
+                    properties.getProperty(HIKARI_PREFIX + "poolName", "pool") + "-replica-" + (replicas.size() + 1));
+
+            replicas.add(metered(createDataSource(replicaProperties)));
+        }
+
+        return replicas;
+    }
+
+    private static Properties getHikariProperties(Properties properties) {
+        var hikariProperties = new Properties();
+
+        for (var key : properties.stringPropertyNames()) {
+            if (key.startsWith(HIKARI_PREFIX)) {
+                hikariProperties.setProperty(key.substring(HIKARI_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+
+        return hikariProperties;
+    }
 }
@@ -0,0 +1,250 @@
+package utils.datasource;
+
+import utils.metrics.MetricsRegistry;
+import utils.tracing.QueryTracer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every statement executed on its connections and counts the rows it read or changed, so all DAOs
+ * are covered without instrumenting each of them. How long each connection is held is recorded as well,
+ * and everything is passed on to the {@link QueryTracer} when there is one. Statements are labelled with
+ * their verb and main table, e.g. "select books", which keeps the number of series bounded. Query time
+ * covers execution up to the first rows, the rows read afterwards are only counted.
+ */
+public class MeteredDataSource extends DelegatingDataSource implements ReadWriteDataSource {
+
+    private static final int MAX_CACHED_LABELS = 1000;
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final QueryTracer queryTracer;
+
+    // Most statements are constant strings, labelling each of them once is enough
+    private final Map<String, String> labels = new ConcurrentHashMap<>();
+
+    public MeteredDataSource(DataSource target, MetricsRegistry metricsRegistry) {
+        this(target, metricsRegistry, null);
+    }
+
+    public MeteredDataSource(DataSource target, MetricsRegistry metricsRegistry, QueryTracer queryTracer) {
+        super(target);
+        this.metricsRegistry = metricsRegistry;
+        this.queryTracer = queryTracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return meter(target.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return meter(target.getConnection(username, password));
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return meter(ReadWriteDataSource.getReadConnection(target));
+    }
+
+    private Connection meter(Connection connection) {
+        var acquired = System.nanoTime();
+        var released = new AtomicBoolean();
+
+        return proxy(Connection.class, connection, (method, args, result) -> switch (method.getName()) {
+            case "prepareStatement", "prepareCall" -> meter((Statement) result, (String) args[0]);
+            case "createStatement" -> meter((Statement) result, null);
+            case "close" -> {
+                if (released.compareAndSet(false, true)) {
+                    recordConnectionHold(System.nanoTime() - acquired);
+                }
+
+                yield result;
+            }
+            default -> result;
+        });
+    }
+
+    private void recordConnectionHold(long nanos) {
+        metricsRegistry.recordConnectionHold(nanos);
+
+        if (queryTracer != null) {
+            queryTracer.onConnectionReleased(nanos);
+        }
+    }
+
+    // A plain statement gets its SQL with every execute call
+    private Object meter(Statement statement, String preparedSql) {
+        var statementType = statement instanceof CallableStatement
+                ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+
+        return Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+
+                    var sql = preparedSql != null ? preparedSql
+                            : args != null && args[0] instanceof String executedSql ? executedSql : "";
+
+                    var statementLabel = label(sql);
+
+                    if (queryTracer != null) {
+                        queryTracer.beforeStatement();
+                    }
+
+                    var start = System.nanoTime();
+
+                    try {
+                        var result = invoke(statement, method, args);
+
+                        return countRows(statementLabel, result);
+                    } finally {
+                        recordStatement(sql, statementLabel, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private void recordStatement(String sql, String statementLabel, long nanos) {
+        metricsRegistry.recordStatement(statementLabel, nanos);
+
+        if (queryTracer != null) {
+            queryTracer.onStatement(sql, nanos);
+        }
+    }
+
+    private void addRows(String statementLabel, long rows) {
+        metricsRegistry.addRows(statementLabel, rows);
+
+        if (queryTracer != null) {
+            queryTracer.onRows(rows);
+        }
+    }
+
+    private Object countRows(String statementLabel, Object result) {
+        switch (result) {
+            case ResultSet resultSet -> {
+                return proxy(ResultSet.class, resultSet, new RowCounter(statementLabel));
+            }
+            case Integer rows -> addRows(statementLabel, rows);
+            case Long rows -> addRows(statementLabel, rows);
+            case int[] batchRows -> {
+                var rows = 0L;
+
+                for (var batchRow : batchRows) {
+                    rows += Math.max(batchRow, 0);
+                }
+
+                addRows(statementLabel, rows);
+            }
+            case null, default -> {
+            }
+        }
+
+        return result;
+    }
+
+    private String label(String sql) {
+        var label = labels.get(sql);
+
+        if (label == null) {
+            label = createLabel(sql);
+
+            if (labels.size() < MAX_CACHED_LABELS) {
+                labels.put(sql, label);
+            }
+        }
+
+        return label;
+    }
+
+    static String createLabel(String sql) {
+        var words = sql.trim().toLowerCase(Locale.ROOT).split("[^a-z0-9_]+");
+
+        if (words.length == 0 || words[0].isEmpty()) {
+            return "other";
+        }
+
+        var verb = words[0];
+
+        if (verb.equals("update") && words.length > 1) {
+            return verb + " " + words[1];
+        }
+
+        for (int i = 0; i < words.length - 1; i++) {
+            if ((words[i].equals("from") || words[i].equals("into")) && !words[i + 1].equals("select")) {
+                return verb + " " + words[i + 1];
+            }
+        }
+
+        return verb;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        return (T) Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args, invoke(target, method, args)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+
+        Object handle(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    // Rows are counted here and recorded once the result set is closed, reading a row stays a field increment
+    private class RowCounter implements ResultHandler {
+
+        private final String statementLabel;
+
+        private long rows;
+
+        private RowCounter(String statementLabel) {
+            this.statementLabel = statementLabel;
+        }
+
+        @Override
+        public Object handle(Method method, Object[] args, Object result) {
+            switch (method.getName()) {
+                case "next" -> {
+                    if ((Boolean) result) {
+                        rows++;
+                    }
+                }
+                case "close" -> {
+                    if (rows > 0) {
+                        addRows(statementLabel, rows);
+                        rows = 0;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            return result;
+        }
+    }
+}
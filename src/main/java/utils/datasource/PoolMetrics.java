@@ -0,0 +1,85 @@
+package utils.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import utils.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the connection pool metrics reported by Hikari for a single pool.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+    private final LatencyHistogram connectionUsage = new LatencyHistogram();
+    private final LatencyHistogram connectionCreation = new LatencyHistogram();
+
+    private final LongAdder connectionTimeouts = new LongAdder();
+
+    private volatile String poolName;
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+
+        return new IMetricsTracker() {
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionCreation.recordMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                connectionAcquire.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                connectionUsage.recordMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                connectionTimeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Returns the snapshots of the pools that have started.
+     */
+    public static List<PoolSnapshot> getSnapshots(List<PoolMetrics> poolMetricsList) {
+        var snapshots = new ArrayList<PoolSnapshot>(poolMetricsList.size());
+
+        for (var poolMetrics : poolMetricsList) {
+            var snapshot = poolMetrics.getSnapshot();
+
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * Returns null until the pool has started.
+     */
+    public PoolSnapshot getSnapshot() {
+        var stats = poolStats;
+
+        if (stats == null) {
+            return null;
+        }
+
+        return new PoolSnapshot(poolName, stats, connectionTimeouts.sum(),
+                connectionAcquire.getSnapshot(), connectionUsage.getSnapshot(), connectionCreation.getSnapshot());
+    }
+}
@@ -0,0 +1,85 @@
+package utils.datasource;
+
+import com.zaxxer.hikari.metrics.PoolStats;
+import utils.metrics.HistogramSnapshot;
+
+public class PoolSnapshot {
+
+    private final String poolName;
+
+    private final int totalConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int pendingThreads;
+
+    private final int minConnections;
+    private final int maxConnections;
+
+    private final long connectionTimeouts;
+
+    private final HistogramSnapshot connectionAcquire;
+    private final HistogramSnapshot connectionUsage;
+    private final HistogramSnapshot connectionCreation;
+
+    public PoolSnapshot(String poolName, PoolStats poolStats, long connectionTimeouts,
+                        HistogramSnapshot connectionAcquire,
+                        HistogramSnapshot connectionUsage,
+                        HistogramSnapshot connectionCreation) {
+
+        this.poolName = poolName;
+        this.totalConnections = poolStats.getTotalConnections();
+        this.activeConnections = poolStats.getActiveConnections();
+        this.idleConnections = poolStats.getIdleConnections();
+        this.pendingThreads = poolStats.getPendingThreads();
+        this.minConnections = poolStats.getMinConnections();
+        this.maxConnections = poolStats.getMaxConnections();
+        this.connectionTimeouts = connectionTimeouts;
+        this.connectionAcquire = connectionAcquire;
+        this.connectionUsage = connectionUsage;
+        this.connectionCreation = connectionCreation;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+
+    public int getMinConnections() {
+        return minConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getConnectionTimeouts() {
+        return connectionTimeouts;
+    }
+
+    public HistogramSnapshot getConnectionAcquire() {
+        return connectionAcquire;
+    }
+
+    public HistogramSnapshot getConnectionUsage() {
+        return connectionUsage;
+    }
+
+    public HistogramSnapshot getConnectionCreation() {
+        return connectionCreation;
+    }
+}
@@ -0,0 +1,22 @@
+package utils.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A data source that can serve read-only work from somewhere other than the primary, e.g. a replica.
+ */
+public interface ReadWriteDataSource extends DataSource {
+
+    /**
+     * Returns a connection for queries that tolerate replication lag.
+     */
+    Connection getReadConnection() throws SQLException;
+
+    static Connection getReadConnection(DataSource dataSource) throws SQLException {
+        return dataSource instanceof ReadWriteDataSource readWriteDataSource
+                ? readWriteDataSource.getReadConnection()
+                : dataSource.getConnection();
+    }
+}
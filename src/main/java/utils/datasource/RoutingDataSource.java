@@ -0,0 +1,81 @@
+package utils.datasource;
+
+import utils.context.RequestContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends writes to the primary and spreads reads over the replicas round-robin. A replica that fails to hand out
+ * a connection is ejected for a while, and reads fall back to the primary when no replica is left. Reads that
+ * must see the client's own writes go to the primary as well, see {@link RequestContext#isPrimaryReads()}.
+ */
+public class RoutingDataSource extends DelegatingDataSource implements ReadWriteDataSource {
+
+    private final List<Replica> replicas;
+
+    private final long ejectionNanos;
+
+    private final LongSupplier ticker;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public RoutingDataSource(DataSource primary, List<DataSource> replicas, Duration ejection) {
+        this(primary, replicas, ejection, System::nanoTime);
+    }
+
+    RoutingDataSource(DataSource primary, List<DataSource> replicas, Duration ejection, LongSupplier ticker) {
+        super(primary);
+        this.replicas = replicas.stream()
+                .map(Replica::new)
+                .toList();
+        this.ejectionNanos = ejection.toNanos();
+        this.ticker = ticker;
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        if (replicas.isEmpty() || RequestContext.current().isPrimaryReads()) {
+            return target.getConnection();
+        }
+
+        var now = ticker.getAsLong();
+        var first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((first + i) % replicas.size());
+
+            if (replica.isEjected(now)) {
+                continue;
+            }
+
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                replica.ejectedUntil = now + ejectionNanos;
+            }
+        }
+
+        return target.getConnection();
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+
+        private volatile long ejectedUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isEjected(long now) {
+            return ejectedUntil != 0 && now - ejectedUntil < 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package utils.datasource;
+
+import java.sql.SQLException;
+
+/**
+ * Runs a unit of work on a single connection with a single commit. A unit of work started
+ * inside another one joins it.
+ */
+public class TransactionManager {
+
+    private final TransactionalDataSource dataSource;
+
+    public TransactionManager(TransactionalDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        if (dataSource.isInTransaction()) {
+            return callback.execute();
+        }
+
+        var transaction = dataSource.begin();
+
+        try {
+            var result = callback.execute();
+
+            transaction.commit();
+
+            return result;
+
+        } catch (Throwable ex) {
+            try {
+                transaction.rollback();
+            } catch (SQLException rollbackException) {
+                ex.addSuppressed(rollbackException);
+            }
+
+            throw ex;
+
+        } finally {
+            dataSource.end(transaction);
+        }
+    }
+
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+
+        T execute() throws SQLException;
+    }
+}
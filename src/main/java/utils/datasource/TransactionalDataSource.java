@@ -0,0 +1,154 @@
+package utils.datasource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out the connection of the transaction started on the current thread by {@link TransactionManager},
+ * so DAOs called inside it share one connection and one commit. Outside a transaction it behaves like the
+ * wrapped data source.
+ */
+public class TransactionalDataSource extends DelegatingDataSource implements ReadWriteDataSource {
+
+    private final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
+
+    public TransactionalDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var transaction = currentTransaction.get();
+
+        return transaction == null ? target.getConnection() : transaction.sharedConnection;
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        var transaction = currentTransaction.get();
+
+        return transaction == null ? ReadWriteDataSource.getReadConnection(target) : transaction.sharedConnection;
+    }
+
+    /**
+     * Runs the action once the current transaction is committed or rolled back, or right away when there is none.
+     */
+    public void afterCompletion(Runnable action) {
+        var transaction = currentTransaction.get();
+
+        if (transaction == null) {
+            action.run();
+        } else {
+            transaction.afterCompletionActions.add(action);
+        }
+    }
+
+    /**
+     * Runs the action once the current transaction is committed, or right away when there is none.
+     * A rolled back transaction drops it.
+     */
+    public void afterCommit(Runnable action) {
+        var transaction = currentTransaction.get();
+
+        if (transaction == null) {
+            action.run();
+        } else {
+            transaction.afterCommitActions.add(action);
+        }
+    }
+
+    /**
+     * Defers the action like {@link #afterCommit(Runnable)} when the data source is transactional.
+     */
+    public static void afterCommit(DataSource dataSource, Runnable action) {
+        if (dataSource instanceof TransactionalDataSource transactionalDataSource) {
+            transactionalDataSource.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+
+    boolean isInTransaction() {
+        return currentTransaction.get() != null;
+    }
+
+    Transaction begin() throws SQLException {
+        var connection = target.getConnection();
+
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+
+        var transaction = new Transaction(connection);
+
+        currentTransaction.set(transaction);
+
+        return transaction;
+    }
+
+    void end(Transaction transaction) throws SQLException {
+        currentTransaction.remove();
+
+        try (var connection = transaction.connection) {
+            connection.setAutoCommit(true);
+        } finally {
+            if (transaction.committed) {
+                for (var action : transaction.afterCommitActions) {
+                    action.run();
+                }
+            }
+
+            for (var action : transaction.afterCompletionActions) {
+                action.run();
+            }
+        }
+    }
+
+    static class Transaction {
+
+        private final Connection connection;
+
+        // DAOs close their connection and manage autocommit themselves, which must not end the shared transaction
+        private final Connection sharedConnection;
+
+        private final List<Runnable> afterCommitActions = new ArrayList<>();
+
+        private final List<Runnable> afterCompletionActions = new ArrayList<>();
+
+        private boolean committed;
+
+        private Transaction(Connection connection) {
+            this.connection = connection;
+            this.sharedConnection = (Connection) Proxy.newProxyInstance(
+                    TransactionalDataSource.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "close", "commit", "rollback", "setAutoCommit" -> null;
+                        default -> {
+                            try {
+                                yield method.invoke(connection, args);
+                            } catch (InvocationTargetException ex) {
+                                throw ex.getCause();
+                            }
+                        }
+                    });
+        }
+
+        void commit() throws SQLException {
+            connection.commit();
+            committed = true;
+        }
+
+        void rollback() throws SQLException {
+            connection.rollback();
+        }
+    }
+}
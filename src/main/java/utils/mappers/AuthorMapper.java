@@ -1,5 +1,6 @@
 package utils.mappers;
 
+import dto.PageResponseDTO;
 import dto.author.AuthorResponseDTO;
 import dto.author.CreateAuthorResponseDTO;
 import entities.Author;
@@ -18,4 +19,10 @@ public interface AuthorMapper {
     CreateAuthorResponseDTO toCreateResponseDTO(Author author);
 
     List<AuthorResponseDTO> toResponseDTOList(List<Author> authors);
+
+    default PageResponseDTO<AuthorResponseDTO> toPageResponseDTO(List<Author> authors, int limit) {
+        var next = authors.size() < limit ? null : authors.getLast().getId();
+
+        return new PageResponseDTO<>(toResponseDTOList(authors), next);
+    }
 }
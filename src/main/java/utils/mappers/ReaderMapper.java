@@ -1,5 +1,6 @@
 package utils.mappers;
 
+import dto.PageResponseDTO;
 import dto.reader.CreateReaderResponseDTO;
 import dto.reader.ReaderResponseDTO;
 import entities.Reader;
@@ -18,4 +19,10 @@ public interface ReaderMapper {
     CreateReaderResponseDTO toCreateResponseDTO(Reader reader);
 
     List<ReaderResponseDTO> toResponseDTOList(List<Reader> readers);
+
+    default PageResponseDTO<ReaderResponseDTO> toPageResponseDTO(List<Reader> readers, int limit) {
+        var next = readers.size() < limit ? null : readers.getLast().getId();
+
+        return new PageResponseDTO<>(toResponseDTOList(readers), next);
+    }
 }
@@ -0,0 +1,41 @@
+package utils.metrics;
+
+import java.util.Map;
+
+public class HistogramSnapshot {
+
+    private final long count;
+
+    private final double sumMillis;
+    private final double maxMillis;
+
+    // Cumulative counts keyed by the bucket's upper bound in milliseconds
+    private final Map<String, Long> buckets;
+
+    public HistogramSnapshot(long count, double sumMillis, double maxMillis, Map<String, Long> buckets) {
+        this.count = count;
+        this.sumMillis = sumMillis;
+        this.maxMillis = maxMillis;
+        this.buckets = buckets;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSumMillis() {
+        return sumMillis;
+    }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : sumMillis / count;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public Map<String, Long> getBuckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,37 @@
+package utils.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A striped counter per combination of label values, created on first use.
+ */
+public class LabeledCounters {
+
+    private final List<String> labelNames;
+
+    private final Map<List<String>, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public LabeledCounters(String... labelNames) {
+        this.labelNames = List.of(labelNames);
+    }
+
+    public void add(long value, String... labelValues) {
+        counters.computeIfAbsent(List.of(labelValues), key -> new LongAdder()).add(value);
+    }
+
+    public List<String> getLabelNames() {
+        return labelNames;
+    }
+
+    public Map<List<String>, Long> getValues() {
+        var values = new LinkedHashMap<List<String>, Long>();
+
+        counters.forEach((labelValues, counter) -> values.put(labelValues, counter.sum()));
+
+        return values;
+    }
+}
@@ -0,0 +1,36 @@
+package utils.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link LatencyHistogram} per combination of label values, created on first use.
+ */
+public class LabeledHistograms {
+
+    private final List<String> labelNames;
+
+    private final Map<List<String>, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public LabeledHistograms(String... labelNames) {
+        this.labelNames = List.of(labelNames);
+    }
+
+    public void record(long nanos, String... labelValues) {
+        histograms.computeIfAbsent(List.of(labelValues), key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public List<String> getLabelNames() {
+        return labelNames;
+    }
+
+    public Map<List<String>, HistogramSnapshot> getSnapshots() {
+        var snapshots = new LinkedHashMap<List<String>, HistogramSnapshot>();
+
+        histograms.forEach((labelValues, histogram) -> snapshots.put(labelValues, histogram.getSnapshot()));
+
+        return snapshots;
+    }
+}
@@ -0,0 +1,69 @@
+package utils.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed buckets, cheap enough to record on every call.
+ */
+public class LatencyHistogram {
+
+    private static final double[] BUCKET_BOUNDS_MILLIS = {0.1, 0.5, 1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_MILLIS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (long) (BUCKET_BOUNDS_MILLIS[i] * 1_000_000);
+        }
+    }
+
+    // The last bucket counts everything above the highest bound
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        var bucket = 0;
+
+        while (bucket < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+
+        buckets[bucket].increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public void recordMillis(long millis) {
+        record(millis * 1_000_000);
+    }
+
+    public HistogramSnapshot getSnapshot() {
+        var cumulativeBuckets = new LinkedHashMap<String, Long>();
+
+        var count = 0L;
+
+        for (int i = 0; i < buckets.length; i++) {
+            count += buckets[i].sum();
+
+            var bound = i < BUCKET_BOUNDS_MILLIS.length ? formatBound(BUCKET_BOUNDS_MILLIS[i]) : "+Inf";
+
+            cumulativeBuckets.put(bound, count);
+        }
+
+        return new HistogramSnapshot(count, sumNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0, cumulativeBuckets);
+    }
+
+    private static String formatBound(double boundMillis) {
+        return boundMillis == Math.rint(boundMillis) ? String.valueOf((long) boundMillis) : String.valueOf(boundMillis);
+    }
+}
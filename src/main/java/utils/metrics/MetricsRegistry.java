@@ -0,0 +1,47 @@
+package utils.metrics;
+
+/**
+ * Request and SQL statement metrics of the application.
+ */
+public class MetricsRegistry {
+
+    private final LabeledHistograms requests = new LabeledHistograms("route", "method", "status");
+
+    private final LabeledHistograms statements = new LabeledHistograms("statement");
+
+    private final LabeledCounters statementRows = new LabeledCounters("statement");
+
+    private final LatencyHistogram connectionHold = new LatencyHistogram();
+
+    public void recordRequest(String route, String method, int status, long nanos) {
+        requests.record(nanos, route, method, String.valueOf(status));
+    }
+
+    public void recordStatement(String statement, long nanos) {
+        statements.record(nanos, statement);
+    }
+
+    public void addRows(String statement, long rows) {
+        statementRows.add(rows, statement);
+    }
+
+    public void recordConnectionHold(long nanos) {
+        connectionHold.record(nanos);
+    }
+
+    public LabeledHistograms getRequests() {
+        return requests;
+    }
+
+    public LabeledHistograms getStatements() {
+        return statements;
+    }
+
+    public LabeledCounters getStatementRows() {
+        return statementRows;
+    }
+
+    public HistogramSnapshot getConnectionHold() {
+        return connectionHold.getSnapshot();
+    }
+}
@@ -0,0 +1,157 @@
+package utils.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes metrics in the Prometheus text exposition format. Latencies are exported in seconds.
+ */
+public class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Writer writer;
+
+    public PrometheusWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeHistograms(String name, String help, LabeledHistograms histograms) throws IOException {
+        writeHeader(name, help, "histogram");
+
+        for (var entry : histograms.getSnapshots().entrySet()) {
+            writeHistogramSamples(name, histograms.getLabelNames(), entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void writeHistograms(String name, String help, String labelName, Map<String, HistogramSnapshot> snapshots)
+            throws IOException {
+
+        writeHeader(name, help, "histogram");
+
+        for (var entry : snapshots.entrySet()) {
+            writeHistogramSamples(name, List.of(labelName), List.of(entry.getKey()), entry.getValue());
+        }
+    }
+
+    public void writeHistogram(String name, String help, HistogramSnapshot snapshot) throws IOException {
+        writeHeader(name, help, "histogram");
+        writeHistogramSamples(name, List.of(), List.of(), snapshot);
+    }
+
+    public void writeCounters(String name, String help, LabeledCounters counters) throws IOException {
+        writeHeader(name, help, "counter");
+
+        for (var entry : counters.getValues().entrySet()) {
+            writeSample(name, counters.getLabelNames(), entry.getKey(), null, entry.getValue());
+        }
+    }
+
+    public void writeCounter(String name, String help, double value) throws IOException {
+        writeHeader(name, help, "counter");
+        writeSample(name, List.of(), List.of(), null, value);
+    }
+
+    public void writeCounters(String name, String help, String labelName, Map<String, ? extends Number> values)
+            throws IOException {
+
+        writeSamples(name, help, "counter", labelName, values);
+    }
+
+    public void writeGauges(String name, String help, String labelName, Map<String, ? extends Number> values)
+            throws IOException {
+
+        writeSamples(name, help, "gauge", labelName, values);
+    }
+
+    public void writeGauge(String name, String help, double value) throws IOException {
+        writeHeader(name, help, "gauge");
+        writeSample(name, List.of(), List.of(), null, value);
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeHeader(String name, String help, String type) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private void writeSamples(String name, String help, String type, String labelName,
+                              Map<String, ? extends Number> values) throws IOException {
+
+        writeHeader(name, help, type);
+
+        for (var entry : values.entrySet()) {
+            writeSample(name, List.of(labelName), List.of(entry.getKey()), null, entry.getValue().doubleValue());
+        }
+    }
+
+    private void writeHistogramSamples(String name, List<String> labelNames, List<String> labelValues,
+                                       HistogramSnapshot snapshot) throws IOException {
+
+        for (Map.Entry<String, Long> bucket : snapshot.getBuckets().entrySet()) {
+            var bound = bucket.getKey().equals("+Inf")
+                    ? "+Inf"
+                    : formatValue(Double.parseDouble(bucket.getKey()) / 1000);
+
+            writeSample(name + "_bucket", labelNames, labelValues, bound, bucket.getValue());
+        }
+
+        writeSample(name + "_sum", labelNames, labelValues, null, snapshot.getSumMillis() / 1000);
+        writeSample(name + "_count", labelNames, labelValues, null, snapshot.getCount());
+    }
+
+    private void writeSample(String name, List<String> labelNames, List<String> labelValues, String le,
+                             double value) throws IOException {
+
+        var sample = new StringBuilder(name);
+
+        if (!labelNames.isEmpty() || le != null) {
+            sample.append('{');
+
+            for (int i = 0; i < labelNames.size(); i++) {
+                appendLabel(sample, labelNames.get(i), labelValues.get(i));
+                sample.append(',');
+            }
+
+            if (le != null) {
+                appendLabel(sample, "le", le);
+            } else {
+                sample.setLength(sample.length() - 1);
+            }
+
+            sample.append('}');
+        }
+
+        sample.append(' ').append(formatValue(value)).append('\n');
+
+        writer.write(sample.toString());
+    }
+
+    private static void appendLabel(StringBuilder sample, String name, String value) {
+        sample.append(name).append("=\"");
+
+        for (int i = 0; i < value.length(); i++) {
+            var symbol = value.charAt(i);
+
+            switch (symbol) {
+                case '\\' -> sample.append("\\\\");
+                case '"' -> sample.append("\\\"");
+                case '\n' -> sample.append("\\n");
+                default -> sample.append(symbol);
+            }
+        }
+
+        sample.append('"');
+    }
+
+    private static String formatValue(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value)
+                ? String.valueOf((long) value)
+                : String.valueOf(value);
+    }
+}
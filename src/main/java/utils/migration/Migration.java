@@ -0,0 +1,96 @@
+package utils.migration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * A versioned schema change loaded from a V&lt;version&gt;__&lt;description&gt;.sql script.
+ */
+public class Migration {
+
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+    private final long checksum;
+
+    public Migration(int version, String description, String script) {
+        this.version = version;
+        this.description = description;
+        this.statements = splitStatements(script);
+
+        var crc = new CRC32();
+
+        crc.update(script.getBytes(StandardCharsets.UTF_8));
+
+        this.checksum = crc.getValue();
+    }
+
+    public static Migration load(String resourceName) {
+        var fileName = resourceName.substring(resourceName.lastIndexOf('/') + 1);
+        var separator = fileName.indexOf("__");
+
+        if (!fileName.startsWith("V") || separator < 0 || !fileName.endsWith(".sql")) {
+            throw new IllegalArgumentException("Migration file name must look like V1__description.sql: " + fileName);
+        }
+
+        var version = Integer.parseInt(fileName.substring(1, separator));
+        var description = fileName.substring(separator + 2, fileName.length() - ".sql".length()).replace('_', ' ');
+
+        try (var script = Objects.requireNonNull(Migration.class.getResourceAsStream(resourceName),
+                "Migration not found: " + resourceName)) {
+
+            return new Migration(version, description, new String(script.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    // Statements end with a semicolon at the end of a line, full-line -- comments are dropped
+    private static List<String> splitStatements(String script) {
+        var statements = new ArrayList<String>();
+        var statement = new StringBuilder();
+
+        for (var line : script.split("\\R")) {
+            var stripped = line.strip();
+
+            if (stripped.isEmpty() || stripped.startsWith("--")) {
+                continue;
+            }
+
+            if (stripped.endsWith(";")) {
+                statement.append(line, 0, line.lastIndexOf(';'));
+                statements.add(statement.toString().strip());
+                statement.setLength(0);
+            } else {
+                statement.append(line).append('\n');
+            }
+        }
+
+        if (!statement.isEmpty()) {
+            statements.add(statement.toString().strip());
+        }
+
+        return statements;
+    }
+}
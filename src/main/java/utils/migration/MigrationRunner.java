@@ -0,0 +1,211 @@
+package utils.migration;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Applies pending migrations in version order and records them in schema_migrations.
+ * A MySQL named lock keeps nodes starting at the same time from migrating concurrently.
+ * DDL commits implicitly in MySQL, so a failed migration is not rolled back and has to be fixed forward;
+ * scripts should state ALGORITHM and LOCK on ALTER TABLE so an unexpectedly blocking change fails instead.
+ */
+public class MigrationRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class.getName());
+
+    private static final String LOCK_NAME = "library_db.schema_migrations";
+
+    private static final String INDEX_FILE = "migrations.list";
+
+    private final DataSource dataSource;
+    private final List<Migration> migrations;
+    private final int lockTimeoutSeconds;
+
+    public MigrationRunner(DataSource dataSource, List<Migration> migrations, int lockTimeoutSeconds) {
+        this.dataSource = dataSource;
+        this.migrations = migrations.stream()
+                .sorted(Comparator.comparingInt(Migration::getVersion))
+                .toList();
+        this.lockTimeoutSeconds = lockTimeoutSeconds;
+    }
+
+    /**
+     * Loads the migrations named in the migrations.list file of a classpath directory, e.g. /db_scripts/migrations/.
+     */
+    public static List<Migration> loadMigrations(String directory) {
+        var migrations = new ArrayList<Migration>();
+
+        try (var reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
+                MigrationRunner.class.getResourceAsStream(directory + INDEX_FILE),
+                "Migration list not found in " + directory), StandardCharsets.UTF_8))) {
+
+            String fileName;
+
+            while ((fileName = reader.readLine()) != null) {
+                if (!fileName.isBlank()) {
+                    migrations.add(Migration.load(directory + fileName.strip()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return migrations;
+    }
+
+    /**
+     * @return the number of migrations applied by this call
+     */
+    public int migrate() throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+
+            acquireLock(connection);
+
+            try {
+                createHistoryTable(connection);
+
+                var applied = findApplied(connection);
+                var count = 0;
+
+                for (var migration : migrations) {
+                    var checksum = applied.get(migration.getVersion());
+
+                    if (checksum == null) {
+                        apply(migration, connection);
+                        count++;
+                    } else if (checksum != migration.getChecksum()) {
+                        throw new IllegalStateException("Migration V" + migration.getVersion()
+                                + " was changed after it had been applied");
+                    }
+                }
+
+                LOGGER.info(count == 0
+                        ? "Schema is up to date"
+                        : "Applied " + count + " migration(s)");
+
+                return count;
+            } finally {
+                releaseLock(connection);
+            }
+        }
+    }
+
+    private void apply(Migration migration, Connection connection) throws SQLException {
+        var name = "V" + migration.getVersion() + " " + migration.getDescription();
+        var started = System.nanoTime();
+
+        LOGGER.info(() -> "Applying migration " + name);
+
+        try (var statement = connection.createStatement()) {
+            for (var sql : migration.getStatements()) {
+                var statementStarted = System.nanoTime();
+
+                statement.execute(sql);
+
+                var elapsed = elapsedMillis(statementStarted);
+
+                LOGGER.fine(() -> name + ": " + firstLine(sql) + " took " + elapsed + " ms");
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration " + name + " failed", e.getSQLState(), e.getErrorCode(), e);
+        }
+
+        var executionTime = elapsedMillis(started);
+
+        var sql = """
+                  INSERT INTO schema_migrations (version, description, checksum, execution_ms)
+                  VALUES (?, ?, ?, ?)
+                """;
+
+        try (var preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setInt(1, migration.getVersion());
+            preparedStatement.setString(2, migration.getDescription());
+            preparedStatement.setLong(3, migration.getChecksum());
+            preparedStatement.setLong(4, executionTime);
+
+            preparedStatement.executeUpdate();
+        }
+
+        LOGGER.info(() -> "Applied migration " + name + " in " + executionTime + " ms");
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (var preparedStatement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+
+            preparedStatement.setString(1, LOCK_NAME);
+            preparedStatement.setInt(2, lockTimeoutSeconds);
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                    throw new IllegalStateException("Could not acquire the migration lock within "
+                            + lockTimeoutSeconds + " seconds");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) throws SQLException {
+        try (var preparedStatement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+
+            preparedStatement.setString(1, LOCK_NAME);
+
+            preparedStatement.executeQuery().close();
+        }
+    }
+
+    private void createHistoryTable(Connection connection) throws SQLException {
+        var sql = """
+                  CREATE TABLE IF NOT EXISTS schema_migrations
+                  (
+                      version      INT PRIMARY KEY,
+                      description  VARCHAR(200) NOT NULL,
+                      checksum     BIGINT       NOT NULL,
+                      execution_ms BIGINT       NOT NULL,
+                      applied_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+                  )
+                """;
+
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Map<Integer, Long> findApplied(Connection connection) throws SQLException {
+        var applied = new HashMap<Integer, Long>();
+
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt("version"), resultSet.getLong("checksum"));
+            }
+        }
+
+        return applied;
+    }
+
+    private static long elapsedMillis(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    private static String firstLine(String sql) {
+        var end = sql.indexOf('\n');
+
+        return end < 0 ? sql : sql.substring(0, end).strip();
+    }
+}
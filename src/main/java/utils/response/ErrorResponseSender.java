@@ -3,6 +3,7 @@ package utils.response;
 import exceptions.AlreadyExistException;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
+import exceptions.ServiceUnavailableException;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
@@ -11,12 +12,18 @@ public class ErrorResponseSender {
 
     public static void send(HttpServletResponse response, Exception ex) throws IOException {
 
+        if (response.isCommitted()) {
+            return;
+        }
+
         if (ex instanceof NotFoundException) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         } else if (ex instanceof BadRequestException) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         } else if (ex instanceof AlreadyExistException) {
             response.setStatus(HttpServletResponse.SC_CONFLICT);
+        } else if (ex instanceof ServiceUnavailableException) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
         } else {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
 
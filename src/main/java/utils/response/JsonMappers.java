@@ -0,0 +1,65 @@
+package utils.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the single mapper every response and request body goes through, so serializers are built
+ * once and then served from Jackson's cache. Blackbird replaces their reflective getter and setter
+ * calls with generated lambdas.
+ */
+public class JsonMappers {
+
+    private static final Logger LOGGER = Logger.getLogger(JsonMappers.class.getName());
+
+    public static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new BlackbirdModule())
+            .build();
+
+    public static final ObjectWriter COMPACT_WRITER = MAPPER.writer();
+    public static final ObjectWriter PRETTY_WRITER = COMPACT_WRITER.withDefaultPrettyPrinter();
+
+    // Streams belong to the container, and flushing after each row would defeat response buffering
+    public static final ObjectWriter STREAM_WRITER = COMPACT_WRITER
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    public static final ObjectWriter PRETTY_STREAM_WRITER = STREAM_WRITER.withDefaultPrettyPrinter();
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return MAPPER.readerFor(type);
+    }
+
+    /**
+     * Builds and caches the serializers of the given classes, so the first requests do not pay for
+     * introspecting them. Returns the number of classes warmed up.
+     */
+    public static int warmUp(Collection<Class<?>> types) {
+        var serializerProvider = MAPPER.getSerializerProviderInstance();
+
+        var warmedUp = 0;
+
+        for (var type : types) {
+            try {
+                serializerProvider.findTypedValueSerializer(type, true, null);
+
+                warmedUp++;
+            } catch (JsonMappingException e) {
+                LOGGER.log(Level.WARNING, "Could not build serializer for " + type.getName(), e);
+            }
+        }
+
+        return warmedUp;
+    }
+}
@@ -1,7 +1,8 @@
 package utils.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletResponse;
+import utils.context.RequestContext;
 
 import java.io.IOException;
 
@@ -13,13 +14,15 @@ public class JsonResponsePrinter {
 
         var printWriter = response.getWriter();
 
-        var mapper = new ObjectMapper();
-
-        var jsonResponse = mapper
-                .writerWithDefaultPrettyPrinter()
-                .writeValueAsString(object);
+        var jsonResponse = getWriter().writeValueAsString(object);
 
         printWriter.print(jsonResponse);
-        printWriter.flush();
+
+        // Closing ends the body, which lets a compressing response finish its stream
+        printWriter.close();
+    }
+
+    private static ObjectWriter getWriter() {
+        return RequestContext.current().isPrettyPrint() ? JsonMappers.PRETTY_WRITER : JsonMappers.COMPACT_WRITER;
     }
 }
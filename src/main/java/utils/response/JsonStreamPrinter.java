@@ -0,0 +1,116 @@
+package utils.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dao.RowCallback;
+import exceptions.ResponseAbortedException;
+import jakarta.servlet.http.HttpServletResponse;
+import utils.context.RequestContext;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Writes JSON straight to the response output stream, so large listings are serialized
+ * row by row instead of being buffered as a single String.
+ */
+public class JsonStreamPrinter {
+
+    public static void print(HttpServletResponse response, Object object) throws IOException {
+        var writer = getWriter();
+
+        try (var generator = createGenerator(response, writer)) {
+            writer.writeValue(generator, object);
+        }
+
+        response.getOutputStream().close();
+    }
+
+    /**
+     * Streams the rows produced by the source as a JSON array. Nothing is written until the first
+     * row arrives, so a source that fails before producing anything can still be answered with an
+     * error response.
+     */
+    public static <T> void printArray(HttpServletResponse response, RowSource<T> source)
+            throws IOException, SQLException {
+
+        var arrayStreamer = new ArrayStreamer<T>(response);
+
+        try {
+            source.forEach(arrayStreamer);
+        } catch (SQLException | IOException | RuntimeException ex) {
+            // Closing the array now would pass the rows sent so far off as the whole listing
+            if (arrayStreamer.isCommitted()) {
+                throw new ResponseAbortedException("Streaming failed after the response was committed", ex);
+            }
+
+            arrayStreamer.discard();
+            throw ex;
+        }
+
+        arrayStreamer.finish();
+    }
+
+    private static ObjectWriter getWriter() {
+        return RequestContext.current().isPrettyPrint() ? JsonMappers.PRETTY_STREAM_WRITER : JsonMappers.STREAM_WRITER;
+    }
+
+    private static JsonGenerator createGenerator(HttpServletResponse response, ObjectWriter writer)
+            throws IOException {
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("application/json");
+
+        return writer.createGenerator(response.getOutputStream());
+    }
+
+    @FunctionalInterface
+    public interface RowSource<T> {
+
+        void forEach(RowCallback<T> callback) throws SQLException, IOException;
+    }
+
+    private static class ArrayStreamer<T> implements RowCallback<T> {
+
+        private final HttpServletResponse response;
+
+        private final ObjectWriter writer = getWriter();
+
+        private JsonGenerator generator;
+
+        private ArrayStreamer(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void accept(T row) throws IOException {
+            if (generator == null) {
+                generator = createGenerator(response, writer);
+                generator.writeStartArray();
+            }
+
+            writer.writeValue(generator, row);
+        }
+
+        private void finish() throws IOException {
+            if (generator == null) {
+                return;
+            }
+
+            generator.writeEndArray();
+            generator.close();
+
+            response.getOutputStream().close();
+        }
+
+        private boolean isCommitted() {
+            return generator != null && response.isCommitted();
+        }
+
+        private void discard() {
+            if (generator != null) {
+                response.reset();
+            }
+        }
+    }
+}
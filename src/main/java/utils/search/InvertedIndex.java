@@ -0,0 +1,263 @@
+package utils.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over short texts. A query matches documents that contain all of its terms,
+ * the last term also as a prefix so results can follow the user's typing, and hits are ranked with BM25.
+ * Only the term frequencies and lengths of the documents are kept, not their texts.
+ */
+public class InvertedIndex {
+
+    // Bounds the work for short prefixes such as "a", which would otherwise touch most of the vocabulary
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<SearchHit> HIT_ORDER = Comparator
+            .comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(SearchHit::getId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> document id -> occurrences of the term in the document
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private long totalLength;
+
+    public void add(Long id, String text) {
+        var terms = Tokenizer.tokenize(text);
+
+        lock.writeLock().lock();
+
+        try {
+            removeDocument(id);
+
+            documents.put(id, new Document(terms));
+            totalLength += terms.size();
+
+            for (var term : terms) {
+                postings.computeIfAbsent(term, key -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        var terms = Tokenizer.tokenize(query);
+
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            var termMatches = new ArrayList<TermMatches>(terms.size());
+
+            for (int i = 0; i < terms.size(); i++) {
+                var matches = i == terms.size() - 1 ? findByPrefix(terms.get(i)) : findExact(terms.get(i));
+
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+
+                termMatches.add(matches);
+            }
+
+            return rank(termMatches, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SearchHit> rank(List<TermMatches> termMatches, int limit) {
+        // Intersect starting from the rarest term, it bounds the candidates
+        termMatches.sort(Comparator.comparingInt(matches -> matches.frequency));
+
+        var documentCount = documents.size();
+        var averageLength = (double) totalLength / documentCount;
+
+        var idf = new double[termMatches.size()];
+
+        for (int i = 0; i < idf.length; i++) {
+            var frequency = Math.min(termMatches.get(i).frequency, documentCount);
+
+            idf[i] = Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+        }
+
+        var top = new PriorityQueue<SearchHit>(limit + 1, HIT_ORDER.reversed());
+
+        var rarest = termMatches.getFirst();
+
+        for (int p = 0; p < rarest.postings.size(); p++) {
+            candidates:
+            for (var candidate : rarest.postings.get(p).keySet()) {
+                // A document containing several expansions of a prefix is scored once, with the first of them
+                if (rarest.containsBefore(candidate, p)) {
+                    continue;
+                }
+
+                var lengthNorm = K1 * (1 - B + B * documents.get(candidate).length / averageLength);
+
+                var score = 0.0;
+
+                for (int i = 0; i < idf.length; i++) {
+                    var occurrences = termMatches.get(i).occurrences(candidate);
+
+                    if (occurrences == 0) {
+                        continue candidates;
+                    }
+
+                    score += idf[i] * occurrences * (K1 + 1) / (occurrences + lengthNorm);
+                }
+
+                if (top.size() < limit || isBetter(score, candidate, top.peek())) {
+                    top.add(new SearchHit(candidate, score));
+
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+
+        var hits = new ArrayList<>(top);
+
+        hits.sort(HIT_ORDER);
+
+        return hits;
+    }
+
+    private static boolean isBetter(double score, Long id, SearchHit worst) {
+        return score > worst.getScore() || score == worst.getScore() && id < worst.getId();
+    }
+
+    private TermMatches findExact(String term) {
+        var termPostings = postings.get(term);
+
+        return new TermMatches(termPostings == null ? List.of() : List.of(termPostings));
+    }
+
+    // The postings are read in place, a document's occurrences of the expanded terms are summed when scored
+    private TermMatches findByPrefix(String prefix) {
+        var expansions = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        var matches = new ArrayList<Map<Long, Integer>>();
+        var expanded = 0;
+
+        for (var entry : expansions.entrySet()) {
+            // The term itself is not counted as an expansion
+            if (!entry.getKey().equals(prefix) && ++expanded > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+
+            matches.add(entry.getValue());
+        }
+
+        return new TermMatches(matches);
+    }
+
+    private void removeDocument(Long id) {
+        var document = documents.remove(id);
+
+        if (document == null) {
+            return;
+        }
+
+        totalLength -= document.length;
+
+        for (var term : document.terms) {
+            var termPostings = postings.get(term);
+
+            if (termPostings != null) {
+                termPostings.remove(id);
+
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static class Document {
+
+        // Distinct terms, to find the postings to remove the document from
+        private final String[] terms;
+        private final int length;
+
+        private Document(List<String> terms) {
+            this.terms = terms.stream().distinct().toArray(String[]::new);
+            this.length = terms.size();
+        }
+    }
+
+    // The postings of a query term, or of every indexed term it is a prefix of
+    private static class TermMatches {
+
+        private final List<Map<Long, Integer>> postings;
+
+        // Documents in any of the postings, one containing several expansions of a prefix is counted for each
+        private final int frequency;
+
+        private TermMatches(List<Map<Long, Integer>> postings) {
+            this.postings = postings;
+            this.frequency = postings.stream().mapToInt(Map::size).sum();
+        }
+
+        private boolean isEmpty() {
+            return frequency == 0;
+        }
+
+        private int occurrences(Long id) {
+            var occurrences = 0;
+
+            for (var termPostings : postings) {
+                occurrences += termPostings.getOrDefault(id, 0);
+            }
+
+            return occurrences;
+        }
+
+        private boolean containsBefore(Long id, int index) {
+            for (int i = 0; i < index; i++) {
+                if (postings.get(i).containsKey(id)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
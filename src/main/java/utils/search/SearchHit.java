@@ -0,0 +1,24 @@
+package utils.search;
+
+/**
+ * A document matched by a query and its score. The index keeps no texts, they are loaded for the hits only.
+ */
+public class SearchHit {
+
+    private final Long id;
+
+    private final double score;
+
+    public SearchHit(Long id, double score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,57 @@
+package utils.search;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Search indexes over book titles and review content. Reviews are cascaded out of the database
+ * with their book or reader, so the index keeps track of both to drop them as well.
+ */
+public class SearchIndexes {
+
+    private final InvertedIndex books = new InvertedIndex();
+    private final InvertedIndex reviews = new InvertedIndex();
+
+    private final Map<Long, Set<Long>> reviewsByBook = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> reviewsByReader = new ConcurrentHashMap<>();
+
+    public InvertedIndex getBooks() {
+        return books;
+    }
+
+    public InvertedIndex getReviews() {
+        return reviews;
+    }
+
+    public void indexBook(Long id, String title) {
+        books.add(id, title);
+    }
+
+    public void removeBook(Long id) {
+        books.remove(id);
+        removeReviews(reviewsByBook.remove(id));
+    }
+
+    public void indexReview(Long id, Long bookId, Long readerId, String content) {
+        reviews.add(id, content);
+
+        reviewsByBook.computeIfAbsent(bookId, key -> ConcurrentHashMap.newKeySet()).add(id);
+        reviewsByReader.computeIfAbsent(readerId, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    public void removeReader(Long id) {
+        removeReviews(reviewsByReader.remove(id));
+    }
+
+    private void removeReviews(Set<Long> reviewIds) {
+        if (reviewIds == null) {
+            return;
+        }
+
+        for (var reviewId : new HashSet<>(reviewIds)) {
+            reviews.remove(reviewId);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package utils.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into lower-cased runs of letters and digits.
+ */
+class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        var terms = new ArrayList<String>();
+        var term = new StringBuilder();
+
+        for (int i = 0; i < text.length(); ) {
+            var codePoint = text.codePointAt(i);
+
+            if (Character.isLetterOrDigit(codePoint)) {
+                term.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+
+        return terms;
+    }
+}
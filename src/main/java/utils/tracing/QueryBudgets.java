@@ -0,0 +1,56 @@
+package utils.tracing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The most statements a request to an endpoint may execute, e.g. "GET /books" to 2 regardless of the number
+ * of books. Endpoints are a method and a servlet mapping, configured as "GET /books:2, GET /books/*:3".
+ */
+public class QueryBudgets {
+
+    private final Map<String, Integer> budgets;
+
+    private final boolean strict;
+
+    public QueryBudgets(Map<String, Integer> budgets, boolean strict) {
+        this.budgets = Map.copyOf(budgets);
+        this.strict = strict;
+    }
+
+    public static QueryBudgets parse(String specification, boolean strict) {
+        var budgets = new HashMap<String, Integer>();
+
+        for (var entry : specification.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            var separator = entry.lastIndexOf(':');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("Query budget must look like 'GET /books:2': " + entry.strip());
+            }
+
+            var endpoint = entry.substring(0, separator).strip().replaceAll("\\s+", " ");
+
+            budgets.put(endpoint, Integer.parseInt(entry.substring(separator + 1).strip()));
+        }
+
+        return new QueryBudgets(budgets, strict);
+    }
+
+    /**
+     * Returns null when the endpoint has no budget.
+     */
+    public Integer find(String method, String route) {
+        return budgets.get(method + " " + route);
+    }
+
+    /**
+     * Whether a request is failed as soon as it goes over its budget rather than reported when it finishes.
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+}
@@ -0,0 +1,102 @@
+package utils.tracing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The statements executed while processing one request, grouped by their SQL. A request is processed by
+ * one thread at a time, so the trace isn't synchronized.
+ */
+public class QueryTrace {
+
+    private final String request;
+
+    private final Integer budget;
+
+    private final Map<String, StatementStats> statements = new HashMap<>();
+
+    private int statementCount;
+
+    private long rows;
+
+    public QueryTrace(String request) {
+        this(request, null);
+    }
+
+    public QueryTrace(String request, Integer budget) {
+        this.request = request;
+        this.budget = budget;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    /**
+     * The most statements the request may execute, null when it has no budget.
+     */
+    public Integer getBudget() {
+        return budget;
+    }
+
+    public boolean isOverBudget() {
+        return budget != null && statementCount > budget;
+    }
+
+    /**
+     * Whether one more statement would take the request over its budget.
+     */
+    public boolean isBudgetExhausted() {
+        return budget != null && statementCount >= budget;
+    }
+
+    public Map<String, StatementStats> getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getStatementNanos() {
+        var nanos = 0L;
+
+        for (var stats : statements.values()) {
+            nanos += stats.nanos;
+        }
+
+        return nanos;
+    }
+
+    void addStatement(String sql, long nanos) {
+        var stats = statements.computeIfAbsent(sql, key -> new StatementStats());
+
+        stats.count++;
+        stats.nanos += nanos;
+
+        statementCount++;
+    }
+
+    void addRows(long rows) {
+        this.rows += rows;
+    }
+
+    public static class StatementStats {
+
+        private int count;
+
+        private long nanos;
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
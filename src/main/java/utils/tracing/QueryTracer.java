@@ -0,0 +1,135 @@
+package utils.tracing;
+
+import exceptions.QueryBudgetExceededException;
+import utils.context.RequestContext;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logs slow statements and connections held for long, and checks the statements of each request for N+1
+ * patterns: the same SQL executed more than nPlusOneThreshold times, typically once per row of an earlier query.
+ * Requests to endpoints with a {@link QueryBudgets query budget} are also checked against it.
+ */
+public class QueryTracer {
+
+    private static final Logger LOGGER = Logger.getLogger(QueryTracer.class.getName());
+
+    private final long slowStatementNanos;
+
+    private final long slowConnectionHoldNanos;
+
+    private final int nPlusOneThreshold;
+
+    private final QueryBudgets queryBudgets;
+
+    public QueryTracer(Duration slowStatement, Duration slowConnectionHold, int nPlusOneThreshold) {
+        this(slowStatement, slowConnectionHold, nPlusOneThreshold, new QueryBudgets(Map.of(), false));
+    }
+
+    public QueryTracer(Duration slowStatement, Duration slowConnectionHold, int nPlusOneThreshold,
+                       QueryBudgets queryBudgets) {
+
+        this.slowStatementNanos = slowStatement.toNanos();
+        this.slowConnectionHoldNanos = slowConnectionHold.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.queryBudgets = queryBudgets;
+    }
+
+    /**
+     * Starts the trace of a request to the endpoint with the given method and servlet mapping.
+     */
+    public QueryTrace start(String method, String route, String uri) {
+        return new QueryTrace(method + " " + uri, queryBudgets.find(method, route));
+    }
+
+    /**
+     * In strict mode, rejects a statement that would take the request over its budget before it runs, so a
+     * failed request has no side effects beyond the statements it was allowed.
+     */
+    public void beforeStatement() {
+        if (!queryBudgets.isStrict()) {
+            return;
+        }
+
+        var queryTrace = RequestContext.current().getQueryTrace();
+
+        if (queryTrace != null && queryTrace.isBudgetExhausted()) {
+            throw new QueryBudgetExceededException(budgetMessage(queryTrace, queryTrace.getStatementCount() + 1));
+        }
+    }
+
+    public void onStatement(String sql, long nanos) {
+        var queryTrace = RequestContext.current().getQueryTrace();
+
+        if (nanos >= slowStatementNanos) {
+            LOGGER.warning(() -> "Slow statement, " + toMillis(nanos) + " ms" + requestSuffix(queryTrace) + ": "
+                    + normalize(sql));
+        }
+
+        if (queryTrace == null) {
+            return;
+        }
+
+        queryTrace.addStatement(sql, nanos);
+    }
+
+    public void onRows(long rows) {
+        var queryTrace = RequestContext.current().getQueryTrace();
+
+        if (queryTrace != null) {
+            queryTrace.addRows(rows);
+        }
+    }
+
+    public void onConnectionReleased(long holdNanos) {
+        if (holdNanos >= slowConnectionHoldNanos) {
+            var queryTrace = RequestContext.current().getQueryTrace();
+
+            LOGGER.warning(() -> "Connection held for " + toMillis(holdNanos) + " ms" + requestSuffix(queryTrace));
+        }
+    }
+
+    /**
+     * Reports the statements of a finished request.
+     */
+    public void finish(QueryTrace queryTrace) {
+        for (var entry : queryTrace.getStatements().entrySet()) {
+            var stats = entry.getValue();
+
+            if (stats.getCount() > nPlusOneThreshold) {
+                LOGGER.warning(() -> "Possible N+1 in " + queryTrace.getRequest() + ": " + stats.getCount()
+                        + " executions taking " + toMillis(stats.getNanos()) + " ms of " + normalize(entry.getKey()));
+            }
+        }
+
+        if (queryTrace.isOverBudget() && !queryBudgets.isStrict()) {
+            LOGGER.warning(() -> budgetMessage(queryTrace, queryTrace.getStatementCount()));
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(queryTrace.getRequest() + ": " + queryTrace.getStatementCount() + " statements, "
+                    + toMillis(queryTrace.getStatementNanos()) + " ms, " + queryTrace.getRows() + " rows");
+        }
+    }
+
+    private static String budgetMessage(QueryTrace queryTrace, int statementCount) {
+        return "Query budget exceeded in " + queryTrace.getRequest() + ": " + statementCount
+                + " statements, budget " + queryTrace.getBudget();
+    }
+
+    private static String requestSuffix(QueryTrace queryTrace) {
+        return queryTrace == null ? "" : " in " + queryTrace.getRequest();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String normalize(String sql) {
+        return sql.strip().replaceAll("\\s+", " ");
+    }
+}
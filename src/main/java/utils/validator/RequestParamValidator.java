@@ -9,6 +9,10 @@ public class RequestParamValidator {
     private static final int TITLE_LENGTH_CONSTRAINT = 255;
     private static final int YEAR_LENGTH_CONSTRAINT = 4;
     private static final int REVIEW_LENGTH_CONSTRAINT = 500;
+    private static final int PAGE_LIMIT_CONSTRAINT = 100;
+    private static final int QUERY_LENGTH_CONSTRAINT = 200;
+
+    private static final String PHONE_TEMPLATE = "+7(xxx)-xxx-xx-xx";
 
     public static void validateId(String parameterValue) {
 
@@ -30,7 +34,7 @@ public class RequestParamValidator {
 
     public static void validateIdValues(String[] parameterValues) {
 
-        if (parameterValues == null) {
+        if (parameterValues == null || parameterValues.length == 0) {
             throw new BadRequestException("Missing authors id parameter");
         }
 
@@ -39,7 +43,37 @@ public class RequestParamValidator {
         }
     }
 
-    public static void validateName(String parameterName, String parameterValue) {
+    public static void validateLimit(String parameterName, String parameterValue) {
+        checkNullOrBlank(parameterName, parameterValue);
+
+        try {
+            var limit = Integer.parseInt(parameterValue);
+
+            if (limit <= 0 || limit > PAGE_LIMIT_CONSTRAINT) {
+                throw new BadRequestException(parameterName + " must be between 1 and " + PAGE_LIMIT_CONSTRAINT);
+            }
+
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(parameterName + " must be a number");
+        }
+    }
+
+    public static void validateCursor(String parameterName, String parameterValue) {
+        checkNullOrBlank(parameterName, parameterValue);
+
+        try {
+            var cursor = Long.parseLong(parameterValue);
+
+            if (cursor < 0) {
+                throw new BadRequestException(parameterName + " must not be negative");
+            }
+
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(parameterName + " must be a number");
+        }
+    }
+
+    public static String validateName(String parameterName, String parameterValue) {
         checkNullOrBlank(parameterName, parameterValue);
 
         parameterValue = ExtraSpaceTrimmer.trim(parameterValue);
@@ -51,9 +85,11 @@ public class RequestParamValidator {
         if (!containsOnlyLetters(parameterValue)) {
             throw new BadRequestException(parameterName + " parameter must contain only letters");
         }
+
+        return parameterValue;
     }
 
-    public static void validateTitle(String parameterName, String parameterValue) {
+    public static String validateTitle(String parameterName, String parameterValue) {
         checkNullOrBlank(parameterName, parameterValue);
 
         parameterValue = ExtraSpaceTrimmer.trim(parameterValue);
@@ -65,6 +101,8 @@ public class RequestParamValidator {
         if (!titleIsValid(parameterValue)) {
             throw new BadRequestException("Only letters and numbers are allowed in the " + parameterName + " parameter");
         }
+
+        return parameterValue;
     }
 
     public static void validateYear(String parameterName, String parameterValue) {
@@ -89,12 +127,12 @@ public class RequestParamValidator {
     public static void validatePhone(String parameterName, String parameterValue) {
         checkNullOrBlank(parameterName, parameterValue);
 
-        if (!parameterValue.matches("^\\+7\\(\\d{3}\\)-\\d{3}-\\d{2}-\\d{2}$")) {
-            throw new BadRequestException("The phone number must be in this format: +7(xxx)-xxx-xx-xx");
+        if (!phoneIsValid(parameterValue)) {
+            throw new BadRequestException("The phone number must be in this format: " + PHONE_TEMPLATE);
         }
     }
 
-    public static void validateContent(String parameterName, String parameterValue) {
+    public static String validateContent(String parameterName, String parameterValue) {
         checkNullOrBlank(parameterName, parameterValue);
 
         parameterValue = ExtraSpaceTrimmer.trim(parameterValue);
@@ -102,6 +140,20 @@ public class RequestParamValidator {
         if (parameterValue.length() > REVIEW_LENGTH_CONSTRAINT) {
             throw new BadRequestException(parameterName + " parameter must be no more than " + REVIEW_LENGTH_CONSTRAINT + " characters");
         }
+
+        return parameterValue;
+    }
+
+    public static String validateQuery(String parameterName, String parameterValue) {
+        checkNullOrBlank(parameterName, parameterValue);
+
+        parameterValue = ExtraSpaceTrimmer.trim(parameterValue);
+
+        if (parameterValue.length() > QUERY_LENGTH_CONSTRAINT) {
+            throw new BadRequestException(parameterName + " parameter must be no more than " + QUERY_LENGTH_CONSTRAINT + " characters");
+        }
+
+        return parameterValue;
     }
 
     private static void checkNullOrBlank(String parameterName, String parameterValue) {
@@ -111,22 +163,46 @@ public class RequestParamValidator {
     }
 
     private static boolean containsOnlyLetters(String parameterValue) {
-        var chars = parameterValue.toCharArray();
+        for (int i = 0; i < parameterValue.length(); ) {
+            var codePoint = parameterValue.codePointAt(i);
 
-        for (var symbol : chars) {
-            if (!Character.isLetter(symbol)) {
+            if (!Character.isLetter(codePoint)) {
                 return false;
             }
+
+            i += Character.charCount(codePoint);
         }
 
         return true;
     }
 
     private static boolean titleIsValid(String parameterValue) {
-        var chars = parameterValue.toCharArray();
+        for (int i = 0; i < parameterValue.length(); ) {
+            var codePoint = parameterValue.codePointAt(i);
+
+            if (!Character.isLetter(codePoint) && !Character.isDigit(codePoint) && !Character.isSpaceChar(codePoint)) {
+                return false;
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        return true;
+    }
+
+    // Matches +7(xxx)-xxx-xx-xx, where every 'x' of the template stands for an ASCII digit
+    private static boolean phoneIsValid(String parameterValue) {
+        if (parameterValue.length() != PHONE_TEMPLATE.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < PHONE_TEMPLATE.length(); i++) {
+            var expected = PHONE_TEMPLATE.charAt(i);
+            var symbol = parameterValue.charAt(i);
+
+            var matches = expected == 'x' ? symbol >= '0' && symbol <= '9' : symbol == expected;
 
-        for (var symbol : chars) {
-            if (!Character.isLetter(symbol) && !Character.isDigit(symbol) && !Character.isSpaceChar(symbol)) {
+            if (!matches) {
                 return false;
             }
         }
@@ -0,0 +1,49 @@
+package utils.writebehind;
+
+/**
+ * An item accepted by {@link WriteBehindQueue} and the outcome of its write.
+ */
+public class PendingWrite<T> {
+
+    public enum Status {
+        PENDING, WRITTEN, FAILED
+    }
+
+    private final String trackingId;
+
+    private final T item;
+
+    private volatile Status status = Status.PENDING;
+
+    private volatile Exception error;
+
+    PendingWrite(String trackingId, T item) {
+        this.trackingId = trackingId;
+        this.item = item;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    void written() {
+        status = Status.WRITTEN;
+    }
+
+    void failed(Exception error) {
+        this.error = error;
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,206 @@
+package utils.writebehind;
+
+import exceptions.ServiceUnavailableException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Accepts items into a bounded queue and writes them from a background thread in batches of up to
+ * batchSize items, at most maxDelay after the first item of a batch was taken. A full queue is
+ * rejected with {@link ServiceUnavailableException} instead of blocking the caller.
+ */
+public class WriteBehindQueue<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindQueue.class.getName());
+
+    // How often an idle flusher checks for shutdown
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<PendingWrite<T>> queue;
+
+    private final int batchSize;
+
+    private final long maxDelayNanos;
+
+    private final BatchWriter<T> writer;
+
+    // Recent writes by tracking id, bounded since most of them are never asked about
+    private final Map<String, PendingWrite<T>> trackedWrites;
+
+    private final Thread flusher;
+
+    // Makes accepting an item and stopping mutually exclusive, so nothing is queued after the flusher's last look
+    private final Object lifecycleLock = new Object();
+
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(int capacity, int batchSize, Duration maxDelay, BatchWriter<T> writer) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.writer = writer;
+
+        var maxTracked = capacity * 2;
+
+        this.trackedWrites = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PendingWrite<T>> eldest) {
+                return size() > maxTracked;
+            }
+        };
+
+        this.flusher = Thread.ofPlatform()
+                .name("write-behind-flusher")
+                .daemon()
+                .start(this::flushLoop);
+    }
+
+    public PendingWrite<T> submit(T item) {
+        var pendingWrite = new PendingWrite<>(UUID.randomUUID().toString(), item);
+
+        synchronized (lifecycleLock) {
+            if (!running) {
+                throw new ServiceUnavailableException("Service is shutting down");
+            }
+
+            if (!queue.offer(pendingWrite)) {
+                throw new ServiceUnavailableException("Too many writes queued");
+            }
+        }
+
+        synchronized (trackedWrites) {
+            trackedWrites.put(pendingWrite.getTrackingId(), pendingWrite);
+        }
+
+        return pendingWrite;
+    }
+
+    public PendingWrite<T> find(String trackingId) {
+        synchronized (trackedWrites) {
+            return trackedWrites.get(trackingId);
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting items and waits until what is already queued is written.
+     */
+    public void shutdown() throws InterruptedException {
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+
+        flusher.join();
+    }
+
+    private void flushLoop() {
+        var batch = new ArrayList<PendingWrite<T>>(batchSize);
+
+        try {
+            while (running || !queue.isEmpty()) {
+                collectBatch(batch);
+
+                write(batch);
+            }
+        } catch (InterruptedException e) {
+            LOGGER.warning("Write-behind flusher interrupted with " + queue.size() + " writes queued");
+
+            failRemaining(batch);
+        }
+    }
+
+    // Accepted items must not stay pending forever, their submitters were told they would be written
+    private void failRemaining(List<PendingWrite<T>> batch) {
+        queue.drainTo(batch);
+
+        var error = new ServiceUnavailableException("Service stopped before the write");
+
+        batch.forEach(pendingWrite -> pendingWrite.failed(error));
+        batch.clear();
+    }
+
+    private void collectBatch(List<PendingWrite<T>> batch) throws InterruptedException {
+        var first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (first == null) {
+            return;
+        }
+
+        batch.add(first);
+
+        var deadline = System.nanoTime() + maxDelayNanos;
+
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+
+            var remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return;
+            }
+
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingWrite<T>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            writer.write(batch.stream().map(PendingWrite::getItem).toList());
+
+            batch.forEach(PendingWrite::written);
+
+        } catch (SQLException | RuntimeException ex) {
+            // One bad item fails the whole batch, retry one by one to keep the others
+            for (var pendingWrite : batch) {
+                writeSingle(pendingWrite);
+            }
+        }
+
+        batch.clear();
+    }
+
+    private void writeSingle(PendingWrite<T> pendingWrite) {
+        try {
+            writer.write(List.of(pendingWrite.getItem()));
+
+            pendingWrite.written();
+
+        } catch (SQLException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Write " + pendingWrite.getTrackingId() + " failed", ex);
+
+            pendingWrite.failed(ex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchWriter<T> {
+
+        void write(List<T> items) throws SQLException;
+    }
+}
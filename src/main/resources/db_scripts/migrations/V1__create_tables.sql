@@ -1,18 +1,18 @@
-CREATE TABLE books
+CREATE TABLE IF NOT EXISTS books
 (
     id           BIGINT AUTO_INCREMENT PRIMARY KEY,
     title        VARCHAR(255) NOT NULL,
     publish_year VARCHAR(4) NOT NULL
 );
 
-CREATE TABLE authors
+CREATE TABLE IF NOT EXISTS authors
 (
     id         BIGINT AUTO_INCREMENT PRIMARY KEY,
     first_name VARCHAR(30) NOT NULL,
     last_name  VARCHAR(30) NOT NULL
 );
 
-CREATE TABLE authors_books
+CREATE TABLE IF NOT EXISTS authors_books
 (
     author_id BIGINT,
     book_id   BIGINT,
@@ -22,7 +22,7 @@ CREATE TABLE authors_books
     PRIMARY KEY (author_id, book_id)
 );
 
-CREATE TABLE readers
+CREATE TABLE IF NOT EXISTS readers
 (
     id         BIGINT AUTO_INCREMENT PRIMARY KEY,
     first_name VARCHAR(30) NOT NULL,
@@ -32,7 +32,7 @@ CREATE TABLE readers
     CONSTRAINT check_phone CHECK (phone REGEXP '^\\+7\\(\\d{3}\\)-\\d{3}-\\d{2}-\\d{2}$')
 );
 
-CREATE TABLE readers_books
+CREATE TABLE IF NOT EXISTS readers_books
 (
     reader_id BIGINT,
     book_id   BIGINT,
@@ -42,7 +42,7 @@ CREATE TABLE readers_books
     PRIMARY KEY (reader_id, book_id)
 );
 
-CREATE TABLE reviews
+CREATE TABLE IF NOT EXISTS reviews
 (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     reader_id BIGINT,
@@ -52,4 +52,4 @@ CREATE TABLE reviews
 
     FOREIGN KEY (reader_id) REFERENCES readers (id) ON DELETE CASCADE,
     FOREIGN KEY (book_id) REFERENCES books (id) ON DELETE CASCADE
-)
\ No newline at end of file
+);
@@ -0,0 +1,30 @@
+-- Changing column types rebuilds the table, so this one is explicit about copying
+ALTER TABLE books
+    MODIFY title VARCHAR(255) COLLATE utf8mb4_0900_ai_ci NOT NULL,
+    MODIFY publish_year SMALLINT NOT NULL,
+    ALGORITHM = COPY, LOCK = SHARED;
+
+ALTER TABLE books
+    ADD INDEX idx_books_title_publish_year (title, publish_year),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- The unique constraint allows one review per reader and book. Later duplicates are moved to an archive
+-- table rather than dropped, so they can still be inspected or merged by hand
+CREATE TABLE reviews_duplicates_archive LIKE reviews;
+
+INSERT INTO reviews_duplicates_archive
+SELECT DISTINCT duplicate.*
+FROM reviews duplicate
+         JOIN reviews original
+              ON original.reader_id = duplicate.reader_id
+                  AND original.book_id = duplicate.book_id
+                  AND original.id < duplicate.id;
+
+DELETE review
+FROM reviews review
+         JOIN reviews_duplicates_archive archived ON archived.id = review.id;
+
+ALTER TABLE reviews
+    ADD CONSTRAINT uq_reviews_reader_book UNIQUE (reader_id, book_id),
+    ADD INDEX idx_reviews_book_id (book_id, id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,14 @@
+ALTER TABLE books
+    ADD COLUMN version    BIGINT       NOT NULL DEFAULT 1,
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE authors
+    ADD COLUMN version    BIGINT       NOT NULL DEFAULT 1,
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE readers
+    ADD COLUMN version    BIGINT       NOT NULL DEFAULT 1,
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -1,14 +1,20 @@
 package dao;
 
+import dto.book.BookAuthorDTO;
+import dto.book.BookListItemDTO;
 import entities.Author;
 import entities.Book;
 import exceptions.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +36,30 @@ public class BookDAOTest extends BaseDAOTest {
         );
     }
 
+    @Test
+    @DisplayName("Create books in batch")
+    void shouldAddAllBooksToDatabase() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(author);
+
+        var books = new ArrayList<Book>();
+
+        for (int i = 0; i < 3; i++) {
+            var book = new Book.BookBuilder("dummy", 1000 + i)
+                    .setAuthors(Set.of(author))
+                    .build();
+
+            books.add(book);
+        }
+
+        bookDAO.createAll(books);
+
+        for (var book : books) {
+            assertEquals(Set.of(author), bookDAO.findById(book.getId()).getAuthors());
+        }
+    }
+
     @Test
     @DisplayName("Add book to author")
     void shouldAddBookToAuthorInDatabase() throws SQLException {
@@ -51,8 +81,33 @@ public class BookDAOTest extends BaseDAOTest {
     }
 
     @Test
-    @DisplayName("Find all books")
-    void shouldReturnAllBooksFromDatabase() throws SQLException {
+    @DisplayName("Increment book and author versions when linking them")
+    void shouldIncrementVersionsWhenAddingBookToAuthor() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(author);
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+
+        var bookVersion = bookDAO.findVersion(book.getId());
+        var authorVersion = authorDAO.findVersion(author.getId());
+
+        bookDAO.addBookToAuthor(book.getId(), author.getId());
+
+        assertAll(
+                () -> assertEquals(bookVersion.getVersion() + 1, bookDAO.findVersion(book.getId()).getVersion()),
+                () -> assertEquals(authorVersion.getVersion() + 1, authorDAO.findVersion(author.getId()).getVersion()),
+                () -> assertEquals(bookDAO.findVersion(book.getId()), bookDAO.findById(book.getId()).getVersion())
+        );
+    }
+
+    @Test
+    @DisplayName("Stream every book")
+    void shouldReturnAllBooksFromDatabase() throws SQLException, IOException {
         var expectedBooks = new HashSet<Book>();
 
         for (int i = 0; i < 3; i++) {
@@ -69,11 +124,124 @@ public class BookDAOTest extends BaseDAOTest {
             bookDAO.create(book);
         }
 
-        var books = bookDAO.findAll();
+        var books = new ArrayList<Book>();
+
+        bookDAO.streamAll(books::add);
 
         assertTrue(books.containsAll(expectedBooks));
     }
 
+    @Test
+    @DisplayName("Stream books with all their authors")
+    void shouldReturnBooksWithAllTheirAuthors() throws SQLException, IOException {
+        var firstAuthor = new Author.AuthorBuilder("dummy", "dummy").build();
+        var secondAuthor = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(firstAuthor);
+        authorDAO.create(secondAuthor);
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(firstAuthor, secondAuthor))
+                .build();
+
+        bookDAO.create(book);
+
+        bookDAO.addBookToAuthor(book.getId(), firstAuthor.getId());
+        bookDAO.addBookToAuthor(book.getId(), secondAuthor.getId());
+
+        var books = new ArrayList<Book>();
+
+        bookDAO.streamAll(books::add);
+
+        var foundBook = books.stream()
+                .filter(book::equals)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(Set.of(firstAuthor, secondAuthor), foundBook.getAuthors());
+    }
+
+    @Test
+    @DisplayName("Stream all books")
+    void shouldStreamAllBooksFromDatabase() throws SQLException, IOException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(author);
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+        bookDAO.addBookToAuthor(book.getId(), author.getId());
+
+        var streamedBooks = new ArrayList<Book>();
+
+        bookDAO.streamAll(streamedBooks::add);
+
+        assertAll(
+                () -> assertEquals(book, streamedBooks.getLast()),
+                () -> assertEquals(Set.of(author), streamedBooks.getLast().getAuthors())
+        );
+    }
+
+    @Test
+    @DisplayName("Find books page after id")
+    void shouldReturnBooksPageAfterGivenId() throws SQLException {
+        var books = new ArrayList<Book>();
+
+        for (int i = 0; i < 3; i++) {
+            var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+            var book = new Book.BookBuilder("dummy", 1111)
+                    .setAuthors(Set.of(author))
+                    .build();
+
+            bookDAO.create(book);
+
+            books.add(book);
+        }
+
+        var page = bookDAO.findItems(books.getFirst().getId(), 2);
+
+        assertEquals(List.of(books.get(1).getId(), books.get(2).getId()),
+                page.stream().map(BookListItemDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Stream all books as listing items")
+    void shouldStreamAllBookItemsFromDatabase() throws SQLException, IOException {
+        var firstAuthor = new Author.AuthorBuilder("dummy", "dummy").build();
+        var secondAuthor = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(firstAuthor);
+        authorDAO.create(secondAuthor);
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(firstAuthor, secondAuthor))
+                .build();
+
+        bookDAO.create(book);
+        bookDAO.addBookToAuthor(book.getId(), firstAuthor.getId());
+        bookDAO.addBookToAuthor(book.getId(), secondAuthor.getId());
+
+        var streamedBooks = new ArrayList<Book>();
+        var streamedItems = new ArrayList<BookListItemDTO>();
+
+        bookDAO.streamAll(streamedBooks::add);
+        bookDAO.streamAllItems(streamedItems::add);
+
+        var item = streamedItems.getLast();
+
+        assertAll(
+                () -> assertEquals(streamedBooks.size(), streamedItems.size()),
+                () -> assertEquals(book.getId(), item.getId()),
+                () -> assertEquals("1111", item.getPublishYear()),
+                () -> assertEquals(Set.of(firstAuthor.getId(), secondAuthor.getId()),
+                        item.getAuthors().stream().map(BookAuthorDTO::getId).collect(Collectors.toSet()))
+        );
+    }
+
     @Test
     @DisplayName("Delete book by id")
     void shouldDeleteAuthorFromDatabase() throws SQLException {
@@ -0,0 +1,99 @@
+package dao;
+
+import entities.Author;
+import entities.Book;
+import entities.Reader;
+import entities.Review;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.RandomPhoneGenerator;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the indexes added in V2 against query rewrites that would stop using them.
+ */
+public class QueryPlanTest extends BaseDAOTest {
+
+    private Book book;
+    private Reader reader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(author);
+
+        book = new Book.BookBuilder("Query Plan", 2024)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+
+        reader = new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build();
+
+        readerDAO.create(reader);
+        reviewDAO.create(new Review.ReviewBuilder(reader, book, "dummy").build());
+    }
+
+    @Test
+    @DisplayName("Book existence check uses the title index")
+    void shouldUseTitleIndexForBookExistenceCheck() throws SQLException {
+        var plan = explain("SELECT id FROM books WHERE title = ? AND publish_year = ?",
+                List.of("QUERY PLAN", 2024));
+
+        assertEquals("idx_books_title_publish_year", plan.get("books"));
+    }
+
+    @Test
+    @DisplayName("Review existence check uses the unique reader and book index")
+    void shouldUseUniqueIndexForReviewExistenceCheck() throws SQLException {
+        var plan = explain("SELECT id FROM reviews WHERE reader_id = ? AND book_id = ?",
+                List.of(reader.getId(), book.getId()));
+
+        assertEquals("uq_reviews_reader_book", plan.get("reviews"));
+    }
+
+    @Test
+    @DisplayName("Book reviews lookup uses the book index")
+    void shouldUseBookIndexForReviewsLookup() throws SQLException {
+        var plan = explain("""
+                  SELECT rv.id, rv.content, rv.date, r.id AS reader_id, r.first_name, r.last_name, r.phone
+                  FROM reviews rv JOIN readers r ON r.id = rv.reader_id
+                  WHERE rv.book_id = ?
+                  ORDER BY rv.id
+                """, List.of(book.getId()));
+
+        assertAll(
+                () -> assertEquals("idx_reviews_book_id", plan.get("rv")),
+                () -> assertEquals("PRIMARY", plan.get("r"))
+        );
+    }
+
+    private Map<String, String> explain(String sql, List<Object> parameters) throws SQLException {
+        var keys = new HashMap<String, String>();
+
+        try (var connection = DATA_SOURCE.getConnection();
+             var preparedStatement = connection.prepareStatement("EXPLAIN " + sql)) {
+
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setObject(i + 1, parameters.get(i));
+            }
+
+            try (var resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    keys.put(resultSet.getString("table"), resultSet.getString("key"));
+                }
+            }
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,54 @@
+package dao;
+
+import entities.Author;
+import exceptions.NotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.TestDatabaseConnector;
+import utils.context.RequestContext;
+import utils.datasource.RoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadReplicaRoutingTest {
+
+    private static final DataSource PRIMARY = TestDatabaseConnector.getDataSource();
+    private static final DataSource REPLICA = TestDatabaseConnector.getReplicaDataSource();
+
+    private final AuthorDAO authorDAO = new AuthorDAO(
+            new RoutingDataSource(PRIMARY, List.of(REPLICA), Duration.ofSeconds(30)));
+
+    @Test
+    @DisplayName("Write to the primary and read from the replica")
+    void shouldWriteToPrimaryAndReadFromReplica() throws SQLException {
+        var author = new Author.AuthorBuilder("primary", "primary").build();
+        var replicaAuthor = new Author.AuthorBuilder("replica", "replica").build();
+
+        authorDAO.create(author);
+        new AuthorDAO(REPLICA).create(replicaAuthor);
+
+        assertAll(
+                () -> assertEquals(author, new AuthorDAO(PRIMARY).findById(author.getId())),
+                () -> assertTrue(authorDAO.findAll().contains(replicaAuthor)),
+                () -> assertFalse(authorDAO.findAll().contains(author))
+        );
+    }
+
+    @Test
+    @DisplayName("Read own writes from the primary")
+    void shouldReadOwnWritesFromPrimary() throws SQLException {
+        var author = new Author.AuthorBuilder("primary", "primary").build();
+
+        authorDAO.create(author);
+
+        assertAll(
+                () -> assertEquals(author, RequestContext.withPrimaryReads(() -> authorDAO.findById(author.getId()))),
+                () -> assertThrows(NotFoundException.class, () -> authorDAO.findById(author.getId()))
+        );
+    }
+}
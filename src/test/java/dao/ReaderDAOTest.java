@@ -1,20 +1,21 @@
 package dao;
 
+import entities.Author;
+import entities.Book;
 import entities.Reader;
 import exceptions.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import utils.RandomPhoneGenerator;
-import utils.TestDatabaseConnector;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-class ReaderDAOTest {
-
-    private final ReaderDAO readerDAO = new ReaderDAO(TestDatabaseConnector.getDataSource());
+class ReaderDAOTest extends BaseDAOTest {
 
     @Test
     @DisplayName("Create reader")
@@ -29,6 +30,29 @@ class ReaderDAOTest {
         );
     }
 
+    @Test
+    @DisplayName("Create readers in batch")
+    void shouldAddAllReadersToDatabase() throws SQLException {
+        var readers = new ArrayList<Reader>();
+
+        for (int i = 0; i < 3; i++) {
+            readers.add(new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build());
+        }
+
+        readerDAO.createAll(readers);
+
+        var phones = new HashSet<String>();
+
+        for (var reader : readers) {
+            assertEquals(reader, readerDAO.findById(reader.getId()));
+
+            phones.add(reader.getPhone());
+        }
+
+        assertEquals(phones, readerDAO.findExistingPhones(phones));
+        assertEquals(Set.of(), readerDAO.findExistingPhones(Set.of()));
+    }
+
     @Test
     @DisplayName("Find all readers")
     void shouldReturnAllReadersFromDatabase() throws SQLException {
@@ -42,11 +66,37 @@ class ReaderDAOTest {
             readerDAO.create(reader);
         }
 
-        var readers = readerDAO.findAll();
+        var readers = readerDAO.findAllWithBooks();
 
         assertTrue(readers.containsAll(expectedReaders));
     }
 
+    @Test
+    @DisplayName("Find all readers with their books")
+    void shouldReturnReadersWithAllTheirBooks() throws SQLException {
+        var reader = new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build();
+
+        readerDAO.create(reader);
+
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        var firstBook = new Book.BookBuilder("dummy", 1111).setAuthors(Set.of(author)).build();
+        var secondBook = new Book.BookBuilder("dummy", 2222).setAuthors(Set.of(author)).build();
+
+        bookDAO.create(firstBook);
+        bookDAO.create(secondBook);
+
+        readerDAO.addBookToReader(reader.getId(), firstBook.getId());
+        readerDAO.addBookToReader(reader.getId(), secondBook.getId());
+
+        var foundReader = readerDAO.findAllWithBooks().stream()
+                .filter(reader::equals)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(Set.of(firstBook, secondBook), foundReader.getBooks());
+    }
+
     @Test
     @DisplayName("Update reader phone")
     void shouldUpdateReaderPhoneInDatabase() throws SQLException {
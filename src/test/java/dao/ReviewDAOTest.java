@@ -4,11 +4,13 @@ import entities.Author;
 import entities.Book;
 import entities.Reader;
 import entities.Review;
+import exceptions.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import utils.RandomPhoneGenerator;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -43,6 +45,76 @@ public class ReviewDAOTest extends BaseDAOTest {
         );
     }
 
+    @Test
+    @DisplayName("Create reviews in batch")
+    void shouldAddAllReviewsToDatabase() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        authorDAO.create(author);
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+
+        var reviews = new ArrayList<Review>();
+
+        for (int i = 0; i < 3; i++) {
+            var reader = new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build();
+
+            readerDAO.create(reader);
+
+            reviews.add(new Review.ReviewBuilder(reader, book, "dummy").build());
+        }
+
+        reviewDAO.createAll(reviews);
+
+        assertTrue(reviewDAO.findAll(book.getId()).containsAll(reviews));
+    }
+
+    @Test
+    @DisplayName("Report a review of a missing reader as a failure, not a duplicate")
+    void shouldNotReportMissingReaderAsDuplicate() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+
+        var reader = new Reader.ReaderBuilder(Long.MAX_VALUE, "dummy").build();
+
+        var review = new Review.ReviewBuilder(reader, book, "dummy").build();
+
+        var exception = assertThrows(SQLException.class, () -> reviewDAO.create(review));
+
+        assertFalse(SqlErrors.isDuplicateKey(exception));
+    }
+
+    @Test
+    @DisplayName("Check review reader and book")
+    void shouldThrowWhenReviewReferencesAreMissing() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+
+        var reader = new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build();
+
+        readerDAO.create(reader);
+
+        assertAll(
+                () -> assertDoesNotThrow(() -> reviewDAO.checkReferences(reader.getId(), book.getId())),
+                () -> assertThrows(NotFoundException.class, () -> reviewDAO.checkReferences(Long.MAX_VALUE, book.getId())),
+                () -> assertThrows(NotFoundException.class, () -> reviewDAO.checkReferences(reader.getId(), Long.MAX_VALUE))
+        );
+    }
+
     @Test
     @DisplayName("Find all reviews by book id")
     void shouldReturnAllBookReviewsFromDatabase() throws SQLException {
@@ -74,4 +146,29 @@ public class ReviewDAOTest extends BaseDAOTest {
 
         assertTrue(reviews.containsAll(expectedReviews));
     }
+
+    @Test
+    @DisplayName("Find all reviews by book id with their readers")
+    void shouldReturnBookReviewsWithTheirReaders() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(author))
+                .build();
+
+        bookDAO.create(book);
+
+        var reader = new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build();
+
+        readerDAO.create(reader);
+
+        reviewDAO.create(new Review.ReviewBuilder(reader, book, "dummy").build());
+
+        var review = reviewDAO.findAll(book.getId()).getFirst();
+
+        assertAll(
+                () -> assertEquals(reader, review.getReader()),
+                () -> assertEquals(reader.getPhone(), review.getReader().getPhone())
+        );
+    }
 }
@@ -0,0 +1,80 @@
+package dao;
+
+import entities.Author;
+import entities.Book;
+import entities.Reader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.RandomPhoneGenerator;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utils.StatementCounter.countStatements;
+
+/**
+ * Pins the number of statements the list endpoints cost, whatever the number of rows.
+ */
+public class StatementBudgetTest extends BaseDAOTest {
+
+    private static final int ROWS = 5;
+
+    private Book lastBook;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (int i = 0; i < ROWS; i++) {
+            var author = new Author.AuthorBuilder("dummy", "dummy").build();
+
+            authorDAO.create(author);
+
+            var book = new Book.BookBuilder("dummy", 1000 + i)
+                    .setAuthors(Set.of(author))
+                    .build();
+
+            bookDAO.create(book);
+            bookDAO.addBookToAuthor(book.getId(), author.getId());
+
+            var reader = new Reader.ReaderBuilder("dummy", "dummy", RandomPhoneGenerator.generate()).build();
+
+            readerDAO.create(reader);
+            readerDAO.addBookToReader(reader.getId(), book.getId());
+
+            lastBook = book;
+        }
+    }
+
+    @Test
+    @DisplayName("GET /books streams all books with one statement")
+    void streamAllBooks_shouldExecuteOneStatement() throws Exception {
+        assertEquals(1, countStatements(() -> bookDAO.streamAllItems(item -> {
+        })));
+    }
+
+    @Test
+    @DisplayName("Pages of books, authors and readers take one statement each")
+    void findPages_shouldExecuteOneStatementEach() throws Exception {
+        assertAll(
+                () -> assertEquals(1, countStatements(() -> bookDAO.findItems(0, ROWS))),
+                () -> assertEquals(1, countStatements(() -> authorDAO.findAll(0, ROWS))),
+                () -> assertEquals(1, countStatements(() -> readerDAO.findAllWithBooks(0, ROWS)))
+        );
+    }
+
+    @Test
+    @DisplayName("GET /authors and GET /readers load everything with one statement")
+    void findAll_shouldExecuteOneStatement() throws Exception {
+        assertAll(
+                () -> assertEquals(1, countStatements(authorDAO::findAll)),
+                () -> assertEquals(1, countStatements(readerDAO::findAllWithBooks))
+        );
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} loads the book with its authors with one statement")
+    void findBookById_shouldExecuteOneStatement() throws Exception {
+        assertEquals(1, countStatements(() -> bookDAO.findById(lastBook.getId())));
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class BookForwardFilterTest {
@@ -44,5 +45,6 @@ public class BookForwardFilterTest {
         bookForwardFilter.doFilter(request, response, filterChain);
 
         verify(requestDispatcher).forward(request, response);
+        verifyNoInteractions(filterChain);
     }
 }
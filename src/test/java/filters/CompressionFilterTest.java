@@ -0,0 +1,178 @@
+package filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"title\":\"dummy\"},".repeat(1000);
+
+    @Mock
+    HttpServletRequest request;
+
+    @Mock
+    HttpServletResponse response;
+
+    @Mock
+    FilterChain filterChain;
+
+    @InjectMocks
+    private CompressionFilter compressionFilter;
+
+    private final CapturingOutputStream outputStream = new CapturingOutputStream();
+
+    @Test
+    @DisplayName("Gzip a large body")
+    void doFilterLargeBody_shouldSendGzip() throws IOException, ServletException {
+        doReturn("gzip, deflate, br").when(request).getHeader("Accept-Encoding");
+        doReturn(outputStream).when(response).getOutputStream();
+        doReturn("UTF-8").when(response).getCharacterEncoding();
+
+        doAnswer(invocation -> {
+            HttpServletResponse wrapper = invocation.getArgument(1);
+            wrapper.getWriter().print(LARGE_BODY);
+            return null;
+        }).when(filterChain).doFilter(eq(request), any());
+
+        compressionFilter.doFilter(request, response, filterChain);
+
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response).addHeader("Vary", "Accept-Encoding");
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertEquals(LARGE_BODY, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertTrue(outputStream.closed);
+    }
+
+    @Test
+    @DisplayName("Deflate when the client prefers it")
+    void doFilterDeflatePreferred_shouldSendDeflate() throws IOException, ServletException {
+        doReturn("gzip;q=0.5, deflate").when(request).getHeader("Accept-Encoding");
+        doReturn(outputStream).when(response).getOutputStream();
+
+        doAnswer(invocation -> {
+            HttpServletResponse wrapper = invocation.getArgument(1);
+            wrapper.getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+            wrapper.getOutputStream().close();
+            return null;
+        }).when(filterChain).doFilter(eq(request), any());
+
+        compressionFilter.doFilter(request, response, filterChain);
+
+        verify(response).setHeader("Content-Encoding", "deflate");
+
+        try (var inflater = new InflaterInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertEquals(LARGE_BODY, new String(inflater.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Send a small body as it is")
+    void doFilterSmallBody_shouldNotCompress() throws IOException, ServletException {
+        doReturn("gzip").when(request).getHeader("Accept-Encoding");
+        doReturn(outputStream).when(response).getOutputStream();
+        doReturn("UTF-8").when(response).getCharacterEncoding();
+
+        doAnswer(invocation -> {
+            HttpServletResponse wrapper = invocation.getArgument(1);
+            wrapper.getWriter().print("{}");
+            return null;
+        }).when(filterChain).doFilter(eq(request), any());
+
+        compressionFilter.doFilter(request, response, filterChain);
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), any());
+        assertEquals("{}", outputStream.toString());
+    }
+
+    @Test
+    @DisplayName("Pass through when the client accepts no supported coding")
+    void doFilterWithoutAcceptEncoding_shouldPassThrough() throws IOException, ServletException {
+        doReturn("br, gzip;q=0").when(request).getHeader("Accept-Encoding");
+
+        compressionFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Wrap a forwarded response only once")
+    void doFilterForwarded_shouldNotWrapTwice() throws IOException, ServletException {
+        doReturn(Boolean.TRUE).when(request).getAttribute(CompressionFilter.class.getName() + ".applied");
+
+        compressionFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(response, never()).addHeader(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Leave an async response open for the worker")
+    void doFilterAsync_shouldNotFinishBody() throws IOException, ServletException {
+        doReturn("gzip").when(request).getHeader("Accept-Encoding");
+        doReturn(true).when(request).isAsyncStarted();
+
+        compressionFilter.doFilter(request, response, filterChain);
+
+        verify(response, never()).getOutputStream();
+    }
+
+    private static class CapturingOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private boolean closed;
+
+        @Override
+        public void write(int b) {
+            buffer.write(b);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        private byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package filters;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import utils.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsFilterTest {
+
+    @Mock
+    HttpServletRequest request;
+
+    @Mock
+    HttpServletResponse response;
+
+    @Mock
+    FilterChain filterChain;
+
+    @Mock
+    FilterConfig filterConfig;
+
+    @Mock
+    ServletContext servletContext;
+
+    @Mock
+    HttpServletMapping mapping;
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    private final MetricsFilter metricsFilter = new MetricsFilter();
+
+    @BeforeEach
+    void setUp() {
+        doReturn(servletContext).when(filterConfig).getServletContext();
+        doReturn(metricsRegistry).when(servletContext).getAttribute("metricsRegistry");
+
+        metricsFilter.init(filterConfig);
+    }
+
+    @Test
+    @DisplayName("Record a request by its servlet mapping")
+    void doFilter_shouldRecordRequestByRoute() throws IOException, ServletException {
+        doReturn(mapping).when(request).getHttpServletMapping();
+        doReturn("/books/*").when(mapping).getPattern();
+        doReturn("GET").when(request).getMethod();
+        doReturn(404).when(response).getStatus();
+
+        metricsFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+
+        var snapshot = metricsRegistry.getRequests().getSnapshots().get(List.of("/books/*", "GET", "404"));
+
+        assertEquals(1, snapshot.getCount());
+    }
+
+    @Test
+    @DisplayName("Record a request with an unknown method under OTHER")
+    void doFilterUnknownMethod_shouldRecordAsOther() throws IOException, ServletException {
+        doReturn(mapping).when(request).getHttpServletMapping();
+        doReturn("/books/*").when(mapping).getPattern();
+        doReturn("FOO" + System.nanoTime()).when(request).getMethod();
+        doReturn(405).when(response).getStatus();
+
+        metricsFilter.doFilter(request, response, filterChain);
+
+        var snapshot = metricsRegistry.getRequests().getSnapshots().get(List.of("/books/*", "OTHER", "405"));
+
+        assertEquals(1, snapshot.getCount());
+    }
+
+    @Test
+    @DisplayName("Record an async request once it completes")
+    void doFilterAsync_shouldRecordOnComplete() throws IOException, ServletException {
+        var asyncContext = mock(AsyncContext.class);
+
+        doReturn(mapping).when(request).getHttpServletMapping();
+        doReturn("/books").when(mapping).getPattern();
+        doReturn(true).when(request).isAsyncStarted();
+        doReturn(asyncContext).when(request).getAsyncContext();
+
+        metricsFilter.doFilter(request, response, filterChain);
+
+        assertTrue(metricsRegistry.getRequests().getSnapshots().isEmpty());
+
+        var listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+
+        verify(asyncContext).addListener(listenerCaptor.capture());
+
+        doReturn("POST").when(request).getMethod();
+        doReturn(201).when(response).getStatus();
+
+        listenerCaptor.getValue().onComplete(new AsyncEvent(asyncContext));
+
+        assertEquals(1, metricsRegistry.getRequests().getSnapshots().get(List.of("/books", "POST", "201")).getCount());
+    }
+
+    @Test
+    @DisplayName("Record a forwarded request under the mapping the client called")
+    void doFilterForwarded_shouldRecordOriginalRoute() throws IOException, ServletException {
+        doReturn(null).when(request).getAttribute(MetricsFilter.class.getName() + ".applied");
+        doReturn(mapping).when(request).getAttribute(RequestDispatcher.FORWARD_MAPPING);
+        doReturn("/books/*").when(mapping).getPattern();
+        doReturn("GET").when(request).getMethod();
+        doReturn(200).when(response).getStatus();
+
+        metricsFilter.doFilter(request, response, filterChain);
+
+        verify(request).setAttribute(MetricsFilter.class.getName() + ".applied", Boolean.TRUE);
+        assertEquals(1, metricsRegistry.getRequests().getSnapshots().get(List.of("/books/*", "GET", "200")).getCount());
+    }
+
+    @Test
+    @DisplayName("Record a request once when it passes the filter again on a forward")
+    void doFilterAlreadyApplied_shouldNotRecordAgain() throws IOException, ServletException {
+        doReturn(Boolean.TRUE).when(request).getAttribute(MetricsFilter.class.getName() + ".applied");
+
+        metricsFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertTrue(metricsRegistry.getRequests().getSnapshots().isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import utils.context.RequestContext;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesFilterTest {
+
+    @Mock
+    HttpServletRequest request;
+
+    @Mock
+    HttpServletResponse response;
+
+    @Mock
+    FilterChain filterChain;
+
+    @InjectMocks
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Test
+    @DisplayName("Read from the primary and remember the write time on writes")
+    void doFilterWrite_shouldSetLastWriteCookie() throws IOException, ServletException {
+        doReturn("POST").when(request).getMethod();
+        doReturn("/library").when(request).getContextPath();
+
+        var primaryReads = new boolean[1];
+
+        doAnswer(invocation -> primaryReads[0] = RequestContext.current().isPrimaryReads())
+                .when(filterChain).doFilter(request, response);
+
+        readYourWritesFilter.doFilter(request, response, filterChain);
+
+        var cookieCaptor = ArgumentCaptor.forClass(Cookie.class);
+        verify(response).addCookie(cookieCaptor.capture());
+
+        assertAll(
+                () -> assertTrue(primaryReads[0]),
+                () -> assertEquals(ReadYourWritesFilter.LAST_WRITE_COOKIE, cookieCaptor.getValue().getName()),
+                () -> assertEquals("/library", cookieCaptor.getValue().getPath()),
+                () -> assertFalse(RequestContext.current().isPrimaryReads())
+        );
+    }
+
+    @Test
+    @DisplayName("Read from the primary right after the client's write")
+    void doFilterReadAfterWrite_shouldReadFromPrimary() throws IOException, ServletException {
+        var lastWrite = new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis()));
+
+        doReturn("GET").when(request).getMethod();
+        doReturn(new Cookie[]{lastWrite}).when(request).getCookies();
+
+        var primaryReads = new boolean[1];
+
+        doAnswer(invocation -> primaryReads[0] = RequestContext.current().isPrimaryReads())
+                .when(filterChain).doFilter(request, response);
+
+        readYourWritesFilter.doFilter(request, response, filterChain);
+
+        assertTrue(primaryReads[0]);
+        verify(response, never()).addCookie(any());
+    }
+
+    @Test
+    @DisplayName("Read from replicas once the write is old enough")
+    void doFilterReadLongAfterWrite_shouldReadFromReplicas() throws IOException, ServletException {
+        var lastWrite = new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis() - 60_000));
+
+        doReturn("GET").when(request).getMethod();
+        doReturn(new Cookie[]{lastWrite}).when(request).getCookies();
+
+        var primaryReads = new boolean[]{true};
+
+        doAnswer(invocation -> primaryReads[0] = RequestContext.current().isPrimaryReads())
+                .when(filterChain).doFilter(request, response);
+
+        readYourWritesFilter.doFilter(request, response, filterChain);
+
+        assertFalse(primaryReads[0]);
+    }
+}
@@ -2,24 +2,32 @@ package services;
 
 import dao.AuthorDAO;
 import dao.BookDAO;
+import dto.PageRequestDTO;
+import dto.book.BookListItemDTO;
 import dto.book.CreateBookDTO;
 import entities.Author;
 import entities.Book;
+import exceptions.BulkImportException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import utils.datasource.TransactionManager;
+import utils.datasource.TransactionManager.TransactionCallback;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BookServiceTest {
@@ -30,6 +38,9 @@ class BookServiceTest {
     @Mock
     private AuthorDAO authorDAO;
 
+    @Mock
+    private TransactionManager transactionManager;
+
     @InjectMocks
     private BookService bookService;
 
@@ -46,6 +57,8 @@ class BookServiceTest {
         var createBookDTO = new CreateBookDTO("dummy", 1111, authorsId);
 
         doReturn(author).when(authorDAO).findById(author.getId());
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).execute())
+                .when(transactionManager).inTransaction(any());
 
         var bookResponseDTO = bookService.create(createBookDTO);
 
@@ -61,13 +74,85 @@ class BookServiceTest {
     }
 
     @Test
-    @DisplayName("Find all books")
-    void findAll_shouldReturnBookResponseDTOList() throws SQLException {
-        var bookResponseDTOList = bookService.findAll();
+    @DisplayName("Create books in bulk")
+    void createAllBooks_shouldReturnCreatedIds() throws SQLException {
+        var createBookDTOList = List.of(
+                new CreateBookDTO("first", 1111, Set.of(1L)),
+                new CreateBookDTO("second", 2222, Set.of(1L, 2L))
+        );
+
+        doReturn(Set.of(1L, 2L)).when(authorDAO).findExistingIds(Set.of(1L, 2L));
+        doReturn(new ArrayList<Book>()).when(bookDAO).findAllByTitles(Set.of("first", "second"));
+
+        doAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+
+            for (int i = 0; i < books.size(); i++) {
+                books.get(i).setId(i + 1L);
+            }
+
+            return null;
+        }).when(bookDAO).createAll(anyList());
+
+        var bulkImportResponseDTO = bookService.createAll(createBookDTOList);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L), bulkImportResponseDTO.getIds()),
+                () -> assertTrue(bulkImportResponseDTO.getErrors().isEmpty())
+        );
+    }
 
-        verify(bookDAO).findAll();
+    @Test
+    @DisplayName("Create books in bulk with unknown authors and duplicates")
+    void createAllBooksWithInvalidItems_shouldThrowBulkImportException() throws SQLException {
+        var author = new Author.AuthorBuilder("dummy", "dummy")
+                .setId(1L)
+                .build();
 
-        assertNotNull(bookResponseDTOList);
+        var existingBook = new Book.BookBuilder("Existing", 1111)
+                .setId(1L)
+                .setAuthors(Set.of(author))
+                .build();
+
+        var createBookDTOList = List.of(
+                new CreateBookDTO("existing", 1111, Set.of(1L)),
+                new CreateBookDTO("new", 2222, Set.of(2L)),
+                new CreateBookDTO("new", 2222, Set.of(2L))
+        );
+
+        doReturn(Set.of(1L)).when(authorDAO).findExistingIds(Set.of(1L, 2L));
+        doReturn(new ArrayList<>(List.of(existingBook))).when(bookDAO).findAllByTitles(Set.of("existing", "new"));
+
+        var exception = assertThrows(BulkImportException.class, () -> bookService.createAll(createBookDTOList));
+
+        var errors = exception.getErrors().stream()
+                .map(error -> error.getIndex() + ": " + error.getMessage())
+                .toList();
+
+        assertEquals(List.of("0: Book already exists", "1: Author 2 not found", "2: Author 2 not found",
+                "2: Book already exists"), errors);
+
+        verify(bookDAO, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Find books page")
+    void findPage_shouldReturnItemsWithNextCursor() throws SQLException {
+        var items = List.of(new BookListItemDTO(3L, "dummy", "1111"), new BookListItemDTO(5L, "dummy", "2222"));
+
+        doReturn(items).when(bookDAO).findItems(2L, 2);
+
+        var fullPage = bookService.findPage(new PageRequestDTO(2L, 2));
+
+        doReturn(items).when(bookDAO).findItems(2L, 3);
+
+        var lastPage = bookService.findPage(new PageRequestDTO(2L, 3));
+
+        assertAll(
+                () -> assertEquals(items, fullPage.getItems()),
+                () -> assertEquals(5L, fullPage.getNext()),
+                () -> assertNull(lastPage.getNext())
+        );
     }
 
     @Test
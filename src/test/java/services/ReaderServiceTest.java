@@ -2,6 +2,7 @@ package services;
 
 import dao.BookDAO;
 import dao.ReaderDAO;
+import dto.BulkItemErrorDTO;
 import dto.reader.CreateReaderRequestDTO;
 import dto.reader.UpdateReaderPhoneDTO;
 import entities.Book;
@@ -14,11 +15,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 
@@ -51,12 +58,40 @@ class ReaderServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Create readers skipping taken and repeated phones")
+    void createAllReaders_shouldReturnIdsAlignedWithRequests() throws SQLException {
+        var createReaderRequestDTOList = List.of(
+                new CreateReaderRequestDTO("dummy", "dummy", "first"),
+                new CreateReaderRequestDTO("dummy", "dummy", "taken"),
+                new CreateReaderRequestDTO("dummy", "dummy", "first")
+        );
+
+        doReturn(new HashSet<>(Set.of("taken"))).when(readerDAO).findExistingPhones(anySet());
+
+        doAnswer(invocation -> {
+            List<Reader> readers = invocation.getArgument(0);
+            readers.getFirst().setId(1L);
+            return null;
+        }).when(readerDAO).createAll(anyList());
+
+        var bulkImportResponseDTO = readerService.createAll(createReaderRequestDTOList);
+
+        var errors = bulkImportResponseDTO.getErrors();
+
+        assertAll(
+                () -> assertEquals(Arrays.asList(1L, null, null), bulkImportResponseDTO.getIds()),
+                () -> assertEquals(List.of(1, 2), errors.stream().map(BulkItemErrorDTO::getIndex).toList()),
+                () -> assertEquals("Reader already exists", errors.getFirst().getMessage())
+        );
+    }
+
     @Test
     @DisplayName("Find all readers")
     void findAll_shouldReturnReaderResponseDTOList() throws SQLException {
         var readerResponseDTOList = readerService.findAll();
 
-        verify(readerDAO).findAll();
+        verify(readerDAO).findAllWithBooks();
 
         assertNotNull(readerResponseDTOList);
     }
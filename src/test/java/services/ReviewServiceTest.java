@@ -8,13 +8,18 @@ import dto.review.CreateReviewDTO;
 import entities.Book;
 import entities.Reader;
 import entities.Review;
+import exceptions.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import utils.writebehind.PendingWrite;
+import utils.writebehind.WriteBehindQueue;
+
 import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +27,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ReviewServiceTest {
@@ -74,4 +81,58 @@ class ReviewServiceTest {
 
         assertNotNull(bookReviewDTOList);
     }
+
+    @Test
+    @DisplayName("Queue review after checking its reader and book")
+    void enqueueReview_shouldReturnPendingQueuedReviewDTO() throws SQLException {
+        @SuppressWarnings("unchecked")
+        WriteBehindQueue<Review> writeQueue = mock(WriteBehindQueue.class);
+        @SuppressWarnings("unchecked")
+        PendingWrite<Review> pendingWrite = mock(PendingWrite.class);
+
+        var writeBehindReviewService = new ReviewService(reviewDAO, readerDAO, bookDAO, writeQueue);
+
+        doReturn(pendingWrite).when(writeQueue).submit(any(Review.class));
+        doReturn("dummy").when(pendingWrite).getTrackingId();
+        doReturn(PendingWrite.Status.PENDING).when(pendingWrite).getStatus();
+
+        var queuedReviewDTO = writeBehindReviewService.enqueue(new CreateReviewDTO(1L, 2L, "dummy"));
+
+        var reviewCaptor = ArgumentCaptor.forClass(Review.class);
+
+        verify(reviewDAO).checkReferences(1L, 2L);
+        verify(writeQueue).submit(reviewCaptor.capture());
+        verifyNoInteractions(readerDAO, bookDAO);
+
+        assertAll(
+                () -> assertEquals(1L, reviewCaptor.getValue().getReader().getId()),
+                () -> assertEquals(2L, reviewCaptor.getValue().getBook().getId()),
+                () -> assertEquals("dummy", queuedReviewDTO.getTrackingId()),
+                () -> assertEquals("PENDING", queuedReviewDTO.getStatus()),
+                () -> assertNull(queuedReviewDTO.getReviewId())
+        );
+    }
+
+    @Test
+    @DisplayName("Report a queued review whose reader or book is gone")
+    void findQueuedWithMissingReference_shouldReturnFailureMessage() {
+        @SuppressWarnings("unchecked")
+        WriteBehindQueue<Review> writeQueue = mock(WriteBehindQueue.class);
+        @SuppressWarnings("unchecked")
+        PendingWrite<Review> pendingWrite = mock(PendingWrite.class);
+
+        var writeBehindReviewService = new ReviewService(reviewDAO, readerDAO, bookDAO, writeQueue);
+
+        doReturn(pendingWrite).when(writeQueue).find("dummy");
+        doReturn("dummy").when(pendingWrite).getTrackingId();
+        doReturn(PendingWrite.Status.FAILED).when(pendingWrite).getStatus();
+        doReturn(new NotFoundException("The reader or the book no longer exists")).when(pendingWrite).getError();
+
+        var queuedReviewDTO = writeBehindReviewService.findQueued("dummy");
+
+        assertAll(
+                () -> assertEquals("FAILED", queuedReviewDTO.getStatus()),
+                () -> assertEquals("The reader or the book no longer exists", queuedReviewDTO.getMessage())
+        );
+    }
 }
@@ -1,7 +1,9 @@
 package servlets;
 
+import dto.author.AuthorResponseDTO;
 import dto.author.CreateAuthorRequestDTO;
 import dto.author.UpdateAuthorNameDTO;
+import entities.EntityVersion;
 import exceptions.NotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +20,8 @@ import utils.response.ErrorResponse;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -50,13 +54,50 @@ class AuthorsServletTest extends BaseServletTest {
         @Test
         @DisplayName("Get author by id")
         void getAuthorById_authorResponseDTOSend() throws SQLException, IOException {
+            var authorResponseDTO = new AuthorResponseDTO(1L, "dummy", "dummy", Set.of());
+
+            authorResponseDTO.setVersion(new EntityVersion(3, Instant.ofEpochSecond(1_700_000_000)));
+
             doReturn("/1").when(request).getPathInfo();
+            doReturn(authorResponseDTO).when(authorService).findById(1L);
             doReturn(printWriter).when(response).getWriter();
 
             authorsServlet.doGet(request, response);
 
-            var authorResponseDTO = authorService.findById(anyLong());
+            verify(response).setHeader("ETag", "W/\"3\"");
+            verify(response).setDateHeader("Last-Modified", 1_700_000_000_000L);
+            verifyResponsePrinted(authorResponseDTO);
+        }
+
+        @Test
+        @DisplayName("Get unchanged author by id")
+        void getAuthorByIdWithMatchingETag_sendNotModified() throws SQLException, IOException {
+            doReturn("/1").when(request).getPathInfo();
+            doReturn("W/\"3\"").when(request).getHeader("If-None-Match");
+            doReturn(new EntityVersion(3, Instant.ofEpochSecond(1_700_000_000))).when(authorService).findVersion(1L);
+
+            authorsServlet.doGet(request, response);
+
+            verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            verify(authorService, never()).findById(anyLong());
+        }
+
+        @Test
+        @DisplayName("Get changed author by id")
+        void getAuthorByIdWithStaleETag_authorResponseDTOSend() throws SQLException, IOException {
+            var authorResponseDTO = new AuthorResponseDTO(1L, "dummy", "dummy", Set.of());
+
+            authorResponseDTO.setVersion(new EntityVersion(4, Instant.ofEpochSecond(1_700_000_000)));
+
+            doReturn("/1").when(request).getPathInfo();
+            doReturn("W/\"3\"").when(request).getHeader("If-None-Match");
+            doReturn(authorResponseDTO.getVersion()).when(authorService).findVersion(1L);
+            doReturn(authorResponseDTO).when(authorService).findById(1L);
+            doReturn(printWriter).when(response).getWriter();
+
+            authorsServlet.doGet(request, response);
 
+            verify(response).setHeader("ETag", "W/\"4\"");
             verifyResponsePrinted(authorResponseDTO);
         }
 
@@ -2,12 +2,17 @@ package servlets;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.mockito.Mock;
 
+import java.io.ByteArrayOutputStream;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 
 abstract class BaseServletTest {
@@ -24,10 +29,42 @@ abstract class BaseServletTest {
     void verifyResponsePrinted(Object expectedResponse) throws JsonProcessingException {
         var mapper = new ObjectMapper();
 
-        var jsonResponse = mapper
-                .writerWithDefaultPrettyPrinter()
-                .writeValueAsString(expectedResponse);
+        var jsonResponse = mapper.writeValueAsString(expectedResponse);
 
         verify(printWriter).print(jsonResponse);
     }
+
+    void verifyResponseStreamed(ByteArrayServletOutputStream outputStream, Object expectedResponse)
+            throws JsonProcessingException {
+
+        var mapper = new ObjectMapper();
+
+        var jsonResponse = mapper.writeValueAsString(expectedResponse);
+
+        assertEquals(jsonResponse, outputStream.toString());
+    }
+
+    static class ByteArrayServletOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            buffer.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString(StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package servlets;
+
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import dto.book.CreateBookDTO;
+import exceptions.BulkImportException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import services.BookService;
+import utils.response.ErrorResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BooksBulkServletTest extends BaseServletTest {
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private BooksBulkServlet booksBulkServlet;
+
+    @ParameterizedTest
+    @DisplayName("Import books from JSON array or newline-delimited JSON")
+    @ValueSource(strings = {
+            "[{\"title\": \"first\", \"publishYear\": 2024, \"authors\": [1, 2]}, {\"title\": \"second\", \"publishYear\": \"2023\", \"authors\": [\"3\"]}]",
+            "{\"title\": \"first\", \"publishYear\": 2024, \"authors\": [1, 2]}\n{\"title\": \"second\", \"publishYear\": \"2023\", \"authors\": [\"3\"]}\n"
+    })
+    void importBooks_bulkImportResponseDTOSend(String payload) throws SQLException, IOException {
+        var bulkImportResponseDTO = new BulkImportResponseDTO(List.of(1L, 2L), List.of());
+
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doReturn(bulkImportResponseDTO).when(bookService).createAll(anyList());
+        doReturn(printWriter).when(response).getWriter();
+
+        booksBulkServlet.doPost(request, response);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateBookDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bookService).createAll(captor.capture());
+
+        var createBookDTOList = captor.getValue();
+
+        assertAll(
+                () -> assertEquals(2, createBookDTOList.size()),
+                () -> assertEquals("second", createBookDTOList.get(1).getTitle()),
+                () -> assertEquals(2023, createBookDTOList.get(1).getPublishYear()),
+                () -> assertEquals(Set.of(1L, 2L), createBookDTOList.get(0).getAuthorsId())
+        );
+
+        verify(response).setStatus(HttpServletResponse.SC_CREATED);
+        verifyResponsePrinted(bulkImportResponseDTO);
+    }
+
+    @Test
+    @DisplayName("Import books with invalid items")
+    void importBooksWithInvalidItems_sendBadRequestWithItemErrors() throws IOException {
+        var payload = """
+                [
+                  {"title": "valid", "publishYear": 2024, "authors": [1]},
+                  {"title": "title!-+", "publishYear": 2024, "authors": [1]},
+                  {"title": "valid", "publishYear": 2024},
+                  {"title": "valid", "publishYear": 2024, "authors": []}
+                ]
+                """;
+
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doReturn(printWriter).when(response).getWriter();
+
+        booksBulkServlet.doPost(request, response);
+
+        var errors = List.of(
+                new BulkItemErrorDTO(1, "Only letters and numbers are allowed in the title parameter"),
+                new BulkItemErrorDTO(2, "Missing authors id parameter"),
+                new BulkItemErrorDTO(3, "Missing authors id parameter")
+        );
+
+        verifyNoInteractions(bookService);
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        verifyResponsePrinted(new BulkImportResponseDTO(List.of(), errors));
+    }
+
+    @Test
+    @DisplayName("Import books rejected by service")
+    void importBooksRejectedByService_sendBadRequestWithItemErrors() throws SQLException, IOException {
+        var payload = "[{\"title\": \"valid\", \"publishYear\": 2024, \"authors\": [1]}]";
+        var errors = List.of(new BulkItemErrorDTO(0, "Author 1 not found"));
+
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doThrow(new BulkImportException(errors)).when(bookService).createAll(anyList());
+        doReturn(printWriter).when(response).getWriter();
+
+        booksBulkServlet.doPost(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        verifyResponsePrinted(new BulkImportResponseDTO(List.of(), errors));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Import books with malformed payload")
+    @ValueSource(strings = {"[{\"title\": ", "", "not json"})
+    void importBooksWithMalformedPayload_sendBadRequest(String payload) throws IOException {
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doReturn(printWriter).when(response).getWriter();
+        doReturn(400).when(response).getStatus();
+
+        booksBulkServlet.doPost(request, response);
+
+        var message = payload.isEmpty() ? "No books to import" : "Malformed JSON payload";
+
+        verifyResponsePrinted(new ErrorResponse(400, message));
+    }
+}
@@ -1,7 +1,14 @@
 package servlets;
 
+import dao.RowCallback;
+import dto.PageRequestDTO;
+import dto.PageResponseDTO;
+import dto.book.BookListItemDTO;
+import dto.book.BookResponseDTO;
 import dto.book.CreateBookDTO;
+import entities.EntityVersion;
 import exceptions.NotFoundException;
+import exceptions.ResponseAbortedException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -19,8 +27,12 @@ import utils.response.ErrorResponse;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,27 +50,190 @@ class BooksServletTest extends BaseServletTest {
 
         @Test
         @DisplayName("Get all books")
-        void getAllBooks_bookResponseDTOListSend() throws SQLException, IOException {
+        void getAllBooks_bookListItemDTOListStreamed() throws SQLException, IOException {
+            var bookListItemDTOList = List.of(
+                    new BookListItemDTO(1L, "dummy", "1111"),
+                    new BookListItemDTO(2L, "dummy", "2222")
+            );
+
+            var outputStream = new ByteArrayServletOutputStream();
+
+            doReturn(null).when(request).getPathInfo();
+            doReturn(outputStream).when(response).getOutputStream();
+
+            doAnswer(invocation -> {
+                RowCallback<BookListItemDTO> callback = invocation.getArgument(0);
+
+                for (var bookListItemDTO : bookListItemDTOList) {
+                    callback.accept(bookListItemDTO);
+                }
+
+                return null;
+            }).when(bookService).forEach(any());
+
+            booksServlet.doGet(request, response);
+
+            verifyResponseStreamed(outputStream, bookListItemDTOList);
+        }
+
+        @Test
+        @DisplayName("Abort a listing that fails after the response was committed")
+        void getAllBooksFailingAfterCommit_throwResponseAborted() throws SQLException, IOException {
+            var outputStream = new ByteArrayServletOutputStream();
+            var sqlException = new SQLException("Connection lost");
+
+            doReturn(null).when(request).getPathInfo();
+            doReturn(outputStream).when(response).getOutputStream();
+            doReturn(true).when(response).isCommitted();
+
+            doAnswer(invocation -> {
+                RowCallback<BookListItemDTO> callback = invocation.getArgument(0);
+
+                callback.accept(new BookListItemDTO(1L, "dummy", "1111"));
+
+                throw sqlException;
+            }).when(bookService).forEach(any());
+
+            var exception = assertThrows(ResponseAbortedException.class, () -> booksServlet.doGet(request, response));
+
+            assertSame(sqlException, exception.getCause());
+            assertFalse(outputStream.toString().endsWith("]"));
+            verify(response, never()).setStatus(anyInt());
+        }
+
+        @Test
+        @DisplayName("Get all books when there are none")
+        void getAllBooksWhenEmpty_sendNotFound() throws SQLException, IOException {
             doReturn(null).when(request).getPathInfo();
             doReturn(printWriter).when(response).getWriter();
+            doReturn(404).when(response).getStatus();
+
+            var notFoundException = new NotFoundException("Books not found");
+            doThrow(notFoundException).when(bookService).forEach(any());
 
             booksServlet.doGet(request, response);
 
-            var bookResponseDTOList = bookService.findAll();
+            var notFoundResponse = new ErrorResponse(404, notFoundException.getMessage());
+
+            verifyResponsePrinted(notFoundResponse);
+        }
+
+        @Test
+        @DisplayName("Get books page")
+        void getBooksPage_pageResponseDTOSend() throws SQLException, IOException {
+            var bookListItemDTO = new BookListItemDTO(3L, "dummy", "1111");
+            var pageResponseDTO = new PageResponseDTO<>(List.of(bookListItemDTO), 3L);
+
+            doReturn(null).when(request).getPathInfo();
+            doReturn("2").when(request).getParameter("after");
+            doReturn("1").when(request).getParameter("limit");
+            doReturn(pageResponseDTO).when(bookService).findPage(any(PageRequestDTO.class));
+            doReturn(printWriter).when(response).getWriter();
+
+            booksServlet.doGet(request, response);
 
-            verifyResponsePrinted(bookResponseDTOList);
+            verify(bookService).findPage(argThat(page -> page.getAfter() == 2 && page.getLimit() == 1));
+            verifyResponsePrinted(pageResponseDTO);
+        }
+
+        @Test
+        @DisplayName("Get first books page with explicit cursor")
+        void getFirstBooksPage_pageResponseDTOSend() throws SQLException, IOException {
+            var bookListItemDTO = new BookListItemDTO(1L, "dummy", "1111");
+            var pageResponseDTO = new PageResponseDTO<>(List.of(bookListItemDTO), null);
+
+            doReturn(null).when(request).getPathInfo();
+            doReturn("0").when(request).getParameter("after");
+            doReturn(pageResponseDTO).when(bookService).findPage(any(PageRequestDTO.class));
+            doReturn(printWriter).when(response).getWriter();
+
+            booksServlet.doGet(request, response);
+
+            verify(bookService).findPage(argThat(page -> page.getAfter() == 0 && page.getLimit() == 20));
+            verifyResponsePrinted(pageResponseDTO);
+        }
+
+        @ParameterizedTest
+        @DisplayName("Get books page with incorrect cursor")
+        @CsvSource({"-1, after must not be negative", "bad, after must be a number"})
+        void getBooksPageWithIncorrectCursor_sendBadRequest(String after, String errorMessage) throws IOException {
+            doReturn(null).when(request).getPathInfo();
+            doReturn(after).when(request).getParameter("after");
+            doReturn(null).when(request).getParameter("limit");
+            doReturn(printWriter).when(response).getWriter();
+            doReturn(400).when(response).getStatus();
+
+            booksServlet.doGet(request, response);
+
+            var badRequestResponse = new ErrorResponse(400, errorMessage);
+
+            verifyResponsePrinted(badRequestResponse);
+        }
+
+        @ParameterizedTest
+        @DisplayName("Get books page with incorrect limit")
+        @CsvSource({"0, limit must be between 1 and 100", "101, limit must be between 1 and 100", "bad, limit must be a number"})
+        void getBooksPageWithIncorrectLimit_sendBadRequest(String limit, String errorMessage) throws IOException {
+            doReturn(null).when(request).getPathInfo();
+            doReturn(null).when(request).getParameter("after");
+            doReturn(limit).when(request).getParameter("limit");
+            doReturn(printWriter).when(response).getWriter();
+            doReturn(400).when(response).getStatus();
+
+            booksServlet.doGet(request, response);
+
+            var badRequestResponse = new ErrorResponse(400, errorMessage);
+
+            verifyResponsePrinted(badRequestResponse);
         }
 
         @Test
         @DisplayName("Get book by id")
         void getBookById_bookResponseDTOSend() throws SQLException, IOException {
+            var bookResponseDTO = new BookResponseDTO(1L, "dummy", "1111", Set.of());
+
+            bookResponseDTO.setVersion(new EntityVersion(3, Instant.ofEpochSecond(1_700_000_000)));
+
             doReturn("/1").when(request).getPathInfo();
+            doReturn(bookResponseDTO).when(bookService).findById(1L);
             doReturn(printWriter).when(response).getWriter();
 
             booksServlet.doGet(request, response);
 
-            var bookResponseDTO = bookService.findById(anyLong());
+            verify(response).setHeader("ETag", "W/\"3\"");
+            verify(response).setDateHeader("Last-Modified", 1_700_000_000_000L);
+            verifyResponsePrinted(bookResponseDTO);
+        }
+
+        @Test
+        @DisplayName("Get unchanged book by id")
+        void getBookByIdWithMatchingETag_sendNotModified() throws SQLException, IOException {
+            doReturn("/1").when(request).getPathInfo();
+            doReturn("W/\"3\"").when(request).getHeader("If-None-Match");
+            doReturn(new EntityVersion(3, Instant.ofEpochSecond(1_700_000_000))).when(bookService).findVersion(1L);
+
+            booksServlet.doGet(request, response);
+
+            verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            verify(bookService, never()).findById(anyLong());
+        }
+
+        @Test
+        @DisplayName("Get changed book by id")
+        void getBookByIdWithStaleETag_bookResponseDTOSend() throws SQLException, IOException {
+            var bookResponseDTO = new BookResponseDTO(1L, "dummy", "1111", Set.of());
+
+            bookResponseDTO.setVersion(new EntityVersion(4, Instant.ofEpochSecond(1_700_000_000)));
+
+            doReturn("/1").when(request).getPathInfo();
+            doReturn("W/\"3\"").when(request).getHeader("If-None-Match");
+            doReturn(bookResponseDTO.getVersion()).when(bookService).findVersion(1L);
+            doReturn(bookResponseDTO).when(bookService).findById(1L);
+            doReturn(printWriter).when(response).getWriter();
+
+            booksServlet.doGet(request, response);
 
+            verify(response).setHeader("ETag", "W/\"4\"");
             verifyResponsePrinted(bookResponseDTO);
         }
 
@@ -0,0 +1,99 @@
+package servlets;
+
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import dto.reader.CreateReaderRequestDTO;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import services.ReaderService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadersBulkServletTest extends BaseServletTest {
+
+    @Mock
+    private ReaderService readerService;
+
+    @InjectMocks
+    private ReadersBulkServlet readersBulkServlet;
+
+    @Test
+    @DisplayName("Import readers")
+    void importReaders_sendCreated() throws SQLException, IOException {
+        var payload = """
+                {"firstName": "Petr", "lastName": "Petrov", "phone": "+7(989)-564-09-89"}
+                {"firstName": "Anna", "lastName": "Ivanova", "phone": "+7(989)-564-09-90"}
+                """;
+
+        var bulkImportResponseDTO = new BulkImportResponseDTO(List.of(1L, 2L), List.of());
+
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doReturn(bulkImportResponseDTO).when(readerService).createAll(anyList());
+        doReturn(printWriter).when(response).getWriter();
+
+        readersBulkServlet.doPost(request, response);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateReaderRequestDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(readerService).createAll(captor.capture());
+
+        assertEquals("+7(989)-564-09-90", captor.getValue().get(1).getPhone());
+
+        verify(response).setStatus(HttpServletResponse.SC_CREATED);
+        verifyResponsePrinted(new BulkImportResponseDTO(List.of(1L, 2L), List.of()));
+    }
+
+    @Test
+    @DisplayName("Import readers with some invalid items")
+    void importReadersWithInvalidItems_sendOkWithItemErrors() throws SQLException, IOException {
+        var payload = """
+                [
+                  {"firstName": "Petr", "lastName": "Petrov", "phone": "+7(989)-564-09-89"},
+                  {"firstName": "Anna", "lastName": "Ivanova", "phone": "12345"}
+                ]
+                """;
+
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doReturn(new BulkImportResponseDTO(List.of(1L), List.of())).when(readerService).createAll(anyList());
+        doReturn(printWriter).when(response).getWriter();
+
+        readersBulkServlet.doPost(request, response);
+
+        var errors = List.of(
+                new BulkItemErrorDTO(1, "The phone number must be in this format: +7(xxx)-xxx-xx-xx")
+        );
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verifyResponsePrinted(new BulkImportResponseDTO(Arrays.asList(1L, null), errors));
+    }
+
+    @Test
+    @DisplayName("Import only invalid readers")
+    void importInvalidReaders_sendBadRequest() throws IOException {
+        var payload = "[{\"firstName\": \"Petr\", \"phone\": \"+7(989)-564-09-89\"}]";
+
+        doReturn(new BufferedReader(new StringReader(payload))).when(request).getReader();
+        doReturn(printWriter).when(response).getWriter();
+
+        readersBulkServlet.doPost(request, response);
+
+        verifyNoInteractions(readerService);
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+}
@@ -1,6 +1,8 @@
 package servlets;
 
 import dto.reader.CreateReaderRequestDTO;
+import dto.reader.ReaderResponseDTO;
+import entities.EntityVersion;
 import exceptions.NotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +21,8 @@ import utils.response.ErrorResponse;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
@@ -52,13 +56,50 @@ class ReadersServletTest extends BaseServletTest {
         @Test
         @DisplayName("Get reader by id")
         void getReaderById_readerResponseDTOSend() throws SQLException, IOException {
+            var readerResponseDTO = new ReaderResponseDTO(1L, "dummy", "dummy", Set.of());
+
+            readerResponseDTO.setVersion(new EntityVersion(3, Instant.ofEpochSecond(1_700_000_000)));
+
             doReturn("/1").when(request).getPathInfo();
+            doReturn(readerResponseDTO).when(readerService).findById(1L);
             doReturn(printWriter).when(response).getWriter();
 
             readersServlet.doGet(request, response);
 
-            var readerResponseDTO = readerService.findById(anyLong());
+            verify(response).setHeader("ETag", "W/\"3\"");
+            verify(response).setDateHeader("Last-Modified", 1_700_000_000_000L);
+            verifyResponsePrinted(readerResponseDTO);
+        }
+
+        @Test
+        @DisplayName("Get unchanged reader by id")
+        void getReaderByIdWithMatchingETag_sendNotModified() throws SQLException, IOException {
+            doReturn("/1").when(request).getPathInfo();
+            doReturn("W/\"3\"").when(request).getHeader("If-None-Match");
+            doReturn(new EntityVersion(3, Instant.ofEpochSecond(1_700_000_000))).when(readerService).findVersion(1L);
+
+            readersServlet.doGet(request, response);
+
+            verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            verify(readerService, never()).findById(anyLong());
+        }
+
+        @Test
+        @DisplayName("Get changed reader by id")
+        void getReaderByIdWithStaleETag_readerResponseDTOSend() throws SQLException, IOException {
+            var readerResponseDTO = new ReaderResponseDTO(1L, "dummy", "dummy", Set.of());
+
+            readerResponseDTO.setVersion(new EntityVersion(4, Instant.ofEpochSecond(1_700_000_000)));
+
+            doReturn("/1").when(request).getPathInfo();
+            doReturn("W/\"3\"").when(request).getHeader("If-None-Match");
+            doReturn(readerResponseDTO.getVersion()).when(readerService).findVersion(1L);
+            doReturn(readerResponseDTO).when(readerService).findById(1L);
+            doReturn(printWriter).when(response).getWriter();
+
+            readersServlet.doGet(request, response);
 
+            verify(response).setHeader("ETag", "W/\"4\"");
             verifyResponsePrinted(readerResponseDTO);
         }
 
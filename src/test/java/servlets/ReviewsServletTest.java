@@ -1,7 +1,9 @@
 package servlets;
 
 import dto.review.CreateReviewDTO;
+import dto.review.QueuedReviewDTO;
 import exceptions.NotFoundException;
+import exceptions.ServiceUnavailableException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -103,6 +105,46 @@ class ReviewsServletTest extends BaseServletTest {
             verifyResponsePrinted(createBookDTO);
         }
 
+        @Test
+        @DisplayName("Queue new book review in write-behind mode")
+        void addNewBookReviewWriteBehind_sendAccepted() throws SQLException, IOException {
+            var queuedReviewDTO = new QueuedReviewDTO("dummy", "PENDING", null, null);
+
+            doReturn("1").when(request).getParameter("reader-id");
+            doReturn("/1").when(request).getAttribute("pathInfo");
+            doReturn("dummy").when(request).getParameter("content");
+            doReturn("/library").when(request).getContextPath();
+            doReturn(printWriter).when(response).getWriter();
+            doReturn(true).when(reviewService).isWriteBehind();
+            doReturn(queuedReviewDTO).when(reviewService).enqueue(any(CreateReviewDTO.class));
+
+            reviewsServlet.doPost(request, response);
+
+            verify(response).setStatus(HttpServletResponse.SC_ACCEPTED);
+            verify(response).setHeader("Location", "/library/reviews/queued/dummy");
+            verify(reviewService, never()).create(any(CreateReviewDTO.class));
+            verifyResponsePrinted(queuedReviewDTO);
+        }
+
+        @Test
+        @DisplayName("Reject new book review when the write queue is full")
+        void addNewBookReviewQueueFull_sendServiceUnavailable() throws SQLException, IOException {
+            doReturn("1").when(request).getParameter("reader-id");
+            doReturn("/1").when(request).getAttribute("pathInfo");
+            doReturn("dummy").when(request).getParameter("content");
+            doReturn(printWriter).when(response).getWriter();
+            doReturn(503).when(response).getStatus();
+            doReturn(true).when(reviewService).isWriteBehind();
+
+            var exception = new ServiceUnavailableException("Too many writes queued");
+            doThrow(exception).when(reviewService).enqueue(any(CreateReviewDTO.class));
+
+            reviewsServlet.doPost(request, response);
+
+            verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            verifyResponsePrinted(new ErrorResponse(503, exception.getMessage()));
+        }
+
         @Test
         @DisplayName("Add new book review by non-existent reader id")
         void addBookReviewByNonExistentReaderId_sendNotFound() throws IOException, SQLException {
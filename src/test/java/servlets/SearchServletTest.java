@@ -0,0 +1,81 @@
+package servlets;
+
+import dto.SearchHitDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import services.SearchService;
+import utils.response.ErrorResponse;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServletTest extends BaseServletTest {
+
+    @Mock
+    private SearchService searchService;
+
+    @InjectMocks
+    private SearchServlet searchServlet;
+
+    @Test
+    @DisplayName("Search books with the default limit")
+    void searchBooks_searchHitListSend() throws SQLException, IOException {
+        var hits = List.of(new SearchHitDTO(1L, "War and Peace", 1.5));
+
+        doReturn("  war  and ").when(request).getParameter("q");
+        doReturn("/books/search").when(request).getServletPath();
+        doReturn(printWriter).when(response).getWriter();
+        doReturn(hits).when(searchService).searchBooks("war and", 20);
+
+        searchServlet.doGet(request, response);
+
+        verifyResponsePrinted(hits);
+    }
+
+    @Test
+    @DisplayName("Search reviews with the given limit")
+    void searchReviews_searchHitListSend() throws SQLException, IOException {
+        var hits = List.of(new SearchHitDTO(1L, "dummy", 0.5));
+
+        doReturn("dummy").when(request).getParameter("q");
+        doReturn("5").when(request).getParameter("limit");
+        doReturn("/reviews/search").when(request).getServletPath();
+        doReturn(printWriter).when(response).getWriter();
+        doReturn(hits).when(searchService).searchReviews("dummy", 5);
+
+        searchServlet.doGet(request, response);
+
+        verifyResponsePrinted(hits);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Search with incorrect parameters")
+    @CsvSource(value = {
+            "null, null, Missing q parameter",
+            "dummy, 0, limit must be between 1 and 100",
+            "dummy, limit, limit must be a number"
+    }, nullValues = "null")
+    void searchWithIncorrectParams_sendBadRequest(String query, String limit, String expectedErrorMessage)
+            throws IOException {
+
+        doReturn(query).when(request).getParameter("q");
+        lenient().doReturn(limit).when(request).getParameter("limit");
+        doReturn(printWriter).when(response).getWriter();
+        doReturn(400).when(response).getStatus();
+
+        searchServlet.doGet(request, response);
+
+        verifyResponsePrinted(new ErrorResponse(400, expectedErrorMessage));
+        verifyNoInteractions(searchService);
+    }
+}
@@ -0,0 +1,62 @@
+package utils;
+
+import entities.EntityVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalRequestTest {
+
+    private static final EntityVersion VERSION = new EntityVersion(3, Instant.ofEpochMilli(1_700_000_000_500L));
+
+    @Mock
+    HttpServletRequest request;
+
+    @ParameterizedTest
+    @DisplayName("Match If-None-Match")
+    @ValueSource(strings = {"W/\"3\"", "\"3\"", "W/\"1\", W/\"3\"", "*"})
+    void shouldMatchCurrentETag(String ifNoneMatch) {
+        doReturn(ifNoneMatch).when(request).getHeader("If-None-Match");
+
+        assertTrue(ConditionalRequest.isNotModified(request, VERSION));
+    }
+
+    @Test
+    @DisplayName("Do not match stale If-None-Match")
+    void shouldNotMatchStaleETag() {
+        doReturn("W/\"2\"").when(request).getHeader("If-None-Match");
+
+        assertFalse(ConditionalRequest.isNotModified(request, VERSION));
+    }
+
+    @Test
+    @DisplayName("Compare If-Modified-Since in whole seconds")
+    void shouldCompareIfModifiedSinceInSeconds() {
+        doReturn(null).when(request).getHeader("If-None-Match");
+        doReturn("Tue, 14 Nov 2023 22:13:20 GMT").when(request).getHeader("If-Modified-Since");
+        doReturn(1_700_000_000_000L).when(request).getDateHeader("If-Modified-Since");
+
+        assertTrue(ConditionalRequest.isNotModified(request, VERSION));
+    }
+
+    @Test
+    @DisplayName("Modified after If-Modified-Since")
+    void shouldDetectModificationAfterIfModifiedSince() {
+        doReturn(null).when(request).getHeader("If-None-Match");
+        doReturn("Tue, 14 Nov 2023 22:13:19 GMT").when(request).getHeader("If-Modified-Since");
+        doReturn(1_699_999_999_000L).when(request).getDateHeader("If-Modified-Since");
+
+        assertFalse(ConditionalRequest.isNotModified(request, VERSION));
+    }
+}
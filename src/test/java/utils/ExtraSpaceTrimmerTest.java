@@ -0,0 +1,30 @@
+package utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ExtraSpaceTrimmerTest {
+
+    @ParameterizedTest
+    @DisplayName("Trim like trim() followed by collapsing whitespace runs")
+    @ValueSource(strings = {
+            "", " ", "word", "  War   and  Peace  ", "a\tb", "a \t b", "\n a\r\n\r\nb \u000B",
+            "a  b", "  ", "x  ", "  x", "a b c"
+    })
+    void trim_shouldMatchRegexImplementation(String string) {
+        var expected = string.trim().replaceAll("\\s{2,}", " ");
+
+        assertEquals(expected, ExtraSpaceTrimmer.trim(string));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Return the same string when there is nothing to trim")
+    @ValueSource(strings = {"word", "War and Peace", "a\tb"})
+    void trimWithoutExtraSpaces_shouldReturnSameString(String string) {
+        assertSame(string, ExtraSpaceTrimmer.trim(string));
+    }
+}
@@ -0,0 +1,52 @@
+package utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertiesLoaderTest {
+
+    @Test
+    @DisplayName("Override properties with environment variables")
+    void load_shouldOverridePropertiesFromEnvironment() {
+        var environment = Map.of(
+                "DB_URL", "jdbc:mysql://replica:3306/library_db",
+                "DB_HIKARI_MAXIMUM_POOL_SIZE", "50",
+                "DB_HIKARI_DATA_SOURCE_CACHE_PREP_STMTS", "false",
+                "DB_UNKNOWN_PROPERTY", "ignored"
+        );
+
+        var properties = PropertiesLoader.load("/db.properties", "DB_", List.of(), environment);
+
+        assertAll(
+                () -> assertEquals("jdbc:mysql://replica:3306/library_db", properties.getProperty("url")),
+                () -> assertEquals("50", properties.getProperty("hikari.maximumPoolSize")),
+                () -> assertEquals("false", properties.getProperty("hikari.dataSource.cachePrepStmts")),
+                () -> assertEquals("root", properties.getProperty("username")),
+                () -> assertNull(properties.getProperty("unknown.property"))
+        );
+    }
+
+    @Test
+    @DisplayName("Set optional properties missing from the resource with environment variables")
+    void load_shouldSetOptionalPropertiesFromEnvironment() {
+        var environment = Map.of(
+                "DB_HIKARI_LEAK_DETECTION_THRESHOLD", "2000",
+                "DB_HIKARI_MAXIMUM_POOL_SIZE", "50"
+        );
+
+        var optionalKeys = List.of("hikari.leakDetectionThreshold", "hikari.maximumPoolSize", "hikari.readOnly");
+
+        var properties = PropertiesLoader.load("/db.properties", "DB_", optionalKeys, environment);
+
+        assertAll(
+                () -> assertEquals("2000", properties.getProperty("hikari.leakDetectionThreshold")),
+                () -> assertEquals("50", properties.getProperty("hikari.maximumPoolSize")),
+                () -> assertNull(properties.getProperty("hikari.readOnly"))
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package utils;
+
+import utils.context.RequestContext;
+import utils.datasource.MeteredDataSource;
+import utils.metrics.MetricsRegistry;
+import utils.tracing.QueryTrace;
+import utils.tracing.QueryTracer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Counts the statements executed through {@link #wrap(DataSource) wrapped} data sources, so tests can pin
+ * the number of statements an operation costs.
+ */
+public class StatementCounter {
+
+    private static final QueryTracer QUERY_TRACER = new QueryTracer(Duration.ofMinutes(1), Duration.ofMinutes(1),
+            Integer.MAX_VALUE);
+
+    public static DataSource wrap(DataSource dataSource) {
+        return new MeteredDataSource(dataSource, new MetricsRegistry(), QUERY_TRACER);
+    }
+
+    public static int countStatements(Work work) throws Exception {
+        var requestContext = RequestContext.current();
+        var queryTrace = new QueryTrace("test");
+
+        requestContext.setQueryTrace(queryTrace);
+
+        try {
+            work.run();
+        } finally {
+            requestContext.setQueryTrace(null);
+        }
+
+        return queryTrace.getStatementCount();
+    }
+
+    @FunctionalInterface
+    public interface Work {
+
+        void run() throws Exception;
+    }
+}
@@ -2,13 +2,10 @@ package utils;
 
 import com.zaxxer.hikari.HikariDataSource;
 import org.testcontainers.containers.MySQLContainer;
-import utils.datasource.DatabaseConnector;
+import utils.migration.MigrationRunner;
 
 import javax.sql.DataSource;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.Objects;
-import java.util.Properties;
+import java.sql.SQLException;
 
 public class TestDatabaseConnector {
 
@@ -17,10 +14,9 @@ public class TestDatabaseConnector {
     private static final HikariDataSource DATA_SOURCE;
 
     static {
-        mySQLContainer.withInitScripts("db_scripts/create_tables.sql");
         mySQLContainer.start();
 
-        var properties = getDatabaseProperties();
+        var properties = PropertiesLoader.load("/db.properties");
 
         DATA_SOURCE = new HikariDataSource();
 
@@ -28,26 +24,49 @@ public class TestDatabaseConnector {
         DATA_SOURCE.setJdbcUrl(mySQLContainer.getJdbcUrl());
         DATA_SOURCE.setUsername(mySQLContainer.getUsername());
         DATA_SOURCE.setPassword(mySQLContainer.getPassword());
+
+        migrate(DATA_SOURCE);
     }
 
     private TestDatabaseConnector() {
     }
 
-    private static Properties getDatabaseProperties() {
-        var properties = new Properties();
+    public static DataSource getDataSource() {
+        return DATA_SOURCE;
+    }
+
+    /**
+     * A second, independent instance standing in for a read replica. Nothing is replicated to it,
+     * so tests can tell which instance a query went to.
+     */
+    public static DataSource getReplicaDataSource() {
+        return ReplicaHolder.DATA_SOURCE;
+    }
+
+    private static class ReplicaHolder {
 
-        try (var reader = new InputStreamReader(Objects.requireNonNull(
-                DatabaseConnector.class.getResourceAsStream("/db.properties")))) {
+        private static final MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.4.3");
 
-            properties.load(reader);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        private static final HikariDataSource DATA_SOURCE;
 
-        return properties;
+        static {
+            mySQLContainer.start();
+
+            DATA_SOURCE = new HikariDataSource();
+
+            DATA_SOURCE.setJdbcUrl(mySQLContainer.getJdbcUrl());
+            DATA_SOURCE.setUsername(mySQLContainer.getUsername());
+            DATA_SOURCE.setPassword(mySQLContainer.getPassword());
+
+            migrate(DATA_SOURCE);
+        }
     }
 
-    public static DataSource getDataSource() {
-        return DATA_SOURCE;
+    private static void migrate(DataSource dataSource) {
+        try {
+            new MigrationRunner(dataSource, MigrationRunner.loadMigrations("/db_scripts/migrations/"), 60).migrate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
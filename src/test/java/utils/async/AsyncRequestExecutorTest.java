@@ -0,0 +1,278 @@
+package utils.async;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncRequestExecutorTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private AsyncContext asyncContext;
+
+    @Mock
+    private PrintWriter printWriter;
+
+    private AsyncRequestExecutor asyncRequestExecutor;
+
+    @BeforeEach
+    void setUp() {
+        asyncRequestExecutor = new AsyncRequestExecutor(1, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncRequestExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Process request on a virtual thread and complete it")
+    void execute_shouldHandleRequestOnVirtualThread() throws IOException, InterruptedException {
+        var completed = new CountDownLatch(1);
+        var handledOnVirtualThread = new boolean[1];
+
+        doReturn(asyncContext).when(request).startAsync(request, response);
+        doReturn(request).when(asyncContext).getRequest();
+        doReturn(response).when(asyncContext).getResponse();
+        doAnswer(invocation -> {
+            completed.countDown();
+            return null;
+        }).when(asyncContext).complete();
+
+        asyncRequestExecutor.execute(request, response,
+                (req, resp) -> handledOnVirtualThread[0] = Thread.currentThread().isVirtual());
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertTrue(handledOnVirtualThread[0]);
+
+        verify(asyncContext).setTimeout(5000);
+    }
+
+    @Test
+    @DisplayName("Reject requests over the in-flight limit with 503")
+    void executeOverLimit_shouldSendServiceUnavailable() throws IOException, InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        doReturn(asyncContext).when(request).startAsync(request, response);
+        doReturn(request).when(asyncContext).getRequest();
+        doReturn(response).when(asyncContext).getResponse();
+
+        asyncRequestExecutor.execute(request, response, (req, resp) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        var rejectedResponse = mock(HttpServletResponse.class);
+
+        doReturn(printWriter).when(rejectedResponse).getWriter();
+
+        asyncRequestExecutor.execute(request, rejectedResponse, (req, resp) -> fail());
+
+        release.countDown();
+
+        verify(rejectedResponse).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(request).startAsync(request, response);
+    }
+
+    @Test
+    @DisplayName("Answer timed out requests with 503 and interrupt their processing")
+    void executeTimedOut_shouldSendServiceUnavailable() throws Exception {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+
+        doReturn(asyncContext).when(request).startAsync(request, response);
+        doReturn(request).when(asyncContext).getRequest();
+        doReturn(response).when(asyncContext).getResponse();
+        doReturn(printWriter).when(response).getWriter();
+
+        asyncRequestExecutor.execute(request, response, (req, resp) -> {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        var listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listenerCaptor.capture());
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        listenerCaptor.getValue().onTimeout(null);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(asyncContext, timeout(5000).times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Drop what a timed out request still writes")
+    void executeTimedOut_shouldDropLateWrites() throws Exception {
+        var started = new CountDownLatch(1);
+        var written = new CountDownLatch(1);
+
+        doReturn(asyncContext).when(request).startAsync(request, response);
+        doReturn(request).when(asyncContext).getRequest();
+        doReturn(response).when(asyncContext).getResponse();
+        doReturn(printWriter).when(response).getWriter();
+
+        asyncRequestExecutor.execute(request, response, (req, resp) -> {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                // A servlet that catches its own failure answers anyway
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                resp.getWriter().print("late");
+                resp.getWriter().close();
+                written.countDown();
+            }
+        });
+
+        var listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listenerCaptor.capture());
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        listenerCaptor.getValue().onTimeout(null);
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        verify(response, never()).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        verify(printWriter, never()).write("late", 0, 4);
+        verify(asyncContext, timeout(5000).times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Discard what a timed out request buffered and complete it even if the 503 cannot be written")
+    void executeTimedOutAfterStreaming_shouldResetBufferAndComplete() throws Exception {
+        var started = new CountDownLatch(1);
+        var outputStream = mock(ServletOutputStream.class);
+
+        doReturn(asyncContext).when(request).startAsync(request, response);
+        doReturn(request).when(asyncContext).getRequest();
+        doReturn(response).when(asyncContext).getResponse();
+        doReturn(outputStream).when(response).getOutputStream();
+        doThrow(new IllegalStateException("getOutputStream() has already been called")).when(response).getWriter();
+
+        asyncRequestExecutor.execute(request, response, (req, resp) -> {
+            resp.getOutputStream().write('[');
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        var listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listenerCaptor.capture());
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        listenerCaptor.getValue().onTimeout(null);
+
+        var inOrder = inOrder(response);
+        inOrder.verify(response).resetBuffer();
+        inOrder.verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(asyncContext, timeout(5000).times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Abort a request that fails after its response was committed")
+    void executeFailingAfterCommit_shouldDispatchAbort() throws Exception {
+        var dispatched = new CountDownLatch(1);
+        var failure = new IllegalStateException("Stream broken");
+
+        doReturn(asyncContext).when(request).startAsync(request, response);
+        doReturn(request).when(asyncContext).getRequest();
+        doReturn(response).when(asyncContext).getResponse();
+        doReturn(true).when(response).isCommitted();
+        doAnswer(invocation -> {
+            dispatched.countDown();
+            return null;
+        }).when(asyncContext).dispatch();
+
+        asyncRequestExecutor.execute(request, response, (req, resp) -> {
+            throw failure;
+        });
+
+        assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+
+        verify(request).setAttribute(AsyncRequestExecutor.ABORTED_ATTRIBUTE, failure);
+        verify(asyncContext, never()).complete();
+    }
+
+    @Test
+    @DisplayName("Release the permit of a request cancelled before it started")
+    void executeCancelledBeforeStart_shouldReleasePermit() throws Exception {
+        var busyExecutor = Executors.newSingleThreadExecutor();
+        var release = new CountDownLatch(1);
+
+        busyExecutor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        var queuingExecutor = new AsyncRequestExecutor(1, Duration.ofSeconds(5), busyExecutor);
+
+        var secondResponse = mock(HttpServletResponse.class);
+
+        doReturn(asyncContext).when(request).startAsync(any(), any());
+        doReturn(response).when(asyncContext).getResponse();
+        doReturn(printWriter).when(response).getWriter();
+
+        try {
+            queuingExecutor.execute(request, response, (req, resp) -> fail());
+
+            var listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+            verify(asyncContext).addListener(listenerCaptor.capture());
+
+            listenerCaptor.getValue().onTimeout(null);
+
+            queuingExecutor.execute(request, secondResponse, (req, resp) -> {
+            });
+
+            verify(request).startAsync(request, secondResponse);
+            verify(secondResponse, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } finally {
+            release.countDown();
+            queuingExecutor.shutdown();
+        }
+    }
+}
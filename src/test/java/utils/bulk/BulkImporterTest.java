@@ -0,0 +1,113 @@
+package utils.bulk;
+
+import dto.BulkImportResponseDTO;
+import dto.BulkItemErrorDTO;
+import exceptions.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkImporterTest {
+
+    private final List<List<String>> importedChunks = new ArrayList<>();
+
+    private long nextId = 1;
+
+    private BulkImporter<String> createImporter(int chunkSize) {
+        return new BulkImporter<>(chunkSize, this::convert, this::importChunk);
+    }
+
+    private String convert(Map<String, String> item) {
+        var name = item.get("name");
+
+        if (name == null) {
+            throw new BadRequestException("Missing name");
+        }
+
+        return name;
+    }
+
+    private BulkImportResponseDTO importChunk(List<String> chunk) {
+        importedChunks.add(List.copyOf(chunk));
+
+        var ids = new ArrayList<Long>();
+        var errors = new ArrayList<BulkItemErrorDTO>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.get(i).equals("duplicate")) {
+                ids.add(null);
+                errors.add(new BulkItemErrorDTO(i, "Duplicate"));
+            } else {
+                ids.add(nextId++);
+            }
+        }
+
+        return new BulkImportResponseDTO(ids, errors);
+    }
+
+    @Test
+    @DisplayName("Import items in chunks")
+    void importFrom_shouldImportItemsInChunks() throws IOException, SQLException {
+        var payload = """
+                {"name": "a"}
+                {"name": "b", "nested": {"ignored": true}}
+                {"name": "c"}
+                """;
+
+        var result = createImporter(2).importFrom(new StringReader(payload));
+
+        assertAll(
+                () -> assertEquals(List.of(List.of("a", "b"), List.of("c")), importedChunks),
+                () -> assertEquals(List.of(1L, 2L, 3L), result.getIds()),
+                () -> assertTrue(result.getErrors().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Report item errors with their position in the payload")
+    void importFrom_shouldReportErrorsWithGlobalIndexes() throws IOException, SQLException {
+        var payload = "[{\"name\": \"a\"}, {}, {\"name\": \"b\"}, {\"name\": \"duplicate\"}]";
+
+        var result = createImporter(2).importFrom(new StringReader(payload));
+
+        var errors = result.getErrors();
+
+        assertAll(
+                () -> assertEquals(Arrays.asList(1L, null, 2L, null), result.getIds()),
+                () -> assertEquals(List.of(1, 3), errors.stream().map(BulkItemErrorDTO::getIndex).toList()),
+                () -> assertEquals("Missing name", errors.getFirst().getMessage()),
+                () -> assertEquals("Duplicate", errors.getLast().getMessage())
+        );
+    }
+
+    @Test
+    @DisplayName("Keep items read before malformed JSON")
+    void importFrom_shouldStopAtMalformedJson() throws IOException, SQLException {
+        var payload = "[{\"name\": \"a\"}, {\"name\": ";
+
+        var result = createImporter(10).importFrom(new StringReader(payload));
+
+        assertAll(
+                () -> assertEquals(List.of(1L), result.getIds()),
+                () -> assertEquals(1, result.getErrors().getFirst().getIndex()),
+                () -> assertEquals("Malformed JSON payload", result.getErrors().getFirst().getMessage())
+        );
+    }
+
+    @Test
+    @DisplayName("Reject empty payload")
+    void importFromEmptyPayload_shouldThrowBadRequestException() {
+        var importer = createImporter(10);
+
+        assertThrows(BadRequestException.class, () -> importer.importFrom(new StringReader("[]")));
+    }
+}
@@ -0,0 +1,96 @@
+package utils.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final LruCache<Long, String> cache = new LruCache<>(2, Duration.ofNanos(100), time::get);
+
+    private String load(Long key) {
+        loads.incrementAndGet();
+        return "value" + key;
+    }
+
+    @Test
+    @DisplayName("Load value once and serve it from cache afterwards")
+    void shouldLoadValueOnlyOnMiss() throws SQLException {
+        cache.get(1L, this::load);
+        var value = cache.get(1L, this::load);
+
+        var stats = cache.getStats();
+
+        assertAll(
+                () -> assertEquals("value1", value),
+                () -> assertEquals(1, loads.get()),
+                () -> assertEquals(1, stats.getHits()),
+                () -> assertEquals(1, stats.getMisses())
+        );
+    }
+
+    @Test
+    @DisplayName("Evict least recently used value when full")
+    void shouldEvictLeastRecentlyUsedValue() throws SQLException {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertAll(
+                () -> assertEquals(4, loads.get()),
+                () -> assertEquals(2, cache.getStats().getEvictions())
+        );
+    }
+
+    @Test
+    @DisplayName("Reload value after time to live expires")
+    void shouldReloadExpiredValue() throws SQLException {
+        cache.get(1L, this::load);
+
+        time.addAndGet(100);
+
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Reload value after invalidation")
+    void shouldReloadInvalidatedValue() throws SQLException {
+        cache.get(1L, this::load);
+
+        cache.invalidate(1L);
+
+        cache.get(1L, this::load);
+
+        assertAll(
+                () -> assertEquals(2, loads.get()),
+                () -> assertEquals(1, cache.getStats().getSize())
+        );
+    }
+
+    @Test
+    @DisplayName("Do not store value loaded concurrently with invalidation")
+    void shouldNotStoreValueLoadedDuringInvalidation() throws SQLException {
+        cache.get(1L, key -> {
+            cache.invalidateAll();
+            return load(key);
+        });
+
+        assertEquals(0, cache.getStats().getSize());
+    }
+}
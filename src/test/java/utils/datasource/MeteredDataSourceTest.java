@@ -0,0 +1,209 @@
+package utils.datasource;
+
+import exceptions.QueryBudgetExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import utils.context.RequestContext;
+import utils.metrics.MetricsRegistry;
+import utils.tracing.QueryBudgets;
+import utils.tracing.QueryTracer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    private MeteredDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new MeteredDataSource(target, metricsRegistry);
+    }
+
+    @Test
+    @DisplayName("Reject a statement over a strict budget before it reaches the database")
+    void executeOverBudget_shouldNotRunStatement() throws SQLException {
+        var sql = "INSERT INTO books (title, publish_year) VALUES (?, ?)";
+
+        var queryTracer = new QueryTracer(Duration.ofMinutes(1), Duration.ofMinutes(1), Integer.MAX_VALUE,
+                QueryBudgets.parse("POST /books:0", true));
+
+        var tracedDataSource = new MeteredDataSource(target, metricsRegistry, queryTracer);
+
+        doReturn(connection).when(target).getConnection();
+        doReturn(preparedStatement).when(connection).prepareStatement(sql);
+
+        RequestContext.current().setQueryTrace(queryTracer.start("POST", "/books", "/library/books"));
+
+        try (var meteredConnection = tracedDataSource.getConnection();
+             var statement = meteredConnection.prepareStatement(sql)) {
+
+            assertThrows(QueryBudgetExceededException.class, statement::executeUpdate);
+        } finally {
+            RequestContext.clear();
+        }
+
+        assertAll(
+                () -> verify(preparedStatement, never()).executeUpdate(),
+                () -> assertTrue(metricsRegistry.getStatements().getSnapshots().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Time a query and count the rows read")
+    void executeQuery_shouldRecordTimeAndRows() throws SQLException {
+        var sql = "SELECT id FROM books WHERE id = ?";
+
+        doReturn(connection).when(target).getConnection();
+        doReturn(preparedStatement).when(connection).prepareStatement(sql);
+        doReturn(resultSet).when(preparedStatement).executeQuery();
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        try (var meteredConnection = dataSource.getConnection();
+             var statement = meteredConnection.prepareStatement(sql);
+             var rows = statement.executeQuery()) {
+
+            while (rows.next()) {
+                rows.getLong("id");
+            }
+        }
+
+        var label = List.of("select books");
+
+        assertAll(
+                () -> assertEquals(1, metricsRegistry.getStatements().getSnapshots().get(label).getCount()),
+                () -> assertEquals(2, metricsRegistry.getStatementRows().getValues().get(label)),
+                () -> verify(resultSet, times(2)).getLong("id"),
+                () -> verify(connection).close()
+        );
+    }
+
+    @Test
+    @DisplayName("Report the rows read once the result set is closed")
+    void closeResultSet_shouldReportRowsOnce() throws SQLException {
+        var queryTracer = mock(QueryTracer.class);
+        var sql = "SELECT id FROM books";
+
+        doReturn(connection).when(target).getConnection();
+        doReturn(preparedStatement).when(connection).prepareStatement(sql);
+        doReturn(resultSet).when(preparedStatement).executeQuery();
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        var tracedDataSource = new MeteredDataSource(target, metricsRegistry, queryTracer);
+
+        try (var meteredConnection = tracedDataSource.getConnection();
+             var statement = meteredConnection.prepareStatement(sql);
+             var rows = statement.executeQuery()) {
+
+            while (rows.next()) {
+                verify(queryTracer, never()).onRows(anyLong());
+            }
+
+            rows.close();
+        }
+
+        verify(queryTracer).onRows(2);
+    }
+
+    @Test
+    @DisplayName("Record connection hold time once and pass statements to the tracer")
+    void closeConnection_shouldRecordHoldTime() throws SQLException {
+        var queryTracer = mock(QueryTracer.class);
+        var sql = "UPDATE readers SET phone = ? WHERE id = ?";
+
+        doReturn(connection).when(target).getConnection();
+        doReturn(preparedStatement).when(connection).prepareStatement(sql);
+        doReturn(1).when(preparedStatement).executeUpdate();
+
+        var tracedDataSource = new MeteredDataSource(target, metricsRegistry, queryTracer);
+
+        var meteredConnection = tracedDataSource.getConnection();
+
+        meteredConnection.prepareStatement(sql).executeUpdate();
+        meteredConnection.close();
+        meteredConnection.close();
+
+        assertAll(
+                () -> assertEquals(1, metricsRegistry.getConnectionHold().getCount()),
+                () -> verify(queryTracer).onStatement(eq(sql), anyLong()),
+                () -> verify(queryTracer).onRows(1),
+                () -> verify(queryTracer).onConnectionReleased(anyLong()),
+                () -> verify(connection, times(2)).close()
+        );
+    }
+
+    @Test
+    @DisplayName("Count the rows changed by a batch")
+    void executeBatch_shouldCountChangedRows() throws SQLException {
+        var sql = "INSERT INTO reviews (reader_id, book_id, content, date) VALUES (?, ?, ?, ?)";
+
+        doReturn(connection).when(target).getConnection();
+        doReturn(preparedStatement).when(connection).prepareStatement(sql);
+        doReturn(new int[]{1, 1, Statement.SUCCESS_NO_INFO}).when(preparedStatement).executeBatch();
+
+        dataSource.getConnection().prepareStatement(sql).executeBatch();
+
+        assertEquals(2, metricsRegistry.getStatementRows().getValues().get(List.of("insert reviews")));
+    }
+
+    @Test
+    @DisplayName("Time a failed statement")
+    void executeFailed_shouldRecordTime() throws SQLException {
+        var sql = "DELETE FROM books WHERE id = ?";
+        var exception = new SQLException("dummy");
+
+        doReturn(connection).when(target).getConnection();
+        doReturn(preparedStatement).when(connection).prepareStatement(sql);
+        doThrow(exception).when(preparedStatement).executeUpdate();
+
+        var statement = dataSource.getConnection().prepareStatement(sql);
+
+        assertSame(exception, assertThrows(SQLException.class, statement::executeUpdate));
+        assertEquals(1, metricsRegistry.getStatements().getSnapshots().get(List.of("delete books")).getCount());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Label statements with their verb and main table")
+    @CsvSource(delimiter = '|', value = {
+            "SELECT b.id FROM (SELECT * FROM books WHERE id > ?) b JOIN authors_books ab | select books",
+            "  update readers SET phone = ? WHERE id = ? | update readers",
+            "INSERT INTO authors_books (author_id, book_id) VALUES (?, ?) | insert authors_books",
+            "SELECT EXISTS(SELECT 1 FROM readers WHERE id = ?) AS reader_exists | select readers",
+            "SELECT GET_LOCK(?, ?) | select"
+    })
+    void createLabel_shouldUseVerbAndTable(String sql, String expectedLabel) {
+        assertEquals(expectedLabel, MeteredDataSource.createLabel(sql));
+    }
+}
@@ -0,0 +1,124 @@
+package utils.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import utils.context.RequestContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstReplicaConnection;
+
+    @Mock
+    private Connection secondReplicaConnection;
+
+    private long now;
+
+    private RoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new RoutingDataSource(primary, List.of(firstReplica, secondReplica),
+                Duration.ofSeconds(30), () -> now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.clear();
+    }
+
+    @Test
+    @DisplayName("Send writes to the primary")
+    void getConnection_shouldReturnPrimaryConnection() throws SQLException {
+        doReturn(primaryConnection).when(primary).getConnection();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    @DisplayName("Spread reads over the replicas")
+    void getReadConnection_shouldBalanceReplicas() throws SQLException {
+        doReturn(firstReplicaConnection).when(firstReplica).getConnection();
+        doReturn(secondReplicaConnection).when(secondReplica).getConnection();
+
+        assertAll(
+                () -> assertSame(firstReplicaConnection, routingDataSource.getReadConnection()),
+                () -> assertSame(secondReplicaConnection, routingDataSource.getReadConnection()),
+                () -> assertSame(firstReplicaConnection, routingDataSource.getReadConnection())
+        );
+    }
+
+    @Test
+    @DisplayName("Eject a failing replica until the ejection time is over")
+    void getReadConnectionFromFailingReplica_shouldEjectReplica() throws SQLException {
+        doThrow(new SQLTransientConnectionException()).doReturn(firstReplicaConnection)
+                .when(firstReplica).getConnection();
+        doReturn(secondReplicaConnection).when(secondReplica).getConnection();
+
+        assertSame(secondReplicaConnection, routingDataSource.getReadConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getReadConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getReadConnection());
+
+        now += Duration.ofSeconds(31).toNanos();
+
+        routingDataSource.getReadConnection();
+
+        assertSame(firstReplicaConnection, routingDataSource.getReadConnection());
+    }
+
+    @Test
+    @DisplayName("Fall back to the primary when every replica is ejected")
+    void getReadConnectionWithoutHealthyReplicas_shouldReturnPrimaryConnection() throws SQLException {
+        doThrow(new SQLTransientConnectionException()).when(firstReplica).getConnection();
+        doThrow(new SQLTransientConnectionException()).when(secondReplica).getConnection();
+        doReturn(primaryConnection).when(primary).getConnection();
+
+        assertSame(primaryConnection, routingDataSource.getReadConnection());
+        assertSame(primaryConnection, routingDataSource.getReadConnection());
+
+        verify(firstReplica).getConnection();
+        verify(secondReplica).getConnection();
+    }
+
+    @Test
+    @DisplayName("Read from the primary when the client must see its own writes")
+    void getReadConnectionWithPrimaryReads_shouldReturnPrimaryConnection() throws SQLException {
+        doReturn(primaryConnection).when(primary).getConnection();
+
+        RequestContext.current().setPrimaryReads(true);
+
+        assertSame(primaryConnection, routingDataSource.getReadConnection());
+
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+}
@@ -0,0 +1,122 @@
+package utils.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionManagerTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private TransactionalDataSource dataSource;
+
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        doReturn(connection).when(target).getConnection();
+
+        dataSource = new TransactionalDataSource(target);
+        transactionManager = new TransactionManager(dataSource);
+    }
+
+    @Test
+    @DisplayName("Share one connection and one commit within a transaction")
+    void inTransaction_shouldShareConnectionAndCommitOnce() throws SQLException {
+        transactionManager.inTransaction(() -> {
+            for (int i = 0; i < 3; i++) {
+                try (var sharedConnection = dataSource.getConnection()) {
+                    sharedConnection.setAutoCommit(false);
+                    sharedConnection.prepareStatement("SELECT 1");
+                    sharedConnection.commit();
+                }
+            }
+
+            return null;
+        });
+
+        InOrder inOrder = inOrder(connection);
+
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(connection, times(3)).prepareStatement("SELECT 1");
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setAutoCommit(true);
+        inOrder.verify(connection).close();
+
+        verify(target).getConnection();
+        verifyNoMoreInteractions(connection);
+    }
+
+    @Test
+    @DisplayName("Roll back the transaction when the unit of work fails")
+    void inTransactionFailed_shouldRollBack() throws SQLException {
+        var exception = new SQLException("dummy");
+
+        var thrown = assertThrows(SQLException.class, () -> transactionManager.inTransaction(() -> {
+            dataSource.getConnection().close();
+            throw exception;
+        }));
+
+        assertSame(exception, thrown);
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Join the running transaction")
+    void nestedInTransaction_shouldJoinRunningTransaction() throws SQLException {
+        transactionManager.inTransaction(() -> transactionManager.inTransaction(dataSource::getConnection));
+
+        verify(target).getConnection();
+        verify(connection).commit();
+    }
+
+    @Test
+    @DisplayName("Run after completion actions once the transaction is committed")
+    void afterCompletion_shouldRunAfterCommit() throws SQLException {
+        List<String> events = new ArrayList<>();
+
+        doAnswer(invocation -> events.add("commit")).when(connection).commit();
+
+        transactionManager.inTransaction(() -> {
+            dataSource.afterCompletion(() -> events.add("invalidate"));
+            return null;
+        });
+
+        assertEquals(List.of("commit", "invalidate"), events);
+    }
+
+    @Test
+    @DisplayName("Drop after commit actions when the transaction is rolled back")
+    void afterCommit_shouldBeDroppedOnRollback() {
+        List<String> events = new ArrayList<>();
+
+        assertThrows(SQLException.class, () -> transactionManager.inTransaction(() -> {
+            dataSource.afterCommit(() -> events.add("index"));
+            dataSource.afterCompletion(() -> events.add("invalidate"));
+            throw new SQLException("dummy");
+        }));
+
+        assertEquals(List.of("invalidate"), events);
+    }
+}
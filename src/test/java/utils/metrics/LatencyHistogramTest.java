@@ -0,0 +1,48 @@
+package utils.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Count latencies in cumulative buckets")
+    void getSnapshot_shouldReturnCumulativeBuckets() {
+        var histogram = new LatencyHistogram();
+
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(50));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+        histogram.recordMillis(3);
+        histogram.recordMillis(10_000);
+
+        var snapshot = histogram.getSnapshot();
+        var buckets = snapshot.getBuckets();
+
+        assertAll(
+                () -> assertEquals(4, snapshot.getCount()),
+                () -> assertEquals(2, buckets.get("0.1")),
+                () -> assertEquals(2, buckets.get("1")),
+                () -> assertEquals(3, buckets.get("5")),
+                () -> assertEquals(3, buckets.get("5000")),
+                () -> assertEquals(4, buckets.get("+Inf")),
+                () -> assertEquals(10_000, snapshot.getMaxMillis()),
+                () -> assertEquals(10_003.15, snapshot.getSumMillis(), 1e-9)
+        );
+    }
+
+    @Test
+    @DisplayName("Empty histogram")
+    void getSnapshotOfEmptyHistogram_shouldReturnZeros() {
+        var snapshot = new LatencyHistogram().getSnapshot();
+
+        assertAll(
+                () -> assertEquals(0, snapshot.getCount()),
+                () -> assertEquals(0, snapshot.getMeanMillis()),
+                () -> assertEquals(0, snapshot.getBuckets().get("+Inf"))
+        );
+    }
+}
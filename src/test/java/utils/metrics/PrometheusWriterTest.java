@@ -0,0 +1,83 @@
+package utils.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusWriterTest {
+
+    private final StringWriter output = new StringWriter();
+
+    private final PrometheusWriter prometheusWriter = new PrometheusWriter(output);
+
+    @Test
+    @DisplayName("Write labelled histograms with cumulative buckets in seconds")
+    void writeHistograms_shouldWriteBucketsSumAndCount() throws IOException {
+        var histograms = new LabeledHistograms("route", "method");
+
+        histograms.record(2_000_000, "/books/*", "GET");
+        histograms.record(20_000_000, "/books/*", "GET");
+
+        prometheusWriter.writeHistograms("http_server_requests_seconds", "HTTP request latency", histograms);
+
+        var lines = output.toString().lines().toList();
+
+        assertAll(
+                () -> assertEquals("# HELP http_server_requests_seconds HTTP request latency", lines.get(0)),
+                () -> assertEquals("# TYPE http_server_requests_seconds histogram", lines.get(1)),
+                () -> assertTrue(lines.contains(
+                        "http_server_requests_seconds_bucket{route=\"/books/*\",method=\"GET\",le=\"0.005\"} 1")),
+                () -> assertTrue(lines.contains(
+                        "http_server_requests_seconds_bucket{route=\"/books/*\",method=\"GET\",le=\"+Inf\"} 2")),
+                () -> assertTrue(lines.contains("http_server_requests_seconds_sum{route=\"/books/*\",method=\"GET\"} 0.022")),
+                () -> assertTrue(lines.contains("http_server_requests_seconds_count{route=\"/books/*\",method=\"GET\"} 2"))
+        );
+    }
+
+    @Test
+    @DisplayName("Escape label values")
+    void writeCounters_shouldEscapeLabelValues() throws IOException {
+        var counters = new LabeledCounters("statement");
+
+        counters.add(3, "select \"books\"\\");
+
+        prometheusWriter.writeCounters("db_statement_rows_total", "Rows", counters);
+
+        assertTrue(output.toString().contains("db_statement_rows_total{statement=\"select \\\"books\\\"\\\\\"} 3\n"));
+    }
+
+    @Test
+    @DisplayName("Write an unlabelled gauge")
+    void writeGauge_shouldWriteSingleSample() throws IOException {
+        prometheusWriter.writeGauge("db_pool_connections_active", "Connections in use", 4);
+
+        assertEquals("""
+                # HELP db_pool_connections_active Connections in use
+                # TYPE db_pool_connections_active gauge
+                db_pool_connections_active 4
+                """, output.toString());
+    }
+
+    @Test
+    @DisplayName("Write a gauge per pool")
+    void writeGauges_shouldWriteSamplePerLabelValue() throws IOException {
+        var values = new LinkedHashMap<String, Integer>();
+
+        values.put("library-pool", 4);
+        values.put("library-pool-replica-1", 2);
+
+        prometheusWriter.writeGauges("db_pool_connections_active", "Connections in use", "pool", values);
+
+        assertEquals("""
+                # HELP db_pool_connections_active Connections in use
+                # TYPE db_pool_connections_active gauge
+                db_pool_connections_active{pool="library-pool"} 4
+                db_pool_connections_active{pool="library-pool-replica-1"} 2
+                """, output.toString());
+    }
+}
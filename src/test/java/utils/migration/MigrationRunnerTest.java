@@ -0,0 +1,81 @@
+package utils.migration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.TestDatabaseConnector;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationRunnerTest {
+
+    private static final DataSource DATA_SOURCE = TestDatabaseConnector.getDataSource();
+
+    private static final List<Migration> MIGRATIONS = MigrationRunner.loadMigrations("/db_scripts/migrations/");
+
+    @Test
+    @DisplayName("Record applied migrations and skip them on the next run")
+    void shouldNotReapplyMigrations() throws SQLException {
+        var migrationRunner = new MigrationRunner(DATA_SOURCE, MIGRATIONS, 5);
+
+        assertAll(
+                () -> assertEquals(0, migrationRunner.migrate()),
+                () -> assertEquals(List.of(1, 2, 3), findAppliedVersions())
+        );
+    }
+
+    @Test
+    @DisplayName("Apply new migration")
+    void shouldApplyPendingMigration() throws SQLException {
+        var migrations = new ArrayList<>(MIGRATIONS);
+
+        migrations.add(new Migration(1000, "test", """
+                CREATE TABLE migration_test (id BIGINT);
+                DROP TABLE migration_test;
+                """));
+
+        try {
+            assertEquals(1, new MigrationRunner(DATA_SOURCE, migrations, 5).migrate());
+        } finally {
+            deleteVersion(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("Fail when an applied migration was changed")
+    void shouldFailOnChangedMigration() {
+        var changed = new Migration(1, "create tables", "SELECT 1");
+
+        var migrationRunner = new MigrationRunner(DATA_SOURCE, List.of(changed), 5);
+
+        assertThrows(IllegalStateException.class, migrationRunner::migrate);
+    }
+
+    private List<Integer> findAppliedVersions() throws SQLException {
+        var versions = new ArrayList<Integer>();
+
+        try (var connection = DATA_SOURCE.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT version FROM schema_migrations ORDER BY version")) {
+
+            while (resultSet.next()) {
+                versions.add(resultSet.getInt(1));
+            }
+        }
+
+        return versions;
+    }
+
+    private void deleteVersion(int version) throws SQLException {
+        try (var connection = DATA_SOURCE.getConnection();
+             var preparedStatement = connection.prepareStatement("DELETE FROM schema_migrations WHERE version = ?")) {
+
+            preparedStatement.setInt(1, version);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package utils.migration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationTest {
+
+    @Test
+    @DisplayName("Split script into statements and skip comments")
+    void shouldSplitScriptIntoStatements() {
+        var migration = new Migration(3, "test", """
+                -- Comment
+                CREATE TABLE a
+                (
+                    id BIGINT
+                );
+
+                ALTER TABLE a ADD INDEX idx_a (id), ALGORITHM = INPLACE, LOCK = NONE;
+                DROP TABLE a
+                """);
+
+        assertEquals(List.of(
+                "CREATE TABLE a\n(\n    id BIGINT\n)",
+                "ALTER TABLE a ADD INDEX idx_a (id), ALGORITHM = INPLACE, LOCK = NONE",
+                "DROP TABLE a"
+        ), migration.getStatements());
+    }
+
+    @Test
+    @DisplayName("Load migration version and description from file name")
+    void shouldLoadMigrationFromResource() {
+        var migration = Migration.load("/db_scripts/migrations/V2__add_indexes_and_typed_publish_year.sql");
+
+        assertAll(
+                () -> assertEquals(2, migration.getVersion()),
+                () -> assertEquals("add indexes and typed publish year", migration.getDescription()),
+                () -> assertFalse(migration.getStatements().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Load migrations listed in the directory")
+    void shouldLoadAllListedMigrations() {
+        var versions = MigrationRunner.loadMigrations("/db_scripts/migrations/").stream()
+                .map(Migration::getVersion)
+                .toList();
+
+        assertEquals(List.of(1, 2, 3), versions);
+    }
+
+    @Test
+    @DisplayName("Reject file names without a version")
+    void shouldRejectFileNameWithoutVersion() {
+        assertThrows(IllegalArgumentException.class, () -> Migration.load("/db_scripts/insert_init_data.sql"));
+    }
+}
@@ -0,0 +1,62 @@
+package utils.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.book.BookResponseDTO;
+import dto.review.ReviewResponseDTO;
+import entities.Author;
+import entities.Book;
+import entities.Reader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMappersTest {
+
+    @Test
+    @DisplayName("Serialize DTOs exactly like a default mapper")
+    void write_shouldMatchDefaultMapper() throws Exception {
+        var reader = new Reader.ReaderBuilder("dummy", "dummy", "+375291234567").build();
+        var book = new Book.BookBuilder("dummy", 1111)
+                .setAuthors(Set.of(new Author.AuthorBuilder("dummy", "dummy").build()))
+                .build();
+
+        var reviewResponseDTO = new ReviewResponseDTO(1L, reader, book, "dummy", LocalDate.of(2024, 5, 17));
+
+        assertEquals(new ObjectMapper().writeValueAsString(reviewResponseDTO),
+                JsonMappers.COMPACT_WRITER.writeValueAsString(reviewResponseDTO));
+    }
+
+    @Test
+    @DisplayName("Leave the target stream open after streaming a value")
+    void streamWriter_shouldNotCloseTarget() throws Exception {
+        var closed = new boolean[1];
+
+        var outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        try (var generator = JsonMappers.STREAM_WRITER.createGenerator(outputStream)) {
+            JsonMappers.STREAM_WRITER.writeValue(generator, List.of(1, 2));
+        }
+
+        assertAll(
+                () -> assertEquals("[1,2]", outputStream.toString()),
+                () -> assertFalse(closed[0])
+        );
+    }
+
+    @Test
+    @DisplayName("Warm up serializers of DTO classes")
+    void warmUp_shouldCountWarmedUpClasses() {
+        assertEquals(2, JsonMappers.warmUp(List.of(BookResponseDTO.class, ReviewResponseDTO.class)));
+    }
+}
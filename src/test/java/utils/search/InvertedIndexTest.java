@@ -0,0 +1,113 @@
+package utils.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Match documents containing every query term regardless of case")
+    void shouldMatchAllTerms() {
+        index.add(1L, "War and Peace");
+        index.add(2L, "Peace Talks");
+        index.add(3L, "The Art of War");
+
+        assertAll(
+                () -> assertEquals(List.of(1L), ids(index.search("peace WAR", 10))),
+                () -> assertEquals(List.of(), ids(index.search("war talks", 10)))
+        );
+    }
+
+    @Test
+    @DisplayName("Match the last query term as a prefix")
+    void shouldMatchLastTermAsPrefix() {
+        index.add(1L, "Crime and Punishment");
+        index.add(2L, "Criminal Minds");
+        index.add(3L, "Punishment Park");
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L), ids(index.search("crim", 10)).stream().sorted().toList()),
+                () -> assertEquals(List.of(1L), ids(index.search("crime pun", 10))),
+                () -> assertEquals(List.of(), ids(index.search("cri punishment", 10)))
+        );
+    }
+
+    @Test
+    @DisplayName("Rank documents with more occurrences of rarer terms higher")
+    void shouldRankByRelevance() {
+        index.add(1L, "a good book about a dog and a cat");
+        index.add(2L, "dog dog dog");
+        index.add(3L, "a good cat");
+
+        var hits = index.search("dog", 10);
+
+        assertAll(
+                () -> assertEquals(List.of(2L, 1L), ids(hits)),
+                () -> assertTrue(hits.get(0).getScore() > hits.get(1).getScore())
+        );
+    }
+
+    @Test
+    @DisplayName("Score a document containing several expansions of a prefix once")
+    void shouldScorePrefixExpansionsOnce() {
+        index.add(1L, "crime and criminal");
+        index.add(2L, "criminal");
+        index.add(3L, "crime");
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("crim", 10)).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Break score ties by id when limiting hits")
+    void shouldKeepLowestIdsOnTies() {
+        for (long id = 10; id >= 1; id--) {
+            index.add(id, "same title");
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("same", 3)));
+    }
+
+    @Test
+    @DisplayName("Return at most limit best hits")
+    void shouldLimitHits() {
+        for (long id = 1; id <= 10; id++) {
+            index.add(id, "tale " + "tale ".repeat((int) id));
+        }
+
+        assertEquals(List.of(10L, 9L, 8L), ids(index.search("tale", 3)));
+    }
+
+    @Test
+    @DisplayName("Forget removed and replaced documents")
+    void shouldRemoveAndReplaceDocuments() {
+        index.add(1L, "Old Title");
+        index.add(2L, "Another Title");
+
+        index.add(1L, "New Name");
+        index.remove(2L);
+
+        assertAll(
+                () -> assertEquals(List.of(), ids(index.search("title", 10))),
+                () -> assertEquals(List.of(1L), ids(index.search("new", 10))),
+                () -> assertEquals(1, index.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Return nothing for a query without terms")
+    void shouldIgnoreQueryWithoutTerms() {
+        index.add(1L, "Title");
+
+        assertEquals(List.of(), index.search(" ?! ", 10));
+    }
+}
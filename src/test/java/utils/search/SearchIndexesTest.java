@@ -0,0 +1,34 @@
+package utils.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexesTest {
+
+    private final SearchIndexes searchIndexes = new SearchIndexes();
+
+    @Test
+    @DisplayName("Drop reviews together with their book or reader")
+    void shouldRemoveCascadedReviews() {
+        searchIndexes.indexBook(1L, "dummy");
+        searchIndexes.indexBook(2L, "dummy");
+
+        searchIndexes.indexReview(1L, 1L, 1L, "great");
+        searchIndexes.indexReview(2L, 2L, 1L, "great");
+        searchIndexes.indexReview(3L, 2L, 2L, "great");
+
+        searchIndexes.removeBook(1L);
+
+        assertEquals(2, searchIndexes.getReviews().size());
+
+        searchIndexes.removeReader(1L);
+
+        assertAll(
+                () -> assertEquals(1, searchIndexes.getBooks().size()),
+                () -> assertEquals(1, searchIndexes.getReviews().size()),
+                () -> assertEquals(3L, searchIndexes.getReviews().search("great", 10).getFirst().getId())
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package utils.tracing;
+
+import exceptions.QueryBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.context.RequestContext;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.clear();
+    }
+
+    @Test
+    @DisplayName("Parse budgets by method and servlet mapping")
+    void parse_shouldReadBudgetsByEndpoint() {
+        var queryBudgets = QueryBudgets.parse("GET /books:2, GET  /books/*: 3,", false);
+
+        assertAll(
+                () -> assertEquals(2, queryBudgets.find("GET", "/books")),
+                () -> assertEquals(3, queryBudgets.find("GET", "/books/*")),
+                () -> assertNull(queryBudgets.find("POST", "/books"))
+        );
+    }
+
+    @Test
+    @DisplayName("Reject a budget without a limit")
+    void parseIncorrectBudget_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> QueryBudgets.parse("GET /books", false));
+    }
+
+    @Test
+    @DisplayName("Reject the statement that would go over a strict budget")
+    void strictBudget_shouldRejectStatementOverBudget() {
+        var queryTracer = new QueryTracer(Duration.ofMinutes(1), Duration.ofMinutes(1), Integer.MAX_VALUE,
+                QueryBudgets.parse("GET /books:2", true));
+
+        var queryTrace = queryTracer.start("GET", "/books", "/library/books");
+
+        RequestContext.current().setQueryTrace(queryTrace);
+
+        queryTracer.beforeStatement();
+        queryTracer.onStatement("SELECT id FROM books", 1);
+        queryTracer.beforeStatement();
+        queryTracer.onStatement("SELECT id FROM authors", 1);
+
+        var exception = assertThrows(QueryBudgetExceededException.class, queryTracer::beforeStatement);
+
+        assertAll(
+                () -> assertEquals("Query budget exceeded in GET /library/books: 3 statements, budget 2",
+                        exception.getMessage()),
+                () -> assertEquals(2, queryTrace.getStatementCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Leave requests to endpoints without a budget alone")
+    void noBudget_shouldNotFail() {
+        var queryTracer = new QueryTracer(Duration.ofMinutes(1), Duration.ofMinutes(1), Integer.MAX_VALUE,
+                QueryBudgets.parse("GET /books:0", true));
+
+        var queryTrace = queryTracer.start("POST", "/books", "/library/books");
+
+        RequestContext.current().setQueryTrace(queryTrace);
+
+        queryTracer.beforeStatement();
+        queryTracer.onStatement("INSERT INTO books (title, publish_year) VALUES (?, ?)", 1);
+
+        assertFalse(queryTrace.isOverBudget());
+    }
+}
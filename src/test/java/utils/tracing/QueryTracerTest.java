@@ -0,0 +1,97 @@
+package utils.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.context.RequestContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTracerTest {
+
+    private static final Logger LOGGER = Logger.getLogger(QueryTracer.class.getName());
+
+    private static final String BOOKS_SQL = "SELECT b.id FROM books b\n    JOIN readers_books rb ON b.id = rb.book_id\n    WHERE rb.reader_id = ?";
+
+    private final List<String> messages = new ArrayList<>();
+
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final QueryTracer queryTracer = new QueryTracer(Duration.ofMillis(100), Duration.ofSeconds(1), 2);
+
+    @BeforeEach
+    void setUp() {
+        LOGGER.addHandler(handler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LOGGER.removeHandler(handler);
+        RequestContext.clear();
+    }
+
+    @Test
+    @DisplayName("Flag the same statement executed too often in one request")
+    void finish_shouldReportNPlusOne() {
+        var queryTrace = new QueryTrace("GET /library/readers");
+
+        RequestContext.current().setQueryTrace(queryTrace);
+
+        queryTracer.onStatement("SELECT id FROM readers", 1_000_000);
+
+        for (int i = 0; i < 3; i++) {
+            queryTracer.onStatement(BOOKS_SQL, 2_000_000);
+            queryTracer.onRows(5);
+        }
+
+        queryTracer.finish(queryTrace);
+
+        assertAll(
+                () -> assertEquals(4, queryTrace.getStatementCount()),
+                () -> assertEquals(7_000_000, queryTrace.getStatementNanos()),
+                () -> assertEquals(15, queryTrace.getRows()),
+                () -> assertEquals(List.of("Possible N+1 in GET /library/readers: 3 executions taking 6.0 ms of "
+                        + "SELECT b.id FROM books b JOIN readers_books rb ON b.id = rb.book_id WHERE rb.reader_id = ?"), messages)
+        );
+    }
+
+    @Test
+    @DisplayName("Log statements slower than the threshold")
+    void onStatement_shouldLogSlowStatement() {
+        queryTracer.onStatement("SELECT id FROM books", 99_000_000);
+        queryTracer.onStatement("SELECT id FROM books", 150_000_000);
+
+        assertEquals(List.of("Slow statement, 150.0 ms: SELECT id FROM books"), messages);
+    }
+
+    @Test
+    @DisplayName("Log connections held longer than the threshold")
+    void onConnectionReleased_shouldLogSlowConnectionHold() {
+        RequestContext.current().setQueryTrace(new QueryTrace("POST /library/books/bulk"));
+
+        queryTracer.onConnectionReleased(2_500_000_000L);
+
+        assertEquals(List.of("Connection held for 2500.0 ms in POST /library/books/bulk"), messages);
+    }
+}
@@ -0,0 +1,170 @@
+package utils.writebehind;
+
+import exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private WriteBehindQueue<Integer> queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("Write queued items in batches of at most batch size")
+    void shouldWriteItemsInBatches() throws InterruptedException {
+        var release = new CountDownLatch(1);
+
+        queue = new WriteBehindQueue<>(10, 3, Duration.ofMillis(100), items -> {
+            batches.add(items);
+            await(release);
+        });
+
+        var first = queue.submit(0);
+
+        waitUntil(() -> batches.size() == 1);
+
+        // Queued while the flusher is busy, so they are picked up together
+        var pendingWrites = new ArrayList<PendingWrite<Integer>>();
+
+        for (int i = 1; i <= 4; i++) {
+            pendingWrites.add(queue.submit(i));
+        }
+
+        release.countDown();
+
+        queue.shutdown();
+
+        assertAll(
+                () -> assertEquals(List.of(List.of(0), List.of(1, 2, 3), List.of(4)), batches),
+                () -> assertEquals(PendingWrite.Status.WRITTEN, first.getStatus()),
+                () -> assertTrue(pendingWrites.stream().allMatch(write -> write.getStatus() == PendingWrite.Status.WRITTEN)),
+                () -> assertSame(first, queue.find(first.getTrackingId()))
+        );
+    }
+
+    @Test
+    @DisplayName("Reject items when the queue is full")
+    void shouldRejectItemsWhenQueueIsFull() {
+        var release = new CountDownLatch(1);
+
+        queue = new WriteBehindQueue<>(1, 1, Duration.ZERO, items -> {
+            batches.add(items);
+            await(release);
+        });
+
+        queue.submit(0);
+
+        waitUntil(() -> batches.size() == 1);
+
+        queue.submit(1);
+
+        var exception = assertThrows(ServiceUnavailableException.class, () -> queue.submit(2));
+
+        release.countDown();
+
+        assertEquals("Too many writes queued", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Retry a failed batch item by item and fail only the bad item")
+    void shouldIsolateFailedItem() throws InterruptedException {
+        var release = new CountDownLatch(1);
+
+        queue = new WriteBehindQueue<>(10, 10, Duration.ofSeconds(1), items -> {
+            await(release);
+
+            if (items.contains(2)) {
+                throw new SQLException("dummy");
+            }
+
+            batches.add(items);
+        });
+
+        var pendingWrites = new ArrayList<PendingWrite<Integer>>();
+
+        for (int i = 1; i <= 3; i++) {
+            pendingWrites.add(queue.submit(i));
+        }
+
+        release.countDown();
+
+        queue.shutdown();
+
+        assertAll(
+                () -> assertEquals(List.of(List.of(1), List.of(3)), batches),
+                () -> assertEquals(PendingWrite.Status.WRITTEN, pendingWrites.get(0).getStatus()),
+                () -> assertEquals(PendingWrite.Status.FAILED, pendingWrites.get(1).getStatus()),
+                () -> assertInstanceOf(SQLException.class, pendingWrites.get(1).getError()),
+                () -> assertEquals(PendingWrite.Status.WRITTEN, pendingWrites.get(2).getStatus())
+        );
+    }
+
+    @Test
+    @DisplayName("Write every item accepted while shutting down")
+    void shouldWriteItemsAcceptedDuringShutdown() throws InterruptedException {
+        queue = new WriteBehindQueue<>(10_000, 100, Duration.ofMillis(1), batches::add);
+
+        var accepted = Collections.synchronizedList(new ArrayList<PendingWrite<Integer>>());
+        var submitters = new ArrayList<Thread>();
+
+        for (int i = 0; i < 4; i++) {
+            submitters.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (true) {
+                        accepted.add(queue.submit(0));
+                    }
+                } catch (ServiceUnavailableException ignored) {
+                    // Shut down or full, either way this submitter is done
+                }
+            }));
+        }
+
+        waitUntil(() -> accepted.size() > 100);
+
+        queue.shutdown();
+
+        for (var submitter : submitters) {
+            submitter.join();
+        }
+
+        synchronized (accepted) {
+            assertTrue(accepted.stream().allMatch(write -> write.getStatus() == PendingWrite.Status.WRITTEN));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+
+            Thread.onSpinWait();
+        }
+    }
+}